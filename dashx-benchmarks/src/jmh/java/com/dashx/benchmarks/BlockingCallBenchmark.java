@@ -0,0 +1,77 @@
+package com.dashx.benchmarks;
+
+import com.dashx.DashX;
+import com.dashx.graphql.generated.types.TrackEventResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Waiting for results synchronously: joining the CompletableFuture API against the blocking
+ * API, once from the benchmark thread and once from many virtual threads at a time, as in a
+ * Spring MVC application running on virtual threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BlockingCallBenchmark {
+
+    /** Number of virtual threads calling concurrently. */
+    @Param({ "100", "1000" })
+    public int concurrency;
+
+    private StubServer server;
+    private DashX dashx;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new StubServer(Map.of("TrackEvent", Fixtures.trackEventResponse()));
+        dashx = Fixtures.dashx("benchmark-blocking", server);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DashX.removeInstance("benchmark-blocking");
+        server.close();
+    }
+
+    @Benchmark
+    public TrackEventResponse futureJoin() {
+        return dashx.track("benchmark_event", "user-1", null).join();
+    }
+
+    @Benchmark
+    public TrackEventResponse blocking() {
+        return dashx.blocking().track("benchmark_event", "user-1", null);
+    }
+
+    @Benchmark
+    public void futureJoinOnVirtualThreads() {
+        onVirtualThreads(() -> dashx.track("benchmark_event", "user-1", null).join());
+    }
+
+    @Benchmark
+    public void blockingOnVirtualThreads() {
+        onVirtualThreads(() -> dashx.blocking().track("benchmark_event", "user-1", null));
+    }
+
+    private void onVirtualThreads(Runnable call) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                executor.execute(call);
+            }
+        }
+    }
+}
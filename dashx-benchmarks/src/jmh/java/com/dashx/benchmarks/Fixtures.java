@@ -0,0 +1,89 @@
+package com.dashx.benchmarks;
+
+import com.dashx.DashX;
+import com.dashx.DashXConfig;
+
+/**
+ * Canned GraphQL responses and SDK instances shared by the benchmarks.
+ */
+final class Fixtures {
+
+    private Fixtures() {}
+
+    /** Builds a DashX instance pointed at the given stub server. */
+    static DashX dashx(String instanceName, StubServer server) {
+        DashX dashx = DashX.getInstance(instanceName);
+        dashx.configure(
+            new DashXConfig.Builder()
+                .baseUrl(server != null ? server.url() : null)
+                .publicKey("benchmark-public-key")
+                .privateKey("benchmark-private-key-with-enough-bytes-for-hs256")
+                .targetEnvironment("benchmark")
+                .build()
+        );
+        return dashx;
+    }
+
+    static String assetsListResponse(int count) {
+        StringBuilder sb = new StringBuilder("{\"data\":{\"assetsList\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":\"").append(uuid(i)).append('"')
+                .append(",\"workspaceId\":\"").append(uuid(0)).append('"')
+                .append(",\"data\":{\"width\":1280,\"height\":720}")
+                .append(",\"uploadStatus\":\"uploaded\",\"processingStatus\":\"processed\"")
+                .append(",\"createdAt\":\"2025-01-01T00:00:00Z\",\"updatedAt\":\"2025-01-02T00:00:00Z\"")
+                .append(",\"name\":\"asset-").append(i).append(".png\"")
+                .append(",\"size\":").append(1024 + i)
+                .append(",\"mimeType\":\"image/png\"")
+                .append(",\"url\":\"https://cdn.example.com/assets/").append(i).append(".png\"}");
+        }
+        return sb.append("]}}").toString();
+    }
+
+    static String issuesListResponse(int count) {
+        StringBuilder sb = new StringBuilder("{\"data\":{\"issuesList\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":\"").append(uuid(i)).append('"')
+                .append(",\"workspaceId\":\"").append(uuid(0)).append('"')
+                .append(",\"issueStatusId\":\"").append(uuid(1)).append('"')
+                .append(",\"createdById\":\"").append(uuid(2)).append('"')
+                .append(",\"environmentId\":\"").append(uuid(3)).append('"')
+                .append(",\"issueTypeId\":\"").append(uuid(4)).append('"')
+                .append(",\"title\":\"Issue ").append(i).append('"')
+                .append(",\"description\":\"Something went wrong in step ").append(i).append('"')
+                .append(",\"properties\":{\"source\":\"benchmark\",\"attempt\":").append(i).append('}')
+                .append(",\"createdAt\":\"2025-01-01T00:00:00Z\",\"updatedAt\":\"2025-01-02T00:00:00Z\"")
+                .append(",\"number\":").append(i + 1).append('}');
+        }
+        return sb.append("]}}").toString();
+    }
+
+    static String searchRecordsResponse(int count) {
+        StringBuilder sb = new StringBuilder("{\"data\":{\"searchRecords\":[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":\"").append(uuid(i)).append('"')
+                .append(",\"title\":\"Product ").append(i).append('"')
+                .append(",\"price\":").append(100 + i)
+                .append(",\"tags\":[\"new\",\"featured\"]")
+                .append(",\"attributes\":{\"color\":\"blue\",\"size\":\"M\"}}");
+        }
+        return sb.append("]}}").toString();
+    }
+
+    static String trackEventResponse() {
+        return "{\"data\":{\"trackEvent\":{\"success\":true}}}";
+    }
+
+    private static String uuid(int i) {
+        return String.format("00000000-0000-4000-8000-%012d", i);
+    }
+}
@@ -0,0 +1,77 @@
+package com.dashx.benchmarks;
+
+import com.dashx.DashX;
+import com.dashx.DashXConfig;
+import io.jsonwebtoken.Jwts;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Identity token signing, typically done once per page view by backends serving the browser SDK.
+ * {@code jjwt} is the generic JWT library the SDK used to sign with, kept as a baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IdentityTokenBenchmark {
+
+    private static final String PRIVATE_KEY = "benchmark-private-key-with-enough-bytes-for-hs256";
+
+    private DashX dashx;
+    private DashX cachedDashx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dashx = Fixtures.dashx("benchmark-identity-token", null);
+        cachedDashx = DashX.getInstance("benchmark-identity-token-cached");
+        cachedDashx.configure(
+            new DashXConfig.Builder()
+                .publicKey("benchmark-public-key")
+                .privateKey(PRIVATE_KEY)
+                .targetEnvironment("benchmark")
+                .identityTokenCacheMaxSize(1000)
+                .build()
+        );
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DashX.removeInstance("benchmark-identity-token");
+        DashX.removeInstance("benchmark-identity-token-cached");
+    }
+
+    @Benchmark
+    public String generateIdentityToken() {
+        return dashx.generateIdentityToken("user-1");
+    }
+
+    @Benchmark
+    public String generateIdentityTokenCached() {
+        return cachedDashx.generateIdentityToken("user-1");
+    }
+
+    @Benchmark
+    public String jjwt() {
+        Date now = new Date();
+        SecretKey key = new SecretKeySpec(PRIVATE_KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        return Jwts.builder()
+            .claim("kind", "USER")
+            .claim("uid", "user-1")
+            .issuedAt(now)
+            .expiration(new Date(now.getTime() + 7L * 24 * 60 * 60 * 1000))
+            .signWith(key, Jwts.SIG.HS256)
+            .compact();
+    }
+}
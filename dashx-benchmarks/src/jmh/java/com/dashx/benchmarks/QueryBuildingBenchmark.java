@@ -0,0 +1,75 @@
+package com.dashx.benchmarks;
+
+import com.dashx.DashX;
+import com.dashx.graphql.OperationDocument;
+import com.dashx.graphql.generated.types.Asset;
+import com.dashx.graphql.generated.types.TrackEventResponse;
+import com.dashx.graphql.utils.Projection;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cost of turning an SDK call into a request: precompiling documents, building projections,
+ * and a full track() round trip against the in-process stub server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class QueryBuildingBenchmark {
+
+    private static final String LIST_ASSETS_DOCUMENT = """
+        query ListAssets($filter: JSON, $order: [JSON], $limit: Int, $page: Int) {
+            assetsList(filter: $filter, order: $order, limit: $limit, page: $page) {
+                id
+                name
+                mimeType
+                url
+                createdAt
+            }
+        }
+        """;
+
+    private StubServer server;
+    private DashX dashx;
+    private Map<String, Object> eventData;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new StubServer(
+            Map.of("TrackEvent", Fixtures.trackEventResponse())
+        );
+        dashx = Fixtures.dashx("benchmark-query-building", server);
+        eventData = Map.of("plan", "pro", "seats", 12, "trial", false);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DashX.removeInstance("benchmark-query-building");
+        server.close();
+    }
+
+    @Benchmark
+    public OperationDocument parseDocument() {
+        return OperationDocument.parse(LIST_ASSETS_DOCUMENT);
+    }
+
+    @Benchmark
+    public String buildProjection() {
+        return Projection.of(Asset.class, "id", "name", "url").toSelectionSet();
+    }
+
+    @Benchmark
+    public TrackEventResponse trackRoundTrip() {
+        return dashx.track("benchmark_event", "user-1", eventData).join();
+    }
+}
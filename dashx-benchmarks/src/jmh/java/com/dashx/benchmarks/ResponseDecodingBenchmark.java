@@ -0,0 +1,53 @@
+package com.dashx.benchmarks;
+
+import com.dashx.graphql.generated.types.Asset;
+import com.dashx.graphql.generated.types.Issue;
+import com.netflix.graphql.dgs.client.GraphQLResponse;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Decoding of list responses into generated types, as done by listAssets and listIssues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ResponseDecodingBenchmark {
+
+    /** Number of items in the list response. */
+    @Param({ "10", "100", "1000" })
+    public int count;
+
+    private String assetsJson;
+    private String issuesJson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        assetsJson = Fixtures.assetsListResponse(count);
+        issuesJson = Fixtures.issuesListResponse(count);
+    }
+
+    @Benchmark
+    public Asset[] decodeAssets() {
+        return new GraphQLResponse(assetsJson).extractValueAsObject(
+            "assetsList",
+            Asset[].class
+        );
+    }
+
+    @Benchmark
+    public Issue[] decodeIssues() {
+        return new GraphQLResponse(issuesJson).extractValueAsObject(
+            "issuesList",
+            Issue[].class
+        );
+    }
+}
@@ -0,0 +1,88 @@
+package com.dashx.benchmarks;
+
+import com.dashx.DashX;
+import com.dashx.graphql.utils.SearchRecordsOptions;
+import com.netflix.graphql.dgs.client.GraphQLResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * searchRecords decoding: the original decode-then-copy approach as a baseline, and the SDK's
+ * searchRecords and streamRecords calls end to end against the in-process stub server.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchRecordsBenchmark {
+
+    /** Number of records in the response. */
+    @Param({ "10", "100", "1000" })
+    public int count;
+
+    private StubServer server;
+    private DashX dashx;
+    private String json;
+    private SearchRecordsOptions options;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        json = Fixtures.searchRecordsResponse(count);
+        server = new StubServer(Map.of("SearchRecords", json));
+        dashx = Fixtures.dashx("benchmark-search-records", server);
+        // One more than the response holds, so streaming stops after a single page
+        options = SearchRecordsOptions.newBuilder().limit(count + 1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DashX.removeInstance("benchmark-search-records");
+        server.close();
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> decodeAndCopyBaseline() {
+        Object raw = new GraphQLResponse(json).extractValueAsObject(
+            "searchRecords",
+            Object.class
+        );
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        if (raw instanceof List<?> rawList) {
+            for (Object item : rawList) {
+                if (item instanceof Map<?, ?> map) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> typedMap = (Map<String, Object>) map;
+                    results.add(typedMap);
+                }
+            }
+        }
+        return results;
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> searchRecords() {
+        return dashx.searchRecords("products", options).join();
+    }
+
+    @Benchmark
+    public void streamRecords(Blackhole blackhole) {
+        try (Stream<Map<String, Object>> records = dashx.streamRecords("products", options)) {
+            records.forEach(blackhole::consume);
+        }
+    }
+}
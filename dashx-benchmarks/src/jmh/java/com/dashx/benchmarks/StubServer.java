@@ -0,0 +1,70 @@
+package com.dashx.benchmarks;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process HTTP server standing in for the DashX GraphQL API, so benchmarks measure the
+ * SDK's own overhead rather than network and server latency. Answers each request with the
+ * canned response registered for its operation name.
+ */
+final class StubServer implements AutoCloseable {
+
+    private static final Pattern OPERATION_NAME = Pattern.compile(
+        "\"operationName\"\\s*:\\s*\"([^\"]+)\""
+    );
+    private static final byte[] NOT_FOUND = (
+        "{\"errors\":[{\"message\":\"No stub response for operation\"}]}"
+    ).getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    StubServer(Map<String, String> responsesByOperation) throws IOException {
+        Map<String, byte[]> responses = new java.util.HashMap<>();
+        responsesByOperation.forEach((operation, body) ->
+            responses.put(operation, body.getBytes(StandardCharsets.UTF_8))
+        );
+
+        this.executor = Executors.newFixedThreadPool(4);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/graphql", exchange -> {
+            String request;
+            try (InputStream in = exchange.getRequestBody()) {
+                request = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            Matcher matcher = OPERATION_NAME.matcher(request);
+            byte[] body = matcher.find()
+                ? responses.getOrDefault(matcher.group(1), NOT_FOUND)
+                : NOT_FOUND;
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        this.server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/graphql";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,56 @@
+package com.dashx.benchmarks;
+
+import com.dashx.DashXJson;
+import com.dashx.graphql.generated.types.TrackEventInput;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Serialization of track() variables, as done for every tracked event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TrackEventSerializationBenchmark {
+
+    /** Number of entries in the event's data map. */
+    @Param({ "0", "10", "100" })
+    public int dataSize;
+
+    private ObjectMapper mapper;
+    private Map<String, Object> variables;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = DashXJson.mapper();
+
+        Map<String, Object> data = new HashMap<>();
+        for (int i = 0; i < dataSize; i++) {
+            data.put("property" + i, i % 2 == 0 ? "value-" + i : i);
+        }
+
+        TrackEventInput input = TrackEventInput.newBuilder()
+            .event("benchmark_event")
+            .accountUid("user-1")
+            .data(dataSize > 0 ? data : null)
+            .build();
+        variables = Map.of("input", input);
+    }
+
+    @Benchmark
+    public byte[] serializeVariables() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(variables);
+    }
+}
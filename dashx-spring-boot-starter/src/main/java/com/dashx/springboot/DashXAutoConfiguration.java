@@ -2,17 +2,27 @@ package com.dashx.springboot;
 
 import com.dashx.DashX;
 import com.dashx.DashXConfig;
+import com.dashx.DashXTransport;
+import com.dashx.metrics.DashXMetrics;
+import com.dashx.metrics.MicrometerDashXMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
-@AutoConfiguration
+@AutoConfiguration(
+        afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
 @EnableConfigurationProperties(DashXProperties.class)
 public class DashXAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean
-    public DashX dashXClient(DashXProperties properties) {
+    public DashX dashXClient(DashXProperties properties, ObjectProvider<DashXMetrics> metrics,
+            ObjectProvider<DashXTransport> transport) {
         DashXConfig config = new DashXConfig.Builder()
                 .baseUrl(properties.getBaseUrl())
                 .publicKey(properties.getPublicKey())
@@ -22,6 +32,38 @@ public class DashXAutoConfiguration {
                 .responseTimeout(properties.getResponseTimeout())
                 .maxConnections(properties.getMaxConnections())
                 .maxIdleTime(properties.getMaxIdleTime())
+                .trackBatchSize(properties.getTrackBatchSize())
+                .trackBatchLinger(properties.getTrackBatchLinger())
+                .trackQueueCapacity(properties.getTrackQueueCapacity())
+                .persistedQueries(properties.getPersistedQueries())
+                .assetCacheMaxSize(properties.getAssetCacheMaxSize())
+                .assetCacheTtl(properties.getAssetCacheTtl())
+                .recordCacheMaxSize(properties.getRecordCacheMaxSize())
+                .recordCacheTtl(properties.getRecordCacheTtl())
+                .deduplicateQueries(properties.getDeduplicateQueries())
+                .metrics(metrics.getIfAvailable())
+                .maxRetries(properties.getMaxRetries())
+                .retryBackoff(properties.getRetryBackoff())
+                .retryMaxBackoff(properties.getRetryMaxBackoff())
+                .retryBudgetRatio(properties.getRetryBudgetRatio())
+                .retryNonIdempotent(properties.getRetryNonIdempotent())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxPendingAcquires(properties.getMaxPendingAcquires())
+                .circuitBreaker(properties.getCircuitBreaker())
+                .circuitBreakerFailureRate(properties.getCircuitBreakerFailureRate())
+                .circuitBreakerOpenDuration(properties.getCircuitBreakerOpenDuration())
+                .adaptiveConcurrency(properties.getAdaptiveConcurrency())
+                .trackOutboxDirectory(properties.getTrackOutboxDirectory())
+                .trackOutboxMode(properties.getTrackOutboxMode())
+                .trackOutboxMaxSize(properties.getTrackOutboxMaxSize())
+                .httpProtocol(properties.getHttpProtocol())
+                .http2MaxConnections(properties.getHttp2MaxConnections())
+                .http2MaxConcurrentStreams(properties.getHttp2MaxConcurrentStreams())
+                .requestCompressionThreshold(properties.getRequestCompressionThreshold())
+                .responseCompression(properties.getResponseCompression())
+                .identityTokenCacheMaxSize(properties.getIdentityTokenCacheMaxSize())
+                .identityTokenVerifyCacheMaxSize(properties.getIdentityTokenVerifyCacheMaxSize())
+                .transport(transport.getIfAvailable())
                 .build();
 
         DashX client = DashX.getInstance();
@@ -29,4 +71,15 @@ public class DashXAutoConfiguration {
 
         return client;
     }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    static class MicrometerMetricsConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnBean(MeterRegistry.class)
+        public DashXMetrics dashXMetrics(MeterRegistry registry) {
+            return new MicrometerDashXMetrics(registry);
+        }
+    }
 }
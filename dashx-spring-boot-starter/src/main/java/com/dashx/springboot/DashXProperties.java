@@ -1,5 +1,7 @@
 package com.dashx.springboot;
 
+import com.dashx.DashXConfig.HttpProtocol;
+import com.dashx.DashXConfig.OutboxMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -25,6 +27,96 @@ public class DashXProperties {
     /** Max idle time for connections in milliseconds (default: 20000) */
     private Integer maxIdleTime = 20000;
 
+    /** Maximum number of tracked events sent per request (default: null, batching disabled) */
+    private Integer trackBatchSize;
+
+    /** Max time a partial batch of tracked events waits before being sent, in milliseconds (default: 50) */
+    private Integer trackBatchLinger = 50;
+
+    /** Maximum number of tracked events buffered while batching (default: 10000) */
+    private Integer trackQueueCapacity = 10000;
+
+    /** Whether to use Automatic Persisted Queries (default: false) */
+    private Boolean persistedQueries = false;
+
+    /** Maximum number of assets cached by getAsset (default: null, caching disabled) */
+    private Integer assetCacheMaxSize;
+
+    /** Time to live of cached assets in milliseconds (default: 60000) */
+    private Integer assetCacheTtl = 60000;
+
+    /** Maximum number of searches cached by searchRecords (default: null, caching disabled) */
+    private Integer recordCacheMaxSize;
+
+    /** Time to live of cached search results in milliseconds (default: 60000) */
+    private Integer recordCacheTtl = 60000;
+
+    /** Whether identical in-flight queries share a single request (default: false) */
+    private Boolean deduplicateQueries = false;
+
+    /** Maximum number of retries of a transiently failed request (default: 0, disabled). */
+    private Integer maxRetries = 0;
+
+    /** Delay before the first retry (in milliseconds). */
+    private Integer retryBackoff = 100;
+
+    /** Maximum delay between retries (in milliseconds). */
+    private Integer retryMaxBackoff = 2000;
+
+    /** Maximum fraction of in-flight requests that may be retries. */
+    private Double retryBudgetRatio = 0.2;
+
+    /** Whether to retry non-idempotent mutations such as createIssue and sendBroadcast. */
+    private Boolean retryNonIdempotent = false;
+
+    /** Maximum time to wait for a pooled connection (in milliseconds). */
+    private Integer pendingAcquireTimeout = 60000;
+
+    /** Maximum number of requests waiting for a pooled connection (defaults to twice max-connections). */
+    private Integer maxPendingAcquires;
+
+    /** Whether to fail fast while the DashX API keeps failing. */
+    private Boolean circuitBreaker = false;
+
+    /** Percentage of failed recent requests at which the circuit breaker opens. */
+    private Integer circuitBreakerFailureRate = 50;
+
+    /** How long the circuit breaker rejects requests once open (in milliseconds). */
+    private Integer circuitBreakerOpenDuration = 30000;
+
+    /** Whether to limit requests in flight adaptively, based on the API's latency. */
+    private Boolean adaptiveConcurrency = false;
+
+    /** Directory of the on-disk outbox for undelivered track events (disabled if not set). */
+    private String trackOutboxDirectory;
+
+    /** When events go through the outbox: on-failure or write-ahead. */
+    private OutboxMode trackOutboxMode = OutboxMode.ON_FAILURE;
+
+    /** Maximum disk space used by the outbox (in bytes). */
+    private Long trackOutboxMaxSize = 64L * 1024 * 1024;
+
+    /** HTTP protocol: http-1-1, http-2 (over TLS) or h2c (cleartext HTTP/2). */
+    private HttpProtocol httpProtocol = HttpProtocol.HTTP_1_1;
+
+    /** Maximum number of connections when using HTTP/2. */
+    private Integer http2MaxConnections = 4;
+
+    /** Maximum number of concurrent requests per HTTP/2 connection. */
+    private Integer http2MaxConcurrentStreams = 100;
+
+    /** Minimum request body size to gzip (in bytes), unset to disable request compression. */
+    private Integer requestCompressionThreshold;
+
+    /** Whether to accept gzip-compressed responses. */
+    private Boolean responseCompression = true;
+
+    /** Maximum number of cached identity tokens, unset to disable the cache. */
+    private Integer identityTokenCacheMaxSize;
+
+    /** Maximum number of cached verified identity tokens, unset to disable the cache. */
+    private Integer identityTokenVerifyCacheMaxSize;
+
     private static String nullIfEmpty(String s) {
         return (s != null && s.isEmpty()) ? null : s;
     }
@@ -61,6 +153,126 @@ public class DashXProperties {
         return maxIdleTime;
     }
 
+    public Integer getTrackBatchSize() {
+        return trackBatchSize;
+    }
+
+    public Integer getTrackBatchLinger() {
+        return trackBatchLinger;
+    }
+
+    public Integer getTrackQueueCapacity() {
+        return trackQueueCapacity;
+    }
+
+    public Boolean getPersistedQueries() {
+        return persistedQueries;
+    }
+
+    public Integer getAssetCacheMaxSize() {
+        return assetCacheMaxSize;
+    }
+
+    public Integer getAssetCacheTtl() {
+        return assetCacheTtl;
+    }
+
+    public Integer getRecordCacheMaxSize() {
+        return recordCacheMaxSize;
+    }
+
+    public Integer getRecordCacheTtl() {
+        return recordCacheTtl;
+    }
+
+    public Boolean getDeduplicateQueries() {
+        return deduplicateQueries;
+    }
+
+    public Integer getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Integer getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public Integer getRetryMaxBackoff() {
+        return retryMaxBackoff;
+    }
+
+    public Double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public Boolean getRetryNonIdempotent() {
+        return retryNonIdempotent;
+    }
+
+    public Integer getPendingAcquireTimeout() {
+        return pendingAcquireTimeout;
+    }
+
+    public Integer getMaxPendingAcquires() {
+        return maxPendingAcquires;
+    }
+
+    public Boolean getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Integer getCircuitBreakerFailureRate() {
+        return circuitBreakerFailureRate;
+    }
+
+    public Integer getCircuitBreakerOpenDuration() {
+        return circuitBreakerOpenDuration;
+    }
+
+    public Boolean getAdaptiveConcurrency() {
+        return adaptiveConcurrency;
+    }
+
+    public String getTrackOutboxDirectory() {
+        return trackOutboxDirectory;
+    }
+
+    public OutboxMode getTrackOutboxMode() {
+        return trackOutboxMode;
+    }
+
+    public Long getTrackOutboxMaxSize() {
+        return trackOutboxMaxSize;
+    }
+
+    public HttpProtocol getHttpProtocol() {
+        return httpProtocol;
+    }
+
+    public Integer getHttp2MaxConnections() {
+        return http2MaxConnections;
+    }
+
+    public Integer getHttp2MaxConcurrentStreams() {
+        return http2MaxConcurrentStreams;
+    }
+
+    public Integer getRequestCompressionThreshold() {
+        return requestCompressionThreshold;
+    }
+
+    public Boolean getResponseCompression() {
+        return responseCompression;
+    }
+
+    public Integer getIdentityTokenCacheMaxSize() {
+        return identityTokenCacheMaxSize;
+    }
+
+    public Integer getIdentityTokenVerifyCacheMaxSize() {
+        return identityTokenVerifyCacheMaxSize;
+    }
+
     public void setBaseUrl(String baseUrl) {
         this.baseUrl = baseUrl;
     }
@@ -92,4 +304,124 @@ public class DashXProperties {
     public void setMaxIdleTime(Integer maxIdleTime) {
         this.maxIdleTime = maxIdleTime;
     }
+
+    public void setTrackBatchSize(Integer trackBatchSize) {
+        this.trackBatchSize = trackBatchSize;
+    }
+
+    public void setTrackBatchLinger(Integer trackBatchLinger) {
+        this.trackBatchLinger = trackBatchLinger;
+    }
+
+    public void setTrackQueueCapacity(Integer trackQueueCapacity) {
+        this.trackQueueCapacity = trackQueueCapacity;
+    }
+
+    public void setPersistedQueries(Boolean persistedQueries) {
+        this.persistedQueries = persistedQueries;
+    }
+
+    public void setAssetCacheMaxSize(Integer assetCacheMaxSize) {
+        this.assetCacheMaxSize = assetCacheMaxSize;
+    }
+
+    public void setAssetCacheTtl(Integer assetCacheTtl) {
+        this.assetCacheTtl = assetCacheTtl;
+    }
+
+    public void setRecordCacheMaxSize(Integer recordCacheMaxSize) {
+        this.recordCacheMaxSize = recordCacheMaxSize;
+    }
+
+    public void setRecordCacheTtl(Integer recordCacheTtl) {
+        this.recordCacheTtl = recordCacheTtl;
+    }
+
+    public void setDeduplicateQueries(Boolean deduplicateQueries) {
+        this.deduplicateQueries = deduplicateQueries;
+    }
+
+    public void setMaxRetries(Integer maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public void setRetryBackoff(Integer retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    public void setRetryMaxBackoff(Integer retryMaxBackoff) {
+        this.retryMaxBackoff = retryMaxBackoff;
+    }
+
+    public void setRetryBudgetRatio(Double retryBudgetRatio) {
+        this.retryBudgetRatio = retryBudgetRatio;
+    }
+
+    public void setRetryNonIdempotent(Boolean retryNonIdempotent) {
+        this.retryNonIdempotent = retryNonIdempotent;
+    }
+
+    public void setPendingAcquireTimeout(Integer pendingAcquireTimeout) {
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+    }
+
+    public void setMaxPendingAcquires(Integer maxPendingAcquires) {
+        this.maxPendingAcquires = maxPendingAcquires;
+    }
+
+    public void setCircuitBreaker(Boolean circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public void setCircuitBreakerFailureRate(Integer circuitBreakerFailureRate) {
+        this.circuitBreakerFailureRate = circuitBreakerFailureRate;
+    }
+
+    public void setCircuitBreakerOpenDuration(Integer circuitBreakerOpenDuration) {
+        this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+    }
+
+    public void setAdaptiveConcurrency(Boolean adaptiveConcurrency) {
+        this.adaptiveConcurrency = adaptiveConcurrency;
+    }
+
+    public void setTrackOutboxDirectory(String trackOutboxDirectory) {
+        this.trackOutboxDirectory = trackOutboxDirectory;
+    }
+
+    public void setTrackOutboxMode(OutboxMode trackOutboxMode) {
+        this.trackOutboxMode = trackOutboxMode;
+    }
+
+    public void setTrackOutboxMaxSize(Long trackOutboxMaxSize) {
+        this.trackOutboxMaxSize = trackOutboxMaxSize;
+    }
+
+    public void setHttpProtocol(HttpProtocol httpProtocol) {
+        this.httpProtocol = httpProtocol;
+    }
+
+    public void setHttp2MaxConnections(Integer http2MaxConnections) {
+        this.http2MaxConnections = http2MaxConnections;
+    }
+
+    public void setHttp2MaxConcurrentStreams(Integer http2MaxConcurrentStreams) {
+        this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+    }
+
+    public void setRequestCompressionThreshold(Integer requestCompressionThreshold) {
+        this.requestCompressionThreshold = requestCompressionThreshold;
+    }
+
+    public void setResponseCompression(Boolean responseCompression) {
+        this.responseCompression = responseCompression;
+    }
+
+    public void setIdentityTokenCacheMaxSize(Integer identityTokenCacheMaxSize) {
+        this.identityTokenCacheMaxSize = identityTokenCacheMaxSize;
+    }
+
+    public void setIdentityTokenVerifyCacheMaxSize(Integer identityTokenVerifyCacheMaxSize) {
+        this.identityTokenVerifyCacheMaxSize = identityTokenVerifyCacheMaxSize;
+    }
 }
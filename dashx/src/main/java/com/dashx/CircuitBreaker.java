@@ -0,0 +1,172 @@
+package com.dashx;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Stops sending requests to an API that keeps failing.
+ * <p>
+ * The breaker records the outcome of the last {@value #WINDOW_SIZE} requests. Once at least
+ * {@value #MINIMUM_CALLS} are recorded and the share of failures reaches the threshold, it
+ * opens and rejects every request for {@code openDuration}. It then lets a single trial request
+ * through: if that succeeds the breaker closes again, otherwise it stays open for another
+ * {@code openDuration}.
+ */
+final class CircuitBreaker {
+    static final int WINDOW_SIZE = 20;
+    static final int MINIMUM_CALLS = 10;
+
+    private enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN,
+    }
+
+    private final int failureRateThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Ring buffer of recent outcomes, true for a failure
+    private final boolean[] window = new boolean[WINDOW_SIZE];
+    private int windowIndex;
+    private int calls;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureRateThreshold, Duration openDuration) {
+        this(failureRateThreshold, openDuration, System::nanoTime);
+    }
+
+    CircuitBreaker(
+        int failureRateThreshold,
+        Duration openDuration,
+        LongSupplier nanoClock
+    ) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns whether a request may be sent now. Every permitted request must be followed by
+     * exactly one call to {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     *
+     * @return whether the request may be sent
+     */
+    boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (
+                state == State.OPEN &&
+                nanoClock.getAsLong() - openedAt >= openDurationNanos
+            ) {
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.HALF_OPEN && !trialInFlight) {
+                trialInFlight = true;
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how long until the breaker lets a trial request through, zero if it is not open.
+     *
+     * @return the remaining open time
+     */
+    Duration remainingOpenTime() {
+        lock.lock();
+        try {
+            if (state != State.OPEN) {
+                return Duration.ZERO;
+            }
+            long remaining = openDurationNanos - (nanoClock.getAsLong() - openedAt);
+            return Duration.ofNanos(Math.max(remaining, 0));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onSuccess() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                close();
+            } else if (state == State.CLOSED) {
+                record(false);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void onFailure() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                open();
+            } else if (state == State.CLOSED) {
+                record(true);
+                if (
+                    calls >= MINIMUM_CALLS &&
+                    failures * 100 >= failureRateThreshold * calls
+                ) {
+                    open();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Releases a permitted request whose outcome says nothing about the API's health. */
+    void onIgnored() {
+        lock.lock();
+        try {
+            if (state == State.HALF_OPEN) {
+                trialInFlight = false;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (calls == WINDOW_SIZE) {
+            if (window[windowIndex]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+
+        window[windowIndex] = failure;
+        if (failure) {
+            failures++;
+        }
+        windowIndex = (windowIndex + 1) % WINDOW_SIZE;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        calls = 0;
+        failures = 0;
+        windowIndex = 0;
+    }
+}
@@ -0,0 +1,125 @@
+package com.dashx;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limits the number of requests in flight, adapting the limit to the API's latency.
+ * <p>
+ * The limit grows by one for every {@code limit} requests that complete at close to the best
+ * latency seen for their operation (additive increase), and shrinks by 10% whenever a request
+ * fails or takes more than twice that latency (multiplicative decrease). When the API slows
+ * down, fewer requests are let through and the rest are rejected immediately instead of
+ * queueing for connections.
+ * <p>
+ * Operations differ widely in latency, e.g. tracking an event against searching records, so
+ * each operation is compared against its own baseline. A baseline follows the lowest latencies
+ * observed and slowly drifts upwards, so a lasting change in the API's latency is eventually
+ * accepted as the new normal.
+ * <p>
+ * A limiter belongs to one client. Clients sharing a {@link DashXTransport} each limit their
+ * own requests, so together they may have more in flight than any one limit.
+ */
+final class ConcurrencyLimiter {
+    private static final int MIN_LIMIT = 1;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    // Fraction of the gap to a slower sample by which the baseline moves up
+    private static final double BASELINE_DRIFT = 0.01;
+    // Operations beyond this many share one baseline, bounding memory for arbitrary documents
+    private static final int MAX_BASELINES = 256;
+    private static final String SHARED_BASELINE = "";
+
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Double> baselineNanos = new HashMap<>();
+    private double limit;
+    private volatile int currentLimit;
+
+    ConcurrencyLimiter(int initialLimit, int maxLimit) {
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(MIN_LIMIT, Math.min(initialLimit, maxLimit));
+        this.currentLimit = (int) limit;
+    }
+
+    /**
+     * Reserves a slot for a request if the limit allows it. Every successful call must be
+     * followed by exactly one call to {@link #onSuccess(String, long)}, {@link #onDropped()} or
+     * {@link #onIgnored()}.
+     *
+     * @return whether the request may be sent
+     */
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    int getLimit() {
+        return currentLimit;
+    }
+
+    /**
+     * Releases a request that completed normally.
+     *
+     * @param operation the name of the request's operation
+     * @param latencyNanos how long the request took
+     */
+    void onSuccess(String operation, long latencyNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+
+        lock.lock();
+        try {
+            String key = baselineNanos.containsKey(operation) ||
+                    baselineNanos.size() < MAX_BASELINES
+                ? operation
+                : SHARED_BASELINE;
+            Double previous = baselineNanos.get(key);
+            double baseline = previous == null || latencyNanos < previous
+                ? latencyNanos
+                : previous + (latencyNanos - previous) * BASELINE_DRIFT;
+            baselineNanos.put(key, baseline);
+
+            if (latencyNanos > baseline * LATENCY_TOLERANCE) {
+                decrease();
+            } else if (inFlightBefore * 2 >= limit) {
+                // Only grow while the current limit is actually being used
+                limit = Math.min(maxLimit, limit + 1 / limit);
+                currentLimit = (int) limit;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Releases a request that failed or timed out, which signals overload. */
+    void onDropped() {
+        inFlight.decrementAndGet();
+
+        lock.lock();
+        try {
+            decrease();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Releases a request whose outcome says nothing about the API's capacity. */
+    void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    private void decrease() {
+        limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+        currentLimit = (int) limit;
+    }
+}
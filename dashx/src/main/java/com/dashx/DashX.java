@@ -1,6 +1,7 @@
 package com.dashx;
 
 import com.dashx.exception.DashXConfigurationException;
+import com.dashx.exception.DashXInvalidTokenException;
 import com.dashx.exception.DashXValidationException;
 import com.dashx.graphql.AccountService;
 import com.dashx.graphql.AssetService;
@@ -16,32 +17,30 @@ import com.dashx.graphql.generated.types.CreateBroadcastInput;
 import com.dashx.graphql.generated.types.CreateIssueInput;
 import com.dashx.graphql.generated.types.IdentifyAccountInput;
 import com.dashx.graphql.generated.types.Issue;
-import com.dashx.graphql.generated.types.SearchRecordsInput;
-import com.dashx.graphql.generated.types.TrackEventInput;
 import com.dashx.graphql.generated.types.TrackEventResponse;
 import com.dashx.graphql.generated.types.UpsertIssueInput;
+import com.dashx.graphql.utils.BulkResult;
+import com.dashx.graphql.utils.Projection;
 import com.dashx.graphql.utils.SearchRecordsOptions;
-import io.jsonwebtoken.Jwts;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.stream.Stream;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Flux;
 
 public class DashX {
 
-    private static final Logger logger = LoggerFactory.getLogger(DashX.class);
     private static final ConcurrentHashMap<String, DashX> instances =
         new ConcurrentHashMap<>();
 
+    /** Default number of items fetched per request when streaming paginated lists. */
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
     private final String instanceName;
 
     // Setup variables
@@ -50,12 +49,17 @@ public class DashX {
     private String privateKey;
     private String targetEnvironment;
     private DashXConfig config;
+    // Created on first use, see initIdentityTokens()
+    private volatile IdentityTokenSigner identityTokenSigner;
+    private volatile IdentityTokenVerifier identityTokenVerifier;
 
-    // Account variables
-    private volatile String accountAnonymousUid;
-    private volatile String accountUid;
+    // Identity set by identify(), replaced as a whole so readers never see a
+    // uid and an anonymous uid of different accounts
+    private volatile DashXSession identity = new DashXSession(this);
 
     private DashXGraphQLClient graphqlClient;
+    private final DashXReactive reactive = new DashXReactive(this);
+    private final DashXBlocking blocking = new DashXBlocking(this);
 
     // Cached service instances
     private AccountService accountService;
@@ -114,14 +118,16 @@ public class DashX {
         this.publicKey = config.getPublicKey();
         this.privateKey = config.getPrivateKey();
         this.targetEnvironment = config.getTargetEnvironment();
+        this.identityTokenSigner = null;
+        this.identityTokenVerifier = null;
 
         this.graphqlClient = createGraphqlClient();
 
         // Initialize all services eagerly (they are lightweight)
         this.accountService = new AccountService(graphqlClient);
-        this.assetService = new AssetService(graphqlClient);
-        this.eventService = new EventService(graphqlClient);
-        this.recordService = new RecordService(graphqlClient);
+        this.assetService = new AssetService(graphqlClient, config);
+        this.eventService = new EventService(graphqlClient, config);
+        this.recordService = new RecordService(graphqlClient, config);
         this.issueService = new IssueService(graphqlClient);
         this.broadcastService = new BroadcastService(graphqlClient);
     }
@@ -155,7 +161,7 @@ public class DashX {
      *
      * @throws DashXConfigurationException if configure() has not been called
      */
-    private void ensureConfigured() {
+    void ensureConfigured() {
         if (graphqlClient == null) {
             throw new DashXConfigurationException(
                 "DashX client is not configured. Call configure() before using the client."
@@ -167,20 +173,109 @@ public class DashX {
      * Closes resources held by this instance, including the underlying connection pool.
      */
     public void close() {
+        // Flush batched events before the connection pool goes away
+        if (eventService != null) {
+            eventService.close();
+            eventService = null;
+        }
         if (graphqlClient != null) {
             graphqlClient.close();
             graphqlClient = null;
         }
     }
 
-    private String generateAccountAnonymousUid() {
-        return UUID.randomUUID().toString();
-    }
-
     public String getInstanceName() {
         return instanceName;
     }
 
+    String getAccountUid() {
+        return identity.getUid();
+    }
+
+    String getAccountAnonymousUid() {
+        return identity.getAnonymousUid();
+    }
+
+    DashXSession identity() {
+        return identity;
+    }
+
+    void setAccount(Account account) {
+        this.identity = new DashXSession(this)
+            .withUid(account.getUid())
+            .withAnonymousUid(account.getAnonymousUid());
+    }
+
+    AccountService accountService() {
+        return accountService;
+    }
+
+    AssetService assetService() {
+        return assetService;
+    }
+
+    EventService eventService() {
+        return eventService;
+    }
+
+    RecordService recordService() {
+        return recordService;
+    }
+
+    IssueService issueService() {
+        return issueService;
+    }
+
+    BroadcastService broadcastService() {
+        return broadcastService;
+    }
+
+    /**
+     * Returns the reactive view of this instance, exposing the same operations as Reactor
+     * {@code Mono} and {@code Flux} publishers. Reactive callers should prefer it over the
+     * CompletableFuture methods, which subscribe eagerly and cannot be cancelled.
+     *
+     * @return the reactive API of this instance
+     */
+    public DashXReactive reactive() {
+        return reactive;
+    }
+
+    /**
+     * Returns the synchronous view of this instance, which returns results
+     * directly instead of CompletableFutures. Callers that wait for every
+     * result anyway, e.g. on virtual threads, should prefer it over calling
+     * {@code join()} on the CompletableFuture methods.
+     *
+     * @return the blocking API of this instance
+     */
+    public DashXBlocking blocking() {
+        return blocking;
+    }
+
+    /**
+     * Returns a new session without a user, for tracking events on behalf of
+     * one user, e.g. per request on a server. Sessions carry their own identity
+     * and never read or change the identity of this instance, so any number of
+     * threads can use sessions for different users concurrently.
+     *
+     * @return an empty session; events tracked in it get a fresh anonymous uid
+     */
+    public DashXSession session() {
+        return new DashXSession(this);
+    }
+
+    /**
+     * Returns a new session for the user with the given uid.
+     *
+     * @param uid the uid of the user
+     * @return a session for the user
+     * @see #session()
+     */
+    public DashXSession session(String uid) {
+        return new DashXSession(this).withUid(uid);
+    }
+
     /**
      * Identifies a user with the provided options.
      *
@@ -189,63 +284,47 @@ public class DashX {
      *         completed exceptionally if there are GraphQL errors or execution errors.
      */
     public CompletableFuture<Account> identify(Map<String, Object> options) {
-        if (options == null) {
-            CompletableFuture<Account> future = new CompletableFuture<>();
-
-            future.completeExceptionally(
-                new DashXValidationException(
-                    "'identify' cannot be called with null, please pass options of type 'object'."
-                )
-            );
-
-            return future;
-        }
-
-        ensureConfigured();
-
-        String uid = options.containsKey(Constants.UserAttributes.UID)
-            ? (String) options.get(Constants.UserAttributes.UID)
-            : this.accountUid;
+        return reactive.identify(options).toFuture();
+    }
 
-        String anonymousUid;
+    /**
+     * Identifies or updates many accounts, e.g. to backfill an existing user base. Accounts are
+     * sent in batches as aliased mutations, several requests at a time.
+     *
+     * @param inputs The accounts to identify
+     * @return A CompletableFuture that will be completed with the result of each account, in
+     *         input order. Accounts fail individually, their errors are reported on their results.
+     */
+    public CompletableFuture<List<BulkResult<IdentifyAccountInput, Account>>> identifyAll(
+        Collection<IdentifyAccountInput> inputs
+    ) {
+        return reactive.identifyAll(inputs).collectList().toFuture();
+    }
 
-        if (options.containsKey(Constants.UserAttributes.ANONYMOUS_UID)) {
-            anonymousUid = (String) options.get(
-                Constants.UserAttributes.ANONYMOUS_UID
+    /**
+     * Identifies or updates many accounts with the given batch size and concurrency.
+     *
+     * @param inputs The accounts to identify
+     * @param batchSize Number of accounts per request, at most 100
+     * @param concurrency Maximum number of requests in flight
+     * @return A CompletableFuture that will be completed with the result of each account, in
+     *         input order. Accounts fail individually, their errors are reported on their results.
+     */
+    public CompletableFuture<List<BulkResult<IdentifyAccountInput, Account>>> identifyAll(
+        Collection<IdentifyAccountInput> inputs,
+        int batchSize,
+        int concurrency
+    ) {
+        if (inputs == null) {
+            return CompletableFuture.failedFuture(
+                new DashXValidationException("Inputs cannot be null")
             );
-        } else if (this.accountAnonymousUid != null) {
-            anonymousUid = this.accountAnonymousUid;
-        } else if (uid == null) {
-            anonymousUid = generateAccountAnonymousUid();
-        } else {
-            anonymousUid = null;
         }
 
-        IdentifyAccountInput input = IdentifyAccountInput.newBuilder()
-            .uid(uid)
-            .anonymousUid(anonymousUid)
-            .email((String) options.get(Constants.UserAttributes.EMAIL))
-            .phone((String) options.get(Constants.UserAttributes.PHONE))
-            .name((String) options.get(Constants.UserAttributes.NAME))
-            .firstName(
-                (String) options.get(Constants.UserAttributes.FIRST_NAME)
-            )
-            .lastName((String) options.get(Constants.UserAttributes.LAST_NAME))
-            .build();
-
-        logger.debug(
-            "Identifying account with uid: '{}', anonymousUid: '{}'",
-            uid,
-            anonymousUid
-        );
-        return accountService
-            .identifyAccount(input)
-            .toFuture()
-            .thenApply(account -> {
-                this.accountUid = account.getUid();
-                this.accountAnonymousUid = account.getAnonymousUid();
-                return account;
-            });
+        return reactive
+            .identifyAll(Flux.fromIterable(inputs), batchSize, concurrency)
+            .collectList()
+            .toFuture();
     }
 
     /**
@@ -262,48 +341,7 @@ public class DashX {
         String uid,
         Map<String, Object> data
     ) {
-        if (event == null || event.trim().isEmpty()) {
-            CompletableFuture<TrackEventResponse> future =
-                new CompletableFuture<>();
-            future.completeExceptionally(
-                new DashXValidationException(
-                    "Event name cannot be null or empty"
-                )
-            );
-            return future;
-        }
-
-        ensureConfigured();
-
-        // Use the passed uid or else use the identified uid,
-        // and if that's null too, use the anonymous uid if present,
-        // and if that's null too, generate a random uuid.
-        // Also, make sure to pass anonymous uid as null if a uid is present.
-        String accUid = uid != null ? uid : accountUid;
-        String accAnonUid = accountAnonymousUid;
-
-        if (accUid == null) {
-            if (accAnonUid == null) {
-                accAnonUid = generateAccountAnonymousUid();
-            }
-        } else {
-            accAnonUid = null;
-        }
-
-        TrackEventInput input = TrackEventInput.newBuilder()
-            .event(event)
-            .accountUid(accUid)
-            .accountAnonymousUid(accAnonUid)
-            .data(data)
-            .build();
-
-        logger.debug(
-            "Tracking event '{}' for uid: '{}', anonymousUid: '{}'",
-            event,
-            accUid,
-            accAnonUid
-        );
-        return eventService.trackEvent(input).toFuture();
+        return reactive.track(event, uid, data).toFuture();
     }
 
     public CompletableFuture<TrackEventResponse> track(
@@ -340,15 +378,31 @@ public class DashX {
         Integer limit,
         Integer page
     ) {
-        ensureConfigured();
+        return listAssets(filter, order, limit, page, null);
+    }
 
-        logger.debug(
-            "Listing assets with filter: {}, limit: {}, page: {}",
-            filter,
-            limit,
-            page
-        );
-        return assetService.listAssets(filter, order, limit, page).toFuture();
+    /**
+     * Lists assets with optional filtering and pagination, fetching only the selected fields.
+     *
+     * @param filter Optional filter criteria
+     * @param order Optional ordering criteria
+     * @param limit Optional maximum number of results
+     * @param page Optional page number for pagination
+     * @param projection Optional fields to fetch, e.g. {@code Projection.of(Asset.class, "id", "url")};
+     *        all fields are fetched when null
+     * @return A CompletableFuture that will be completed with the list of assets or completed
+     * exceptionally if there are GraphQL errors or execution errors.
+     */
+    public CompletableFuture<List<Asset>> listAssets(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        Integer limit,
+        Integer page,
+        Projection projection
+    ) {
+        return reactive
+            .listAssets(filter, order, limit, page, projection)
+            .toFuture();
     }
 
     public CompletableFuture<List<Asset>> listAssets(
@@ -368,6 +422,41 @@ public class DashX {
         return listAssets(null, null, null, null);
     }
 
+    /**
+     * Streams all assets matching the filter, fetching them page by page as the stream is
+     * consumed. The next page is fetched in the background while the current one is consumed.
+     * Consuming the stream blocks the calling thread while waiting for pages; close the stream
+     * (e.g. with try-with-resources) to stop fetching early. Call {@code iterator()} on the
+     * returned stream to iterate instead.
+     *
+     * @param filter Optional filter criteria
+     * @param order Optional ordering criteria
+     * @param pageSize Number of assets fetched per request
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A Stream of all matching assets. Errors are thrown as unchecked exceptions while
+     *         the stream is consumed.
+     */
+    public Stream<Asset> streamAssets(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        int pageSize,
+        Projection projection
+    ) {
+        if (pageSize <= 0) {
+            throw new DashXValidationException(
+                "pageSize must be positive, got: " + pageSize
+            );
+        }
+
+        return reactive
+            .streamAssets(filter, order, pageSize, projection)
+            .toStream(pageSize);
+    }
+
+    public Stream<Asset> streamAssets(Map<String, Object> filter) {
+        return streamAssets(filter, null, DEFAULT_PAGE_SIZE, null);
+    }
+
     /**
      * Get asset with a given id
      *
@@ -376,18 +465,19 @@ public class DashX {
      * exceptionally if there are GraphQL errors or execution errors.
      */
     public CompletableFuture<Asset> getAsset(String id) {
-        if (id == null || id.trim().isEmpty()) {
-            CompletableFuture<Asset> future = new CompletableFuture<>();
-            future.completeExceptionally(
-                new DashXValidationException("Asset ID cannot be null or empty")
-            );
-            return future;
-        }
-
-        ensureConfigured();
+        return getAsset(id, null);
+    }
 
-        logger.debug("Getting asset with id: '{}'", id);
-        return assetService.getAsset(id).toFuture();
+    /**
+     * Get asset with a given id, fetching only the selected fields.
+     *
+     * @param id The id of the asset to get
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A CompletableFuture that will be completed with the asset or completed
+     * exceptionally if there are GraphQL errors or execution errors.
+     */
+    public CompletableFuture<Asset> getAsset(String id, Projection projection) {
+        return reactive.getAsset(id, projection).toFuture();
     }
 
     /**
@@ -402,47 +492,91 @@ public class DashX {
         String resource,
         SearchRecordsOptions options
     ) {
-        if (resource == null || resource.trim().isEmpty()) {
-            CompletableFuture<List<Map<String, Object>>> future =
-                new CompletableFuture<>();
-            future.completeExceptionally(
-                new DashXValidationException("Resource cannot be null or empty")
-            );
-            return future;
-        }
+        return reactive.searchRecords(resource, options).toFuture();
+    }
 
-        ensureConfigured();
+    public CompletableFuture<List<Map<String, Object>>> searchRecords(
+        String resource
+    ) {
+        return searchRecords(resource, null);
+    }
+
+    /**
+     * Searches records for a given resource and decodes each record directly into the given
+     * type, e.g. a POJO or a Java record. Record fields without a matching property are ignored.
+     *
+     * @param resource The resource identifier to search (e.g., "users", "products")
+     * @param options Optional search parameters like filters, sorting, pagination
+     * @param type The class to decode each record into
+     * @return A CompletableFuture that will be completed with the decoded records or completed
+     *         exceptionally if there are GraphQL errors or execution errors.
+     */
+    public <T> CompletableFuture<List<T>> searchRecords(
+        String resource,
+        SearchRecordsOptions options,
+        Class<T> type
+    ) {
+        return reactive.searchRecords(resource, options, type).toFuture();
+    }
 
-        // Use default options if null
-        if (options == null) {
-            options = SearchRecordsOptions.newBuilder().build();
+    /**
+     * Streams all records of a resource matching the search parameters, walking pages from
+     * {@code options.page} onwards as the stream is consumed. Records are decoded one at a time
+     * from each response, so memory use stays bounded by a single page. Consuming the stream
+     * blocks the calling thread while waiting for pages; close the stream to stop fetching early.
+     *
+     * @param resource The resource identifier to search (e.g., "users", "products")
+     * @param options Optional search parameters; the limit is used as the page size
+     *                (default: 100)
+     * @return A Stream of all matching records. Errors are thrown as unchecked exceptions while
+     *         the stream is consumed.
+     */
+    public Stream<Map<String, Object>> streamRecords(
+        String resource,
+        SearchRecordsOptions options
+    ) {
+        String invalid = DashXReactive.validateStreamRecords(resource, options);
+        if (invalid != null) {
+            throw new DashXValidationException(invalid);
         }
 
-        SearchRecordsInput input = SearchRecordsInput.newBuilder()
-            .resource(resource)
-            .filter(options.getFilter())
-            .order(options.getOrder())
-            .limit(options.getLimit())
-            .page(options.getPage())
-            .preview(options.getPreview())
-            .language(options.getLanguage())
-            .fields(options.getFields())
-            .include(options.getInclude())
-            .exclude(options.getExclude())
-            .build();
-
-        logger.debug(
-            "Searching records for resource: '{}' with filter: {}",
-            resource,
-            options.getFilter()
-        );
-        return recordService.searchRecords(input).toFuture();
+        return reactive
+            .streamRecords(resource, options)
+            .toStream(DashXReactive.streamPageSize(options));
     }
 
-    public CompletableFuture<List<Map<String, Object>>> searchRecords(
-        String resource
+    public Stream<Map<String, Object>> streamRecords(String resource) {
+        return streamRecords(resource, null);
+    }
+
+    /**
+     * Streams all records of a resource matching the search parameters, decoding each record
+     * directly into the given type. Pages are walked as in
+     * {@link #streamRecords(String, SearchRecordsOptions)}.
+     *
+     * @param resource The resource identifier to search (e.g., "users", "products")
+     * @param options Optional search parameters; the limit is used as the page size
+     *                (default: 100)
+     * @param type The class to decode each record into
+     * @return A Stream of all matching records. Errors are thrown as unchecked exceptions while
+     *         the stream is consumed.
+     */
+    public <T> Stream<T> streamRecords(
+        String resource,
+        SearchRecordsOptions options,
+        Class<T> type
     ) {
-        return searchRecords(resource, null);
+        if (type == null) {
+            throw new DashXValidationException("Record type cannot be null");
+        }
+        String invalid = DashXReactive.validateStreamRecords(resource, options);
+        if (invalid != null) {
+            throw new DashXValidationException(invalid);
+        }
+
+        return reactive
+            .streamRecords(resource, options, type)
+            .toStream(DashXReactive.streamPageSize(options));
     }
 
     /**
@@ -453,18 +587,22 @@ public class DashX {
      *         exceptionally if there are GraphQL errors or execution errors.
      */
     public CompletableFuture<Issue> createIssue(CreateIssueInput input) {
-        if (input == null) {
-            CompletableFuture<Issue> future = new CompletableFuture<>();
-            future.completeExceptionally(
-                new DashXValidationException("CreateIssueInput cannot be null")
-            );
-            return future;
-        }
-
-        ensureConfigured();
+        return createIssue(input, null);
+    }
 
-        logger.debug("Creating issue");
-        return issueService.createIssue(input).toFuture();
+    /**
+     * Creates a new issue, fetching only the selected fields of the created issue.
+     *
+     * @param input The input data for creating the issue.
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A CompletableFuture that will be completed with the created issue or completed
+     *         exceptionally if there are GraphQL errors or execution errors.
+     */
+    public CompletableFuture<Issue> createIssue(
+        CreateIssueInput input,
+        Projection projection
+    ) {
+        return reactive.createIssue(input, projection).toFuture();
     }
 
     /**
@@ -476,18 +614,47 @@ public class DashX {
      *         exceptionally if there are GraphQL errors or execution errors.
      */
     public CompletableFuture<Issue> upsertIssue(UpsertIssueInput input) {
-        if (input == null) {
-            CompletableFuture<Issue> future = new CompletableFuture<>();
-            future.completeExceptionally(
-                new DashXValidationException("UpsertIssueInput cannot be null")
+        return upsertIssue(input, null);
+    }
+
+    /**
+     * Creates a new issue or updates an existing one, fetching only the selected fields of the
+     * resulting issue.
+     *
+     * @param input The input data for upserting the issue.
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A CompletableFuture that will be completed with the upserted issue or completed
+     *         exceptionally if there are GraphQL errors or execution errors.
+     */
+    public CompletableFuture<Issue> upsertIssue(
+        UpsertIssueInput input,
+        Projection projection
+    ) {
+        return reactive.upsertIssue(input, projection).toFuture();
+    }
+
+    /**
+     * Upserts many issues in bulk. Inputs sharing an idempotency key are coalesced into the
+     * last one, and the rest are sent in batches as aliased mutations, several requests at a
+     * time.
+     *
+     * @param inputs The issues to upsert
+     * @return A CompletableFuture that will be completed with the result of each issue sent.
+     *         Issues fail individually, their errors are reported on their results.
+     */
+    public CompletableFuture<List<BulkResult<UpsertIssueInput, Issue>>> upsertIssues(
+        Collection<UpsertIssueInput> inputs
+    ) {
+        if (inputs == null) {
+            return CompletableFuture.failedFuture(
+                new DashXValidationException("Inputs cannot be null")
             );
-            return future;
         }
 
-        ensureConfigured();
-
-        logger.debug("Upserting issue");
-        return issueService.upsertIssue(input).toFuture();
+        return reactive
+            .upsertIssues(Flux.fromIterable(inputs))
+            .collectList()
+            .toFuture();
     }
 
     /**
@@ -508,16 +675,32 @@ public class DashX {
         Integer page,
         String targetEnvironment
     ) {
-        ensureConfigured();
+        return listIssues(filter, order, limit, page, targetEnvironment, null);
+    }
 
-        logger.debug(
-            "Listing issues with filter: {}, limit: {}, page: {}",
-            filter,
-            limit,
-            page
-        );
-        return issueService
-            .listIssues(filter, order, limit, page, targetEnvironment)
+    /**
+     * Lists issues with optional filtering, ordering, and pagination, fetching only the selected
+     * fields.
+     *
+     * @param filter Optional filter criteria
+     * @param order Optional ordering criteria
+     * @param limit Optional maximum number of results
+     * @param page Optional page number for pagination
+     * @param targetEnvironment Optional target environment identifier to scope the query
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A CompletableFuture that will be completed with the list of issues or completed
+     *         exceptionally if there are GraphQL errors or execution errors.
+     */
+    public CompletableFuture<List<Issue>> listIssues(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        Integer limit,
+        Integer page,
+        String targetEnvironment,
+        Projection projection
+    ) {
+        return reactive
+            .listIssues(filter, order, limit, page, targetEnvironment, projection)
             .toFuture();
     }
 
@@ -547,6 +730,43 @@ public class DashX {
         return listIssues(null, null, null, null, null);
     }
 
+    /**
+     * Streams all issues matching the filter, fetching them page by page as the stream is
+     * consumed. The next page is fetched in the background while the current one is consumed.
+     * Consuming the stream blocks the calling thread while waiting for pages; close the stream
+     * (e.g. with try-with-resources) to stop fetching early. Call {@code iterator()} on the
+     * returned stream to iterate instead.
+     *
+     * @param filter Optional filter criteria
+     * @param order Optional ordering criteria
+     * @param pageSize Number of issues fetched per request
+     * @param targetEnvironment Optional target environment identifier to scope the query
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A Stream of all matching issues. Errors are thrown as unchecked exceptions while
+     *         the stream is consumed.
+     */
+    public Stream<Issue> streamIssues(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        int pageSize,
+        String targetEnvironment,
+        Projection projection
+    ) {
+        if (pageSize <= 0) {
+            throw new DashXValidationException(
+                "pageSize must be positive, got: " + pageSize
+            );
+        }
+
+        return reactive
+            .streamIssues(filter, order, pageSize, targetEnvironment, projection)
+            .toStream(pageSize);
+    }
+
+    public Stream<Issue> streamIssues(Map<String, Object> filter) {
+        return streamIssues(filter, null, DEFAULT_PAGE_SIZE, null, null);
+    }
+
     /**
      * Counts issues matching the provided filter.
      *
@@ -560,12 +780,7 @@ public class DashX {
         Map<String, Object> filter,
         String targetEnvironment
     ) {
-        ensureConfigured();
-
-        logger.debug("Aggregating issues with filter: {}", filter);
-        return issueService
-            .aggregateIssues(filter, targetEnvironment)
-            .toFuture();
+        return reactive.aggregateIssues(filter, targetEnvironment).toFuture();
     }
 
     public CompletableFuture<AggregateResponse> aggregateIssues(
@@ -588,20 +803,22 @@ public class DashX {
     public CompletableFuture<Broadcast> sendBroadcast(
         CreateBroadcastInput input
     ) {
-        if (input == null) {
-            CompletableFuture<Broadcast> future = new CompletableFuture<>();
-            future.completeExceptionally(
-                new DashXValidationException(
-                    "CreateBroadcastInput cannot be null"
-                )
-            );
-            return future;
-        }
-
-        ensureConfigured();
+        return sendBroadcast(input, null);
+    }
 
-        logger.debug("Creating broadcast");
-        return broadcastService.createBroadcast(input).toFuture();
+    /**
+     * Creates a new broadcast, fetching only the selected fields of the created broadcast.
+     *
+     * @param input The input data for creating the broadcast.
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A CompletableFuture that will be completed with the created Broadcast or completed
+     *         exceptionally if there are GraphQL errors or execution errors.
+     */
+    public CompletableFuture<Broadcast> sendBroadcast(
+        CreateBroadcastInput input,
+        Projection projection
+    ) {
+        return reactive.sendBroadcast(input, projection).toFuture();
     }
 
     /** Default identity-token lifetime: 7 days. */
@@ -628,20 +845,10 @@ public class DashX {
 
         ensureConfigured();
 
-        Date now = new Date();
-        Date expiration = new Date(now.getTime() + expiresInSeconds * 1000L);
-        SecretKey key = new SecretKeySpec(
-            privateKey.getBytes(StandardCharsets.UTF_8),
-            "HmacSHA256"
-        );
-
-        return Jwts.builder()
-            .claim("kind", kind)
-            .claim("uid", uid)
-            .issuedAt(now)
-            .expiration(expiration)
-            .signWith(key, Jwts.SIG.HS256)
-            .compact();
+        if (identityTokenSigner == null) {
+            initIdentityTokens();
+        }
+        return identityTokenSigner.sign(uid, kind, expiresInSeconds);
     }
 
     public String generateIdentityToken(String uid, String kind) {
@@ -659,4 +866,53 @@ public class DashX {
             DEFAULT_IDENTITY_TOKEN_EXPIRY_SECONDS
         );
     }
+
+    /**
+     * Verifies an identity token produced by {@link #generateIdentityToken},
+     * checking its signature and expiry locally against the configured private
+     * key. No request is made to DashX.
+     *
+     * @param token the identity token to verify
+     * @return the token's claims
+     * @throws DashXInvalidTokenException if the token is malformed, was not
+     *     signed with the configured private key, or has expired
+     */
+    public IdentityTokenClaims verifyIdentityToken(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new DashXValidationException("token cannot be null or empty");
+        }
+
+        ensureConfigured();
+
+        if (identityTokenVerifier == null) {
+            initIdentityTokens();
+        }
+        return identityTokenVerifier.verify(token);
+    }
+
+    /**
+     * Creates the identity token signer and verifier on first use, so that a
+     * configuration without a private key can still make API requests and
+     * only fails to sign tokens.
+     */
+    private synchronized void initIdentityTokens() {
+        if (identityTokenVerifier != null) {
+            return;
+        }
+        if (privateKey.isEmpty()) {
+            throw new DashXConfigurationException(
+                "privateKey must not be empty to sign or verify identity tokens"
+            );
+        }
+
+        IdentityTokenSigner signer = new IdentityTokenSigner(
+            privateKey,
+            config.getIdentityTokenCacheMaxSize()
+        );
+        identityTokenVerifier = new IdentityTokenVerifier(
+            signer,
+            config.getIdentityTokenVerifyCacheMaxSize()
+        );
+        identityTokenSigner = signer;
+    }
 }
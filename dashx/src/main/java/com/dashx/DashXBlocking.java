@@ -0,0 +1,300 @@
+package com.dashx;
+
+import com.dashx.exception.DashXValidationException;
+import com.dashx.graphql.generated.types.Account;
+import com.dashx.graphql.generated.types.AggregateResponse;
+import com.dashx.graphql.generated.types.Asset;
+import com.dashx.graphql.generated.types.Broadcast;
+import com.dashx.graphql.generated.types.CreateBroadcastInput;
+import com.dashx.graphql.generated.types.CreateIssueInput;
+import com.dashx.graphql.generated.types.IdentifyAccountInput;
+import com.dashx.graphql.generated.types.Issue;
+import com.dashx.graphql.generated.types.TrackEventResponse;
+import com.dashx.graphql.generated.types.UpsertIssueInput;
+import com.dashx.graphql.utils.BulkResult;
+import com.dashx.graphql.utils.Projection;
+import com.dashx.graphql.utils.SearchRecordsOptions;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import reactor.core.publisher.Flux;
+
+/**
+ * Synchronous view of a {@link DashX} instance, for callers that wait for every result anyway,
+ * such as Spring MVC controllers running on virtual threads.
+ * <p>
+ * Each call subscribes to the reactive pipeline and parks the calling thread until the result
+ * arrives, without creating a {@link java.util.concurrent.CompletableFuture} or handing the
+ * result over to another thread first. Waiting parks through {@code java.util.concurrent}
+ * primitives rather than monitors, so a virtual thread is unmounted while it waits and never
+ * pins its carrier thread. Errors are thrown as they are, not wrapped in a
+ * {@link java.util.concurrent.CompletionException}. Calls must not be made from a Reactor or
+ * Netty event loop thread, where blocking is rejected with an {@link IllegalStateException}.
+ * <p>
+ * Obtain an instance with {@link DashX#blocking()}. Use the {@code stream} methods of
+ * {@link DashX} to iterate over large result sets, they block while consumed as well.
+ */
+public final class DashXBlocking {
+
+    private final DashX dashx;
+
+    DashXBlocking(DashX dashx) {
+        this.dashx = dashx;
+    }
+
+    /**
+     * Identifies a user with the provided options.
+     *
+     * @param options User identification options
+     * @return The identified account
+     */
+    public Account identify(Map<String, Object> options) {
+        return dashx.reactive().identify(options).block();
+    }
+
+    /**
+     * Identifies or updates many accounts with the default batch size and concurrency.
+     *
+     * @param inputs The accounts to identify
+     * @return The result of each account, in input order. Accounts fail individually, their
+     *         errors are reported on their results.
+     */
+    public List<BulkResult<IdentifyAccountInput, Account>> identifyAll(
+        Collection<IdentifyAccountInput> inputs
+    ) {
+        return dashx.reactive().identifyAll(inputs).collectList().block();
+    }
+
+    /**
+     * Tracks an event for a user.
+     *
+     * @param event The event name (event type)
+     * @param uid Optional user ID
+     * @param data Optional event data
+     * @return The tracking result
+     */
+    public TrackEventResponse track(
+        String event,
+        String uid,
+        Map<String, Object> data
+    ) {
+        return dashx.reactive().track(event, uid, data).block();
+    }
+
+    public TrackEventResponse track(String event, Map<String, Object> data) {
+        return track(event, null, data);
+    }
+
+    public TrackEventResponse track(String event) {
+        return track(event, null, null);
+    }
+
+    /**
+     * Lists assets with optional filtering and pagination, fetching only the selected fields.
+     *
+     * @param filter Optional filter criteria
+     * @param order Optional ordering criteria
+     * @param limit Optional maximum number of results
+     * @param page Optional page number for pagination
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return The list of assets
+     */
+    public List<Asset> listAssets(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        Integer limit,
+        Integer page,
+        Projection projection
+    ) {
+        return dashx
+            .reactive()
+            .listAssets(filter, order, limit, page, projection)
+            .block();
+    }
+
+    public List<Asset> listAssets(Map<String, Object> filter) {
+        return listAssets(filter, null, null, null, null);
+    }
+
+    public List<Asset> listAssets() {
+        return listAssets(null, null, null, null, null);
+    }
+
+    /**
+     * Get asset with a given id, fetching only the selected fields.
+     *
+     * @param id The id of the asset to get
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return The asset
+     */
+    public Asset getAsset(String id, Projection projection) {
+        return dashx.reactive().getAsset(id, projection).block();
+    }
+
+    public Asset getAsset(String id) {
+        return getAsset(id, null);
+    }
+
+    /**
+     * Searches records for a given resource with optional search parameters.
+     *
+     * @param resource The resource identifier to search (e.g., "users", "products")
+     * @param options Optional search parameters like filters, sorting, pagination
+     * @return The matching records
+     */
+    public List<Map<String, Object>> searchRecords(
+        String resource,
+        SearchRecordsOptions options
+    ) {
+        return dashx.reactive().searchRecords(resource, options).block();
+    }
+
+    public List<Map<String, Object>> searchRecords(String resource) {
+        return searchRecords(resource, null);
+    }
+
+    /**
+     * Searches records for a given resource and decodes each record directly into the given
+     * type.
+     *
+     * @param resource The resource identifier to search (e.g., "users", "products")
+     * @param options Optional search parameters like filters, sorting, pagination
+     * @param type The class to decode each record into
+     * @return The decoded records
+     */
+    public <T> List<T> searchRecords(
+        String resource,
+        SearchRecordsOptions options,
+        Class<T> type
+    ) {
+        return dashx
+            .reactive()
+            .searchRecords(resource, options, type)
+            .block();
+    }
+
+    /**
+     * Creates a new issue, fetching only the selected fields of the created issue.
+     *
+     * @param input The input data for creating the issue.
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return The created issue
+     */
+    public Issue createIssue(CreateIssueInput input, Projection projection) {
+        return dashx.reactive().createIssue(input, projection).block();
+    }
+
+    public Issue createIssue(CreateIssueInput input) {
+        return createIssue(input, null);
+    }
+
+    /**
+     * Creates a new issue or updates an existing one, fetching only the selected fields of the
+     * resulting issue.
+     *
+     * @param input The input data for upserting the issue.
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return The upserted issue
+     */
+    public Issue upsertIssue(UpsertIssueInput input, Projection projection) {
+        return dashx.reactive().upsertIssue(input, projection).block();
+    }
+
+    public Issue upsertIssue(UpsertIssueInput input) {
+        return upsertIssue(input, null);
+    }
+
+    /**
+     * Upserts many issues in bulk, coalescing inputs that share an idempotency key.
+     *
+     * @param inputs The issues to upsert
+     * @return The result of each issue sent. Issues fail individually, their errors are
+     *         reported on their results.
+     */
+    public List<BulkResult<UpsertIssueInput, Issue>> upsertIssues(
+        Collection<UpsertIssueInput> inputs
+    ) {
+        if (inputs == null) {
+            throw new DashXValidationException("Inputs cannot be null");
+        }
+
+        return dashx
+            .reactive()
+            .upsertIssues(Flux.fromIterable(inputs))
+            .collectList()
+            .block();
+    }
+
+    /**
+     * Lists issues with optional filtering, ordering, and pagination, fetching only the selected
+     * fields.
+     *
+     * @param filter Optional filter criteria
+     * @param order Optional ordering criteria
+     * @param limit Optional maximum number of results
+     * @param page Optional page number for pagination
+     * @param targetEnvironment Optional target environment identifier to scope the query
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return The list of issues
+     */
+    public List<Issue> listIssues(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        Integer limit,
+        Integer page,
+        String targetEnvironment,
+        Projection projection
+    ) {
+        return dashx
+            .reactive()
+            .listIssues(filter, order, limit, page, targetEnvironment, projection)
+            .block();
+    }
+
+    public List<Issue> listIssues(Map<String, Object> filter) {
+        return listIssues(filter, null, null, null, null, null);
+    }
+
+    public List<Issue> listIssues() {
+        return listIssues(null, null, null, null, null, null);
+    }
+
+    /**
+     * Counts issues matching the provided filter.
+     *
+     * @param filter Optional filter criteria
+     * @param targetEnvironment Optional target environment identifier to scope the query
+     * @return The aggregate response containing the count of matching issues
+     */
+    public AggregateResponse aggregateIssues(
+        Map<String, Object> filter,
+        String targetEnvironment
+    ) {
+        return dashx
+            .reactive()
+            .aggregateIssues(filter, targetEnvironment)
+            .block();
+    }
+
+    public AggregateResponse aggregateIssues() {
+        return aggregateIssues(null, null);
+    }
+
+    /**
+     * Creates a new broadcast, fetching only the selected fields of the created broadcast.
+     *
+     * @param input The input data for creating the broadcast.
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return The created broadcast
+     */
+    public Broadcast sendBroadcast(
+        CreateBroadcastInput input,
+        Projection projection
+    ) {
+        return dashx.reactive().sendBroadcast(input, projection).block();
+    }
+
+    public Broadcast sendBroadcast(CreateBroadcastInput input) {
+        return sendBroadcast(input, null);
+    }
+}
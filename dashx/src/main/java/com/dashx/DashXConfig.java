@@ -1,6 +1,7 @@
 package com.dashx;
 
 import com.dashx.exception.DashXConfigurationException;
+import com.dashx.metrics.DashXMetrics;
 
 public final class DashXConfig {
 
@@ -12,6 +13,38 @@ public final class DashXConfig {
     private final Integer responseTimeout;
     private final Integer maxConnections;
     private final Integer maxIdleTime;
+    private final Integer trackBatchSize;
+    private final Integer trackBatchLinger;
+    private final Integer trackQueueCapacity;
+    private final Boolean persistedQueries;
+    private final Integer assetCacheMaxSize;
+    private final Integer assetCacheTtl;
+    private final Integer recordCacheMaxSize;
+    private final Integer recordCacheTtl;
+    private final Boolean deduplicateQueries;
+    private final DashXMetrics metrics;
+    private final Integer maxRetries;
+    private final Integer retryBackoff;
+    private final Integer retryMaxBackoff;
+    private final Double retryBudgetRatio;
+    private final Boolean retryNonIdempotent;
+    private final Integer pendingAcquireTimeout;
+    private final Integer maxPendingAcquires;
+    private final Boolean circuitBreaker;
+    private final Integer circuitBreakerFailureRate;
+    private final Integer circuitBreakerOpenDuration;
+    private final Boolean adaptiveConcurrency;
+    private final String trackOutboxDirectory;
+    private final OutboxMode trackOutboxMode;
+    private final Long trackOutboxMaxSize;
+    private final HttpProtocol httpProtocol;
+    private final Integer http2MaxConnections;
+    private final Integer http2MaxConcurrentStreams;
+    private final Integer requestCompressionThreshold;
+    private final Boolean responseCompression;
+    private final Integer identityTokenCacheMaxSize;
+    private final Integer identityTokenVerifyCacheMaxSize;
+    private final DashXTransport transport;
 
     private DashXConfig(Builder builder) {
         this.baseUrl = builder.baseUrl;
@@ -22,6 +55,39 @@ public final class DashXConfig {
         this.responseTimeout = builder.responseTimeout;
         this.maxConnections = builder.maxConnections;
         this.maxIdleTime = builder.maxIdleTime;
+        this.trackBatchSize = builder.trackBatchSize;
+        this.trackBatchLinger = builder.trackBatchLinger;
+        this.trackQueueCapacity = builder.trackQueueCapacity;
+        this.persistedQueries = builder.persistedQueries;
+        this.assetCacheMaxSize = builder.assetCacheMaxSize;
+        this.assetCacheTtl = builder.assetCacheTtl;
+        this.recordCacheMaxSize = builder.recordCacheMaxSize;
+        this.recordCacheTtl = builder.recordCacheTtl;
+        this.deduplicateQueries = builder.deduplicateQueries;
+        this.metrics = builder.metrics;
+        this.maxRetries = builder.maxRetries;
+        this.retryBackoff = builder.retryBackoff;
+        this.retryMaxBackoff = builder.retryMaxBackoff;
+        this.retryBudgetRatio = builder.retryBudgetRatio;
+        this.retryNonIdempotent = builder.retryNonIdempotent;
+        this.pendingAcquireTimeout = builder.pendingAcquireTimeout;
+        this.maxPendingAcquires = builder.maxPendingAcquires;
+        this.circuitBreaker = builder.circuitBreaker;
+        this.circuitBreakerFailureRate = builder.circuitBreakerFailureRate;
+        this.circuitBreakerOpenDuration = builder.circuitBreakerOpenDuration;
+        this.adaptiveConcurrency = builder.adaptiveConcurrency;
+        this.trackOutboxDirectory = builder.trackOutboxDirectory;
+        this.trackOutboxMode = builder.trackOutboxMode;
+        this.trackOutboxMaxSize = builder.trackOutboxMaxSize;
+        this.httpProtocol = builder.httpProtocol;
+        this.http2MaxConnections = builder.http2MaxConnections;
+        this.http2MaxConcurrentStreams = builder.http2MaxConcurrentStreams;
+        this.requestCompressionThreshold = builder.requestCompressionThreshold;
+        this.responseCompression = builder.responseCompression;
+        this.identityTokenCacheMaxSize = builder.identityTokenCacheMaxSize;
+        this.transport = builder.transport;
+        this.identityTokenVerifyCacheMaxSize =
+            builder.identityTokenVerifyCacheMaxSize;
     }
 
     public String getBaseUrl() {
@@ -56,6 +122,152 @@ public final class DashXConfig {
         return maxIdleTime;
     }
 
+    public Integer getTrackBatchSize() {
+        return trackBatchSize;
+    }
+
+    public Integer getTrackBatchLinger() {
+        return trackBatchLinger;
+    }
+
+    public Integer getTrackQueueCapacity() {
+        return trackQueueCapacity;
+    }
+
+    public Boolean getPersistedQueries() {
+        return persistedQueries;
+    }
+
+    public Integer getAssetCacheMaxSize() {
+        return assetCacheMaxSize;
+    }
+
+    public Integer getAssetCacheTtl() {
+        return assetCacheTtl;
+    }
+
+    public Integer getRecordCacheMaxSize() {
+        return recordCacheMaxSize;
+    }
+
+    public Integer getRecordCacheTtl() {
+        return recordCacheTtl;
+    }
+
+    public Boolean getDeduplicateQueries() {
+        return deduplicateQueries;
+    }
+
+    public DashXMetrics getMetrics() {
+        return metrics;
+    }
+
+    public Integer getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Integer getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public Integer getRetryMaxBackoff() {
+        return retryMaxBackoff;
+    }
+
+    public Double getRetryBudgetRatio() {
+        return retryBudgetRatio;
+    }
+
+    public Boolean getRetryNonIdempotent() {
+        return retryNonIdempotent;
+    }
+
+    public Integer getPendingAcquireTimeout() {
+        return pendingAcquireTimeout;
+    }
+
+    public Integer getMaxPendingAcquires() {
+        return maxPendingAcquires;
+    }
+
+    public Boolean getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Integer getCircuitBreakerFailureRate() {
+        return circuitBreakerFailureRate;
+    }
+
+    public Integer getCircuitBreakerOpenDuration() {
+        return circuitBreakerOpenDuration;
+    }
+
+    public Boolean getAdaptiveConcurrency() {
+        return adaptiveConcurrency;
+    }
+
+    public String getTrackOutboxDirectory() {
+        return trackOutboxDirectory;
+    }
+
+    public OutboxMode getTrackOutboxMode() {
+        return trackOutboxMode;
+    }
+
+    public Long getTrackOutboxMaxSize() {
+        return trackOutboxMaxSize;
+    }
+
+    public HttpProtocol getHttpProtocol() {
+        return httpProtocol;
+    }
+
+    public Integer getHttp2MaxConnections() {
+        return http2MaxConnections;
+    }
+
+    public Integer getHttp2MaxConcurrentStreams() {
+        return http2MaxConcurrentStreams;
+    }
+
+    /** When tracked events go through the on-disk outbox. */
+    public enum OutboxMode {
+        /** Only events whose delivery failed are stored, and delivered later. */
+        ON_FAILURE,
+        /** Every event is stored first and delivered from the outbox. */
+        WRITE_AHEAD,
+    }
+
+    /** The HTTP protocol used to talk to the DashX API. */
+    public enum HttpProtocol {
+        /** HTTP/1.1, one request per connection at a time. */
+        HTTP_1_1,
+        /** HTTP/2 over TLS, negotiated with ALPN, falling back to HTTP/1.1. */
+        HTTP_2,
+        /** Cleartext HTTP/2 with prior knowledge. */
+        H2C,
+    }
+
+    public Integer getRequestCompressionThreshold() {
+        return requestCompressionThreshold;
+    }
+
+    public Boolean getResponseCompression() {
+        return responseCompression;
+    }
+
+    public Integer getIdentityTokenCacheMaxSize() {
+        return identityTokenCacheMaxSize;
+    }
+
+    public Integer getIdentityTokenVerifyCacheMaxSize() {
+        return identityTokenVerifyCacheMaxSize;
+    }
+
+    public DashXTransport getTransport() {
+        return transport;
+    }
+
     public static class Builder {
 
         private String baseUrl = Constants.DEFAULT_BASE_URL;
@@ -66,6 +278,38 @@ public final class DashXConfig {
         private Integer responseTimeout = 30000; // 30 seconds (in milliseconds)
         private Integer maxConnections = 500;
         private Integer maxIdleTime = 20000; // 20 seconds (in milliseconds)
+        private Integer trackBatchSize; // batching disabled by default
+        private Integer trackBatchLinger = 50; // 50 milliseconds
+        private Integer trackQueueCapacity = 10000;
+        private Boolean persistedQueries = false;
+        private Integer assetCacheMaxSize; // asset cache disabled by default
+        private Integer assetCacheTtl = 60000; // 60 seconds (in milliseconds)
+        private Integer recordCacheMaxSize; // record cache disabled by default
+        private Integer recordCacheTtl = 60000; // 60 seconds (in milliseconds)
+        private Boolean deduplicateQueries = false;
+        private DashXMetrics metrics;
+        private Integer maxRetries = 0;
+        private Integer retryBackoff = 100; // 100 milliseconds
+        private Integer retryMaxBackoff = 2000; // 2 seconds (in milliseconds)
+        private Double retryBudgetRatio = 0.2; // 20% of the requests in flight
+        private Boolean retryNonIdempotent = false;
+        private Integer pendingAcquireTimeout = 60000; // 60 seconds (in milliseconds)
+        private Integer maxPendingAcquires; // twice maxConnections by default
+        private Boolean circuitBreaker = false;
+        private Integer circuitBreakerFailureRate = 50; // percent
+        private Integer circuitBreakerOpenDuration = 30000; // 30 seconds (in milliseconds)
+        private Boolean adaptiveConcurrency = false;
+        private String trackOutboxDirectory; // outbox disabled by default
+        private OutboxMode trackOutboxMode = OutboxMode.ON_FAILURE;
+        private Long trackOutboxMaxSize = 64L * 1024 * 1024; // 64 MiB
+        private HttpProtocol httpProtocol = HttpProtocol.HTTP_1_1;
+        private Integer http2MaxConnections = 4;
+        private Integer http2MaxConcurrentStreams = 100;
+        private Integer requestCompressionThreshold; // request compression disabled by default
+        private Boolean responseCompression = true;
+        private Integer identityTokenCacheMaxSize; // identity token cache disabled by default
+        private Integer identityTokenVerifyCacheMaxSize; // verified token cache disabled by default
+        private DashXTransport transport;
 
         public Builder() {}
 
@@ -121,6 +365,354 @@ public final class DashXConfig {
             return this;
         }
 
+        /**
+         * Enables batching of tracked events. Events are buffered and sent as a single
+         * multi-mutation request once this many are queued or the linger time elapses.
+         * @param trackBatchSize maximum events per request (default: null, batching disabled)
+         */
+        public Builder trackBatchSize(Integer trackBatchSize) {
+            this.trackBatchSize = trackBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a partially filled batch of tracked events may wait before being sent.
+         * @param trackBatchLinger linger time in milliseconds (default: 50)
+         */
+        public Builder trackBatchLinger(Integer trackBatchLinger) {
+            this.trackBatchLinger = trackBatchLinger;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of tracked events buffered while batching.
+         * Events submitted while the queue is full are rejected.
+         * @param trackQueueCapacity queue capacity (default: 10000)
+         */
+        public Builder trackQueueCapacity(Integer trackQueueCapacity) {
+            this.trackQueueCapacity = trackQueueCapacity;
+            return this;
+        }
+
+        /**
+         * Enables Automatic Persisted Queries. Requests carry only the SHA-256 hash of the
+         * document, and the full document is sent only when the server does not know it yet.
+         * @param persistedQueries whether to use persisted queries (default: false)
+         */
+        public Builder persistedQueries(Boolean persistedQueries) {
+            this.persistedQueries = persistedQueries;
+            return this;
+        }
+
+        /**
+         * Enables an in-memory cache of getAsset results, keeping up to this many assets.
+         * The least recently used asset is evicted once the cache is full.
+         * @param assetCacheMaxSize maximum number of cached assets (default: null, caching disabled)
+         */
+        public Builder assetCacheMaxSize(Integer assetCacheMaxSize) {
+            this.assetCacheMaxSize = assetCacheMaxSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a cached asset is served before it is fetched again.
+         * @param assetCacheTtl time to live in milliseconds (default: 60000)
+         */
+        public Builder assetCacheTtl(Integer assetCacheTtl) {
+            this.assetCacheTtl = assetCacheTtl;
+            return this;
+        }
+
+        /**
+         * Enables an in-memory cache of searchRecords results, keeping up to this many distinct
+         * searches. The least recently used search is evicted once the cache is full.
+         * @param recordCacheMaxSize maximum number of cached searches (default: null, caching disabled)
+         */
+        public Builder recordCacheMaxSize(Integer recordCacheMaxSize) {
+            this.recordCacheMaxSize = recordCacheMaxSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a cached search result is served before it is fetched again.
+         * @param recordCacheTtl time to live in milliseconds (default: 60000)
+         */
+        public Builder recordCacheTtl(Integer recordCacheTtl) {
+            this.recordCacheTtl = recordCacheTtl;
+            return this;
+        }
+
+        /**
+         * Enables deduplication of identical in-flight queries. While a query is in flight, further
+         * requests with the same document and variables wait for its result instead of being sent.
+         * Mutations are never deduplicated.
+         * @param deduplicateQueries whether to deduplicate identical queries (default: false)
+         */
+        public Builder deduplicateQueries(Boolean deduplicateQueries) {
+            this.deduplicateQueries = deduplicateQueries;
+            return this;
+        }
+
+        /**
+         * Receives per-operation timings, payload sizes, error counts and connection pool
+         * statistics. Use {@code MicrometerDashXMetrics} to report them to
+         * Micrometer. Defaults to no metrics.
+         * @param metrics the metrics receiver
+         */
+        public Builder metrics(DashXMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        /**
+         * Sets how many times a request that failed transiently (connection error, timeout,
+         * HTTP 429/502/503/504) is retried. Queries and idempotent mutations (track, identify,
+         * upsertIssue with an idempotency key) are retried; other mutations only when the request
+         * never reached the server, see {@link #retryNonIdempotent}. Track events carry no
+         * deduplication key, so an event whose request timed out after the server recorded it is
+         * recorded twice. Defaults to 0, retries are disabled.
+         * @param maxRetries the maximum number of retries per operation
+         */
+        public Builder maxRetries(Integer maxRetries) {
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Sets the delay before the first retry, in milliseconds. Each further retry waits twice
+         * as long, up to {@link #retryMaxBackoff}, with half of each delay randomized.
+         * @param retryBackoff the initial retry delay in milliseconds
+         */
+        public Builder retryBackoff(Integer retryBackoff) {
+            this.retryBackoff = retryBackoff;
+            return this;
+        }
+
+        /**
+         * Sets the maximum delay between retries, in milliseconds.
+         * @param retryMaxBackoff the maximum retry delay in milliseconds
+         */
+        public Builder retryMaxBackoff(Integer retryMaxBackoff) {
+            this.retryMaxBackoff = retryMaxBackoff;
+            return this;
+        }
+
+        /**
+         * Sets the retry budget: retries in flight may not exceed this fraction of the requests
+         * in flight (a few retries are always allowed, so that retries work at low traffic). This
+         * keeps retries from multiplying the load on an API that is already failing.
+         * @param retryBudgetRatio the fraction of in-flight requests that may be retries, greater than 0 and at most 1
+         */
+        public Builder retryBudgetRatio(Double retryBudgetRatio) {
+            this.retryBudgetRatio = retryBudgetRatio;
+            return this;
+        }
+
+        /**
+         * Enables retrying mutations that are not idempotent, such as createIssue and
+         * sendBroadcast, after failures where the request may have reached the server. A retry may
+         * then apply the mutation twice. Disabled by default.
+         * @param retryNonIdempotent whether to retry non-idempotent mutations
+         */
+        public Builder retryNonIdempotent(Boolean retryNonIdempotent) {
+            this.retryNonIdempotent = retryNonIdempotent;
+            return this;
+        }
+
+        /**
+         * Sets how long a request waits for a pooled connection when all connections are in use,
+         * in milliseconds, before it fails.
+         * @param pendingAcquireTimeout the connection acquire timeout in milliseconds
+         */
+        public Builder pendingAcquireTimeout(Integer pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+            return this;
+        }
+
+        /**
+         * Sets how many requests may wait for a pooled connection when all connections are in use.
+         * Further requests fail immediately. Defaults to twice {@link #maxConnections}.
+         * @param maxPendingAcquires the maximum number of requests waiting for a connection
+         */
+        public Builder maxPendingAcquires(Integer maxPendingAcquires) {
+            this.maxPendingAcquires = maxPendingAcquires;
+            return this;
+        }
+
+        /**
+         * Enables the circuit breaker. Once {@link #circuitBreakerFailureRate} percent of recent
+         * requests have failed (connection errors, timeouts, HTTP 429 or 503), requests fail
+         * immediately with {@code DashXCircuitOpenException} for
+         * {@link #circuitBreakerOpenDuration}, after which a trial request decides whether to
+         * resume. Disabled by default.
+         * @param circuitBreaker whether to enable the circuit breaker
+         */
+        public Builder circuitBreaker(Boolean circuitBreaker) {
+            this.circuitBreaker = circuitBreaker;
+            return this;
+        }
+
+        /**
+         * Sets the percentage of failed requests among the recent ones at which the circuit
+         * breaker opens.
+         * @param circuitBreakerFailureRate the failure rate threshold in percent, from 1 to 100
+         */
+        public Builder circuitBreakerFailureRate(Integer circuitBreakerFailureRate) {
+            this.circuitBreakerFailureRate = circuitBreakerFailureRate;
+            return this;
+        }
+
+        /**
+         * Sets how long the circuit breaker rejects requests once open, in milliseconds.
+         * @param circuitBreakerOpenDuration the open duration in milliseconds
+         */
+        public Builder circuitBreakerOpenDuration(Integer circuitBreakerOpenDuration) {
+            this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+            return this;
+        }
+
+        /**
+         * Enables the adaptive concurrency limit. The number of requests in flight is limited to
+         * what the API handles at its normal latency: the limit grows while requests complete
+         * quickly and shrinks when they slow down or fail. Requests beyond the limit fail
+         * immediately with {@code DashXOverloadedException} instead of waiting for a connection.
+         * Each operation's latency is compared against its own baseline. The limit applies per
+         * {@code DashX} instance, also when instances share a transport. Disabled by default.
+         * @param adaptiveConcurrency whether to enable the adaptive concurrency limit
+         */
+        public Builder adaptiveConcurrency(Boolean adaptiveConcurrency) {
+            this.adaptiveConcurrency = adaptiveConcurrency;
+            return this;
+        }
+
+        /**
+         * Enables the track event outbox in the given directory. Events that cannot be delivered
+         * because the API is unreachable are stored there, in memory-mapped segment files, and
+         * delivered in order in the background once it is reachable again. Only one DashX instance
+         * may use a directory at a time.
+         * @param trackOutboxDirectory the directory to store undelivered events in
+         */
+        public Builder trackOutboxDirectory(String trackOutboxDirectory) {
+            this.trackOutboxDirectory = trackOutboxDirectory;
+            return this;
+        }
+
+        /**
+         * Sets when events go through the outbox: {@code ON_FAILURE} (the default) stores only
+         * events whose delivery failed, {@code WRITE_AHEAD} stores every event first and delivers
+         * it from the outbox.
+         * @param trackOutboxMode the outbox mode
+         */
+        public Builder trackOutboxMode(OutboxMode trackOutboxMode) {
+            this.trackOutboxMode = trackOutboxMode;
+            return this;
+        }
+
+        /**
+         * Sets the maximum disk space used by the outbox, in bytes. When it is full, the oldest
+         * stored events are dropped.
+         * @param trackOutboxMaxSize the maximum outbox size in bytes
+         */
+        public Builder trackOutboxMaxSize(Long trackOutboxMaxSize) {
+            this.trackOutboxMaxSize = trackOutboxMaxSize;
+            return this;
+        }
+
+        /**
+         * Sets the HTTP protocol used to talk to the DashX API. {@code HTTP_1_1} (the default)
+         * sends one request per connection at a time, so concurrency is bounded by
+         * {@link #maxConnections}. {@code HTTP_2} multiplexes concurrent requests as streams over a
+         * few TLS connections (negotiated with ALPN, falling back to HTTP/1.1), which saves TLS
+         * handshakes and file descriptors under load. {@code H2C} uses cleartext HTTP/2 with prior
+         * knowledge, e.g. for local test servers.
+         * @param httpProtocol the HTTP protocol
+         */
+        public Builder httpProtocol(HttpProtocol httpProtocol) {
+            this.httpProtocol = httpProtocol;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of connections when using HTTP/2. Requests are multiplexed over
+         * these connections, so a handful is enough. Ignored for HTTP/1.1, which uses
+         * {@link #maxConnections}.
+         * @param http2MaxConnections the maximum number of HTTP/2 connections
+         */
+        public Builder http2MaxConnections(Integer http2MaxConnections) {
+            this.http2MaxConnections = http2MaxConnections;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of concurrent requests (streams) per HTTP/2 connection. The
+         * server's own limit applies if it is lower.
+         * @param http2MaxConcurrentStreams the maximum number of concurrent streams per connection
+         */
+        public Builder http2MaxConcurrentStreams(Integer http2MaxConcurrentStreams) {
+            this.http2MaxConcurrentStreams = http2MaxConcurrentStreams;
+            return this;
+        }
+
+        /**
+         * Enables gzip compression of request bodies of at least this size (in bytes), sent with
+         * {@code Content-Encoding: gzip}. Large payloads such as broadcasts with big content maps
+         * compress well, small ones are not worth the CPU. Disabled by default; only enable it
+         * when the API endpoint accepts compressed requests.
+         * @param requestCompressionThreshold the minimum request body size to compress, in bytes
+         */
+        public Builder requestCompressionThreshold(Integer requestCompressionThreshold) {
+            this.requestCompressionThreshold = requestCompressionThreshold;
+            return this;
+        }
+
+        /**
+         * Sets whether compressed responses are requested with {@code Accept-Encoding: gzip} and
+         * decoded transparently. Enabled by default.
+         * @param responseCompression whether to accept compressed responses
+         */
+        public Builder responseCompression(Boolean responseCompression) {
+            this.responseCompression = responseCompression;
+            return this;
+        }
+
+        /**
+         * Enables caching of identity tokens per uid, kind and lifetime, holding at most this many
+         * tokens. A cached token is returned until 80% of its lifetime has passed, after which a
+         * fresh token is minted ahead of its expiry. Useful when tokens are minted for the same
+         * users over and over, e.g. once per page view.
+         * @param identityTokenCacheMaxSize the maximum number of cached identity tokens
+         */
+        public Builder identityTokenCacheMaxSize(Integer identityTokenCacheMaxSize) {
+            this.identityTokenCacheMaxSize = identityTokenCacheMaxSize;
+            return this;
+        }
+
+        /**
+         * Enables caching of the claims of verified identity tokens, holding at most this many
+         * tokens. A token presented again skips signature checking and claims parsing; its expiry
+         * is still checked on every call.
+         * @param identityTokenVerifyCacheMaxSize the maximum number of cached verified tokens
+         */
+        public Builder identityTokenVerifyCacheMaxSize(
+            Integer identityTokenVerifyCacheMaxSize
+        ) {
+            this.identityTokenVerifyCacheMaxSize =
+                identityTokenVerifyCacheMaxSize;
+            return this;
+        }
+
+        /**
+         * Sends requests over a shared {@link DashXTransport} instead of a connection pool of
+         * this instance's own. Lets many instances, e.g. one per tenant, share connections and
+         * the event loop. The transport's own connection settings apply; the connection settings
+         * of this configuration are then ignored. Closing the instance leaves the transport open.
+         * @param transport the shared transport
+         */
+        public Builder transport(DashXTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
         public DashXConfig build() {
             if (publicKey == null) {
                 throw new DashXConfigurationException(
@@ -159,6 +751,156 @@ public final class DashXConfig {
                     "maxIdleTime must be positive, got: " + maxIdleTime
                 );
             }
+            if (trackBatchSize != null && trackBatchSize <= 0) {
+                throw new DashXConfigurationException(
+                    "trackBatchSize must be positive, got: " + trackBatchSize
+                );
+            }
+            if (trackBatchLinger != null && trackBatchLinger <= 0) {
+                throw new DashXConfigurationException(
+                    "trackBatchLinger must be positive, got: " +
+                        trackBatchLinger
+                );
+            }
+            if (trackQueueCapacity != null && trackQueueCapacity <= 0) {
+                throw new DashXConfigurationException(
+                    "trackQueueCapacity must be positive, got: " +
+                        trackQueueCapacity
+                );
+            }
+            if (assetCacheMaxSize != null && assetCacheMaxSize <= 0) {
+                throw new DashXConfigurationException(
+                    "assetCacheMaxSize must be positive, got: " +
+                        assetCacheMaxSize
+                );
+            }
+            if (assetCacheTtl != null && assetCacheTtl <= 0) {
+                throw new DashXConfigurationException(
+                    "assetCacheTtl must be positive, got: " + assetCacheTtl
+                );
+            }
+            if (recordCacheMaxSize != null && recordCacheMaxSize <= 0) {
+                throw new DashXConfigurationException(
+                    "recordCacheMaxSize must be positive, got: " +
+                        recordCacheMaxSize
+                );
+            }
+            if (recordCacheTtl != null && recordCacheTtl <= 0) {
+                throw new DashXConfigurationException(
+                    "recordCacheTtl must be positive, got: " + recordCacheTtl
+                );
+            }
+            if (maxRetries != null && maxRetries < 0) {
+                throw new DashXConfigurationException(
+                    "maxRetries must be non-negative, got: " + maxRetries
+                );
+            }
+            if (retryBackoff != null && retryBackoff <= 0) {
+                throw new DashXConfigurationException(
+                    "retryBackoff must be positive, got: " + retryBackoff
+                );
+            }
+            if (retryMaxBackoff != null && retryMaxBackoff <= 0) {
+                throw new DashXConfigurationException(
+                    "retryMaxBackoff must be positive, got: " + retryMaxBackoff
+                );
+            }
+            if (
+                retryBudgetRatio != null &&
+                !(retryBudgetRatio > 0 && retryBudgetRatio <= 1)
+            ) {
+                throw new DashXConfigurationException(
+                    "retryBudgetRatio must be greater than 0 and at most 1, got: " +
+                        retryBudgetRatio
+                );
+            }
+            if (pendingAcquireTimeout != null && pendingAcquireTimeout <= 0) {
+                throw new DashXConfigurationException(
+                    "pendingAcquireTimeout must be positive, got: " +
+                        pendingAcquireTimeout
+                );
+            }
+            if (maxPendingAcquires != null && maxPendingAcquires <= 0) {
+                throw new DashXConfigurationException(
+                    "maxPendingAcquires must be positive, got: " +
+                        maxPendingAcquires
+                );
+            }
+            if (circuitBreakerOpenDuration != null && circuitBreakerOpenDuration <= 0) {
+                throw new DashXConfigurationException(
+                    "circuitBreakerOpenDuration must be positive, got: " +
+                        circuitBreakerOpenDuration
+                );
+            }
+
+            if (
+                circuitBreakerFailureRate != null &&
+                (circuitBreakerFailureRate < 1 || circuitBreakerFailureRate > 100)
+            ) {
+                throw new DashXConfigurationException(
+                    "circuitBreakerFailureRate must be between 1 and 100, got: " +
+                        circuitBreakerFailureRate
+                );
+            }
+            if (trackOutboxMaxSize != null && trackOutboxMaxSize <= 0) {
+                throw new DashXConfigurationException(
+                    "trackOutboxMaxSize must be positive, got: " +
+                        trackOutboxMaxSize
+                );
+            }
+            if (http2MaxConnections != null && http2MaxConnections <= 0) {
+                throw new DashXConfigurationException(
+                    "http2MaxConnections must be positive, got: " +
+                        http2MaxConnections
+                );
+            }
+            if (
+                http2MaxConcurrentStreams != null &&
+                http2MaxConcurrentStreams <= 0
+            ) {
+                throw new DashXConfigurationException(
+                    "http2MaxConcurrentStreams must be positive, got: " +
+                        http2MaxConcurrentStreams
+                );
+            }
+
+            if (
+                httpProtocol == HttpProtocol.HTTP_2 &&
+                baseUrl != null &&
+                baseUrl.startsWith("http://")
+            ) {
+                throw new DashXConfigurationException(
+                    "httpProtocol HTTP_2 requires an https baseUrl, " +
+                        "use H2C for cleartext HTTP/2"
+                );
+            }
+            if (
+                requestCompressionThreshold != null &&
+                requestCompressionThreshold < 0
+            ) {
+                throw new DashXConfigurationException(
+                    "requestCompressionThreshold must be non-negative, got: " +
+                        requestCompressionThreshold
+                );
+            }
+            if (
+                identityTokenCacheMaxSize != null &&
+                identityTokenCacheMaxSize <= 0
+            ) {
+                throw new DashXConfigurationException(
+                    "identityTokenCacheMaxSize must be positive, got: " +
+                        identityTokenCacheMaxSize
+                );
+            }
+            if (
+                identityTokenVerifyCacheMaxSize != null &&
+                identityTokenVerifyCacheMaxSize <= 0
+            ) {
+                throw new DashXConfigurationException(
+                    "identityTokenVerifyCacheMaxSize must be positive, got: " +
+                        identityTokenVerifyCacheMaxSize
+                );
+            }
 
             return new DashXConfig(this);
         }
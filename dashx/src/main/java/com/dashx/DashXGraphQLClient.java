@@ -1,35 +1,131 @@
 package com.dashx;
 
+import com.dashx.exception.DashXCircuitOpenException;
+import com.dashx.exception.DashXException;
 import com.dashx.exception.DashXGraphQLException;
+import com.dashx.exception.DashXOverloadedException;
+import com.dashx.graphql.OperationDocument;
+import com.dashx.metrics.DashXMetrics;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.netflix.graphql.dgs.client.GraphQLError;
 import com.netflix.graphql.dgs.client.GraphQLResponse;
-import com.netflix.graphql.dgs.client.MonoGraphQLClient;
-import com.netflix.graphql.dgs.client.WebClientGraphQLClient;
-import io.netty.channel.ChannelOption;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
-import reactor.netty.http.client.HttpClient;
-import reactor.netty.resources.ConnectionProvider;
 
 /**
  * GraphQL client for executing queries and mutations against the DashX GraphQL API.
  * Handles HTTP client configuration, connection pooling, timeouts, and error handling.
  * Uses Spring WebFlux's reactive WebClient under the hood for non-blocking I/O.
+ *
+ * <p>When persisted queries are enabled, requests follow the Automatic Persisted Queries
+ * protocol: only the SHA-256 hash of the document is sent, and the full document is sent
+ * along with the hash only when the server reports that it does not know the hash yet.
+ *
+ * <p>When query deduplication is enabled, identical queries (same document and variables)
+ * issued while one of them is still in flight are sent only once, and all callers receive
+ * the result of that single request.
+ *
+ * <p>Optionally, requests that fail transiently are retried with exponential backoff, see
+ * {@link DashXConfig.Builder#maxRetries}. Retries are limited to a fraction of the requests in
+ * flight, so they cannot pile onto an API that is already failing.
+ *
+ * <p>Optionally, a circuit breaker rejects requests while the API keeps failing, and an
+ * adaptive concurrency limit rejects requests beyond what the API currently handles at normal
+ * latency. Both fail fast ({@link DashXCircuitOpenException}, {@link DashXOverloadedException})
+ * so that callers see backpressure instead of requests queueing for connections.
+ *
+ * <p>Every operation sent is reported to the configured {@link DashXMetrics}, along with the
+ * statistics of the connection pool.
  */
 public class DashXGraphQLClient {
 
-    private final WebClientGraphQLClient webClientGraphQLClient;
-    private final ConnectionProvider connectionProvider;
+    private static final Logger logger = LoggerFactory.getLogger(
+        DashXGraphQLClient.class
+    );
+
+    private static final String PERSISTED_QUERY_NOT_FOUND =
+        "PersistedQueryNotFound";
+    private static final String PERSISTED_QUERY_NOT_FOUND_CODE =
+        "PERSISTED_QUERY_NOT_FOUND";
+    private static final String PERSISTED_QUERY_NOT_SUPPORTED =
+        "PersistedQueryNotSupported";
+    private static final String PERSISTED_QUERY_NOT_SUPPORTED_CODE =
+        "PERSISTED_QUERY_NOT_SUPPORTED";
+
+    // Upper bound on the number of ad-hoc query strings whose precompiled form is kept
+    private static final int MAX_CACHED_DOCUMENTS = 256;
+
+    // Retries always allowed in flight regardless of traffic, so retries work at low volume
+    private static final int MIN_RETRY_CONCURRENCY = 3;
+
+    private static final int INITIAL_CONCURRENCY_LIMIT = 20;
+
+    private static final NettyDataBufferFactory BUFFER_FACTORY =
+        new NettyDataBufferFactory(ByteBufAllocator.DEFAULT);
+
+    private static final Map<Class<?>, ObjectReader> VALUE_READERS =
+        new ConcurrentHashMap<>();
+
+    private final DashXTransport transport;
+    private final boolean ownsTransport;
+    private final WebClient webClient;
+    private final URI uri;
+    private final HttpHeaders headers;
+    private final DashXMetrics metrics;
+    private final RetryPolicy retryPolicy;
+    private final RetryBudget retryBudget;
+    private final CircuitBreaker circuitBreaker;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final boolean persistedQueries;
+    // Minimum request body size to gzip, or -1 when request compression is disabled
+    private final int compressionThreshold;
+    private final Map<String, OperationDocument> documentCache =
+        new ConcurrentHashMap<>();
+    private final boolean deduplicateQueries;
+    private final Map<InFlightKey, Mono<GraphQLResponse>> inFlightResponses =
+        new ConcurrentHashMap<>();
+    private final Map<InFlightKey, Mono<byte[]>> inFlightBodies =
+        new ConcurrentHashMap<>();
+
+    private volatile boolean persistedQueriesSupported = true;
 
     /**
      * Constructs a new DashXGraphQLClient with the specified configuration.
-     * Sets up connection pooling, timeouts, and HTTP client with optimal settings for the DashX API.
+     * Sends requests over the configured shared {@link DashXTransport}, or sets up
+     * its own connection pool and HTTP client if none is configured.
      *
      * @param url the base URL of the DashX GraphQL API endpoint
      * @param headers HTTP headers to include with every request (e.g., authentication keys, environment)
@@ -40,49 +136,90 @@ public class DashXGraphQLClient {
         MultiValueMap<String, String> headers,
         DashXConfig config
     ) {
-        // Use config values or defaults (all timeout values are in milliseconds)
-        int connectionTimeout =
-            config != null && config.getConnectionTimeout() != null
-                ? config.getConnectionTimeout()
-                : 10000;
-        int responseTimeout =
-            config != null && config.getResponseTimeout() != null
-                ? config.getResponseTimeout()
-                : 30000;
-        int maxConnections =
-            config != null && config.getMaxConnections() != null
-                ? config.getMaxConnections()
-                : 500;
-        int maxIdleTime =
-            config != null && config.getMaxIdleTime() != null
-                ? config.getMaxIdleTime()
-                : 20000;
-
-        // Configure connection pool
-        this.connectionProvider = ConnectionProvider.builder("dashx-pool")
-            .maxConnections(maxConnections)
-            .maxIdleTime(Duration.ofMillis(maxIdleTime))
-            .maxLifeTime(Duration.ofSeconds(60))
-            .pendingAcquireTimeout(Duration.ofSeconds(60))
-            .evictInBackground(Duration.ofSeconds(120))
-            .build();
-
-        // Configure HTTP client with timeouts and keep-alive
-        HttpClient httpClient = HttpClient.create(connectionProvider)
-            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeout)
-            .responseTimeout(Duration.ofMillis(responseTimeout))
-            .keepAlive(true);
-
-        // Build WebClient with configured HTTP client
-        WebClient webClient = WebClient.builder()
-            .baseUrl(url.toString())
-            .defaultHeaders(httpHeaders -> httpHeaders.addAll(headers))
-            .clientConnector(new ReactorClientHttpConnector(httpClient))
-            .build();
-
-        this.webClientGraphQLClient = MonoGraphQLClient.createWithWebClient(
-            webClient
-        );
+        try {
+            this.uri = url.toURI();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid URL: " + url, e);
+        }
+        // Sent with every request, so instances can share one transport
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.addAll(headers);
+        this.headers = HttpHeaders.readOnlyHttpHeaders(requestHeaders);
+
+        if (config != null && config.getTransport() != null) {
+            this.transport = config.getTransport();
+            this.ownsTransport = false;
+        } else {
+            this.transport = new DashXTransport(config);
+            this.ownsTransport = true;
+        }
+        this.webClient = transport.webClient();
+        this.persistedQueries =
+            config != null && Boolean.TRUE.equals(config.getPersistedQueries());
+        this.compressionThreshold =
+            config != null && config.getRequestCompressionThreshold() != null
+                ? config.getRequestCompressionThreshold()
+                : -1;
+        this.deduplicateQueries =
+            config != null &&
+            Boolean.TRUE.equals(config.getDeduplicateQueries());
+        this.metrics = config != null && config.getMetrics() != null
+            ? config.getMetrics()
+            : DashXMetrics.NOOP;
+
+        int maxRetries = config != null && config.getMaxRetries() != null
+            ? config.getMaxRetries()
+            : 0;
+        int retryBackoff = config != null && config.getRetryBackoff() != null
+            ? config.getRetryBackoff()
+            : 100;
+        int retryMaxBackoff =
+            config != null && config.getRetryMaxBackoff() != null
+                ? config.getRetryMaxBackoff()
+                : 2000;
+        double retryBudgetRatio =
+            config != null && config.getRetryBudgetRatio() != null
+                ? config.getRetryBudgetRatio()
+                : 0.2;
+        if (maxRetries > 0) {
+            this.retryPolicy = new RetryPolicy(
+                maxRetries,
+                Duration.ofMillis(retryBackoff),
+                Duration.ofMillis(retryMaxBackoff),
+                config != null &&
+                Boolean.TRUE.equals(config.getRetryNonIdempotent())
+            );
+            this.retryBudget = new RetryBudget(
+                retryBudgetRatio,
+                MIN_RETRY_CONCURRENCY
+            );
+        } else {
+            this.retryPolicy = null;
+            this.retryBudget = null;
+        }
+
+        if (config != null && Boolean.TRUE.equals(config.getCircuitBreaker())) {
+            this.circuitBreaker = new CircuitBreaker(
+                config.getCircuitBreakerFailureRate() != null
+                    ? config.getCircuitBreakerFailureRate()
+                    : 50,
+                Duration.ofMillis(
+                    config.getCircuitBreakerOpenDuration() != null
+                        ? config.getCircuitBreakerOpenDuration()
+                        : 30000
+                )
+            );
+        } else {
+            this.circuitBreaker = null;
+        }
+        this.concurrencyLimiter =
+            config != null &&
+            Boolean.TRUE.equals(config.getAdaptiveConcurrency())
+                ? new ConcurrencyLimiter(
+                    INITIAL_CONCURRENCY_LIMIT,
+                    transport.capacity()
+                )
+                : null;
     }
 
     /**
@@ -98,24 +235,755 @@ public class DashXGraphQLClient {
         String query,
         Map<String, ?> variables
     ) {
-        return this.webClientGraphQLClient
-            .reactiveExecuteQuery(query, variables)
-            .flatMap(response -> {
-                List<GraphQLError> errors = response.getErrors();
+        return executeRaw(query, variables).flatMap(this::failOnErrors);
+    }
+
+    /**
+     * Executes a precompiled GraphQL operation and returns the response.
+     * If the response contains GraphQL errors, the returned Mono will emit a DashXGraphQLException.
+     *
+     * @param document the precompiled GraphQL operation
+     * @param variables the variables to pass to the operation, can be empty
+     * @return a Mono that emits the GraphQLResponse on success, or an error if GraphQL errors occurred
+     */
+    public Mono<GraphQLResponse> execute(
+        OperationDocument document,
+        Map<String, ?> variables
+    ) {
+        return executeRaw(document, variables).flatMap(this::failOnErrors);
+    }
+
+    /**
+     * Executes a GraphQL query or mutation and returns the response as-is, without turning
+     * GraphQL errors into a failed Mono. Used for aliased multi-operation documents, where
+     * errors have to be attributed to the individual aliases by the caller.
+     *
+     * @param query the GraphQL query or mutation string
+     * @param variables the variables to pass to the query/mutation, can be empty
+     * @return a Mono that emits the GraphQLResponse, including any GraphQL errors it carries
+     */
+    public Mono<GraphQLResponse> executeRaw(
+        String query,
+        Map<String, ?> variables
+    ) {
+        return executeRaw(documentFor(query), variables);
+    }
+
+    /**
+     * Executes a precompiled GraphQL operation and returns the response as-is, including any
+     * GraphQL errors it carries.
+     *
+     * @param document the precompiled GraphQL operation
+     * @param variables the variables to pass to the operation, can be empty
+     * @return a Mono that emits the GraphQLResponse, including any GraphQL errors it carries
+     */
+    public Mono<GraphQLResponse> executeRaw(
+        OperationDocument document,
+        Map<String, ?> variables
+    ) {
+        return Mono.defer(() -> {
+            byte[] variablesJson = serializeVariables(variables);
+
+            if (!shouldDeduplicate(document)) {
+                return send(document, variablesJson).map(this::toResponse);
+            }
+            return deduplicate(
+                inFlightResponses,
+                new InFlightKey(document, variablesJson),
+                () -> send(document, variablesJson).map(this::toResponse)
+            );
+        });
+    }
+
+    /**
+     * Executes a precompiled GraphQL operation and returns the raw UTF-8 JSON response body,
+     * for callers that decode the response incrementally instead of as a whole.
+     * GraphQL errors are part of the body and are not checked.
+     *
+     * @param document the precompiled GraphQL operation
+     * @param variables the variables to pass to the operation, can be empty
+     * @return a Mono that emits the response body
+     */
+    public Mono<byte[]> executeForBody(
+        OperationDocument document,
+        Map<String, ?> variables
+    ) {
+        return Mono.defer(() -> {
+            byte[] variablesJson = serializeVariables(variables);
+
+            if (!shouldDeduplicate(document)) {
+                return send(document, variablesJson);
+            }
+            return deduplicate(
+                inFlightBodies,
+                new InFlightKey(document, variablesJson),
+                () -> send(document, variablesJson)
+            );
+        });
+    }
+
+    /**
+     * Executes a precompiled GraphQL operation and decodes the root field {@code field} of the
+     * response data into the given type. The value is read straight from the response bytes
+     * with the shared ObjectMapper, skipping the String and generic map tree a
+     * GraphQLResponse is built from. A null or missing field completes the Mono empty.
+     * If the response contains GraphQL errors, the returned Mono emits a DashXGraphQLException.
+     *
+     * @param document the precompiled GraphQL operation
+     * @param variables the variables to pass to the operation, can be empty
+     * @param field the root field of the response data to decode
+     * @param type the type to decode the field into
+     * @return a Mono that emits the decoded value
+     */
+    public <T> Mono<T> executeForValue(
+        OperationDocument document,
+        Map<String, ?> variables,
+        String field,
+        Class<T> type
+    ) {
+        return executeForBody(document, variables).handle((body, sink) -> {
+            T value;
+            try {
+                value = readValue(body, field, type);
+            } catch (RuntimeException e) {
+                sink.error(e);
+                return;
+            }
+            if (value != null) {
+                sink.next(value);
+            }
+        });
+    }
+
+    private Mono<byte[]> send(OperationDocument document, byte[] variablesJson) {
+        if (metrics == DashXMetrics.NOOP) {
+            return withRetries(document, () ->
+                guarded(document, () -> exchange(document, variablesJson, null))
+            );
+        }
+
+        return Mono.defer(() -> {
+            AtomicLong requestBytes = new AtomicLong();
+            long start = System.nanoTime();
+
+            return withRetries(document, () ->
+                guarded(document, () -> exchange(document, variablesJson, requestBytes))
+            )
+                .doOnSuccess(body ->
+                    record(document, start, requestBytes, body, null)
+                )
+                .doOnError(error ->
+                    record(document, start, requestBytes, null, error)
+                );
+        });
+    }
+
+    private Mono<byte[]> withRetries(
+        OperationDocument document,
+        Supplier<Mono<byte[]>> attempt
+    ) {
+        if (retryPolicy == null) {
+            return attempt.get();
+        }
 
-                if (errors != null && !errors.isEmpty()) {
-                    return Mono.error(new DashXGraphQLException(errors));
+        return Mono.defer(() -> {
+            retryBudget.requestStarted();
+            return attempt(document, attempt, 0).doFinally(signal ->
+                retryBudget.requestFinished()
+            );
+        });
+    }
+
+    private Mono<byte[]> attempt(
+        OperationDocument document,
+        Supplier<Mono<byte[]>> attempt,
+        int retry
+    ) {
+        return attempt
+            .get()
+            .onErrorResume(error -> {
+                if (
+                    retry >= retryPolicy.getMaxRetries() ||
+                    !retryPolicy.isRetryable(error, document.isIdempotent()) ||
+                    !retryBudget.tryAcquireRetry()
+                ) {
+                    return Mono.error(error);
                 }
 
-                return Mono.just(response);
+                Duration delay = retryPolicy.backoff(retry);
+                logger.debug(
+                    "Retrying {} in {} ms after: {}",
+                    document,
+                    delay.toMillis(),
+                    error.toString()
+                );
+                return Mono.delay(delay)
+                    .then(Mono.defer(() -> attempt(document, attempt, retry + 1)))
+                    .doFinally(signal -> retryBudget.releaseRetry());
             });
     }
 
     /**
-     * Closes the underlying connection pool and releases resources.
+     * Sends a single attempt through the circuit breaker and the concurrency limiter, failing
+     * fast when either of them rejects it.
+     */
+    private Mono<byte[]> guarded(
+        OperationDocument document,
+        Supplier<Mono<byte[]>> attempt
+    ) {
+        if (circuitBreaker == null && concurrencyLimiter == null) {
+            return attempt.get();
+        }
+
+        return Mono.defer(() -> {
+            if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+                return Mono.error(
+                    new DashXCircuitOpenException(
+                        circuitBreaker.remainingOpenTime()
+                    )
+                );
+            }
+            if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire()) {
+                if (circuitBreaker != null) {
+                    circuitBreaker.onIgnored();
+                }
+                return Mono.error(
+                    new DashXOverloadedException(concurrencyLimiter.getLimit())
+                );
+            }
+
+            Permit permit = new Permit(operationName(document), System.nanoTime());
+            return attempt
+                .get()
+                .doOnSuccess(body -> permit.release(null))
+                .doOnError(permit::release)
+                .doOnCancel(permit::cancel);
+        });
+    }
+
+    /**
+     * Returns whether the error indicates that the API is unreachable or overloaded: a
+     * timeout, a connection failure, or a 429 or 503 response. Problems with the request
+     * itself, other error responses and failures to decode a response are not.
+     */
+    private static boolean isOverloadSignal(Throwable error) {
+        if (error instanceof WebClientResponseException e) {
+            int status = e.getStatusCode().value();
+            return status == 429 || status == 503;
+        }
+        // Connection failures and response timeouts surface as request exceptions
+        return (
+            error instanceof WebClientRequestException ||
+            error instanceof TimeoutException
+        );
+    }
+
+    private Mono<byte[]> exchange(
+        OperationDocument document,
+        byte[] variablesJson,
+        AtomicLong requestBytes
+    ) {
+        if (persistedQueries && persistedQueriesSupported) {
+            return executePersisted(document, variablesJson, requestBytes);
+        }
+
+        return post(
+            document,
+            variablesJson,
+            true,
+            false,
+            requestBytes
+        );
+    }
+
+    private boolean shouldDeduplicate(OperationDocument document) {
+        // Mutations have side effects, so each one is always sent
+        return deduplicateQueries && document.isQuery();
+    }
+
+    /**
+     * Returns the request already in flight for the key, or starts a new one that later
+     * identical requests join until it completes. Every subscriber receives the same result.
+     */
+    private static <T> Mono<T> deduplicate(
+        Map<InFlightKey, Mono<T>> inFlight,
+        InFlightKey key,
+        Supplier<Mono<T>> request
+    ) {
+        return inFlight.computeIfAbsent(key, k -> {
+            AtomicReference<Mono<T>> self = new AtomicReference<>();
+            Mono<T> shared = request
+                .get()
+                .doFinally(signal -> inFlight.remove(k, self.get()))
+                .share();
+            self.set(shared);
+            return shared;
+        });
+    }
+
+    private Mono<byte[]> executePersisted(
+        OperationDocument document,
+        byte[] variablesJson,
+        AtomicLong requestBytes
+    ) {
+        return post(
+            document,
+            variablesJson,
+            false,
+            true,
+            requestBytes
+        )
+            .onErrorResume(WebClientResponseException.class, e -> {
+                // Some servers answer persisted query misses with a 4xx status
+                byte[] body = e.getResponseBodyAsByteArray();
+                return isPersistedQueryError(body)
+                    ? Mono.just(body)
+                    : Mono.error(e);
+            })
+            .flatMap(body -> {
+                if (!isPersistedQueryError(body)) {
+                    return Mono.just(body);
+                }
+
+                if (
+                    contains(body, PERSISTED_QUERY_NOT_SUPPORTED) ||
+                    contains(body, PERSISTED_QUERY_NOT_SUPPORTED_CODE)
+                ) {
+                    logger.warn(
+                        "Server does not support persisted queries, sending full documents from now on"
+                    );
+                    persistedQueriesSupported = false;
+                    return post(
+                        document,
+                        variablesJson,
+                        true,
+                        false,
+                        requestBytes
+                    );
+                }
+
+                // Register the document under its hash by sending both
+                logger.debug("Registering persisted query for {}", document);
+                return post(
+                    document,
+                    variablesJson,
+                    true,
+                    true,
+                    requestBytes
+                );
+            });
+    }
+
+    private Mono<byte[]> post(
+        OperationDocument document,
+        byte[] variablesJson,
+        boolean includeQuery,
+        boolean persistedQuery,
+        AtomicLong requestBytes
+    ) {
+        WebClient.RequestBodySpec request = webClient
+            .post()
+            .uri(uri)
+            .headers(httpHeaders -> httpHeaders.addAll(headers))
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(MediaType.APPLICATION_JSON);
+        int length =
+            document.getRequestBodyPrefix(includeQuery).remaining() +
+            variablesJson.length +
+            document.getRequestBodySuffix(persistedQuery).remaining();
+
+        if (compressionThreshold >= 0 && length >= compressionThreshold) {
+            byte[] body = requestBody(
+                document,
+                variablesJson,
+                includeQuery,
+                persistedQuery
+            );
+            byte[] compressed = gzip(body);
+            // Tiny or incompressible bodies can grow, those are sent as is
+            if (compressed.length < body.length) {
+                recordCompression(document, body.length, compressed.length);
+                if (requestBytes != null) {
+                    requestBytes.addAndGet(compressed.length);
+                }
+                return retrieve(
+                    request
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .bodyValue(compressed)
+                );
+            }
+        }
+        if (requestBytes != null) {
+            requestBytes.addAndGet(length);
+        }
+
+        return retrieve(
+            request.body(
+                BodyInserters.fromDataBuffers(
+                    // Allocated once the request is written, Netty releases it after sending
+                    Mono.fromSupplier(() ->
+                        writeRequestBody(
+                            document,
+                            variablesJson,
+                            includeQuery,
+                            persistedQuery,
+                            length
+                        )
+                    )
+                )
+            )
+        );
+    }
+
+    private Mono<byte[]> retrieve(WebClient.RequestHeadersSpec<?> request) {
+        return request
+            .retrieve()
+            .bodyToMono(byte[].class)
+            .switchIfEmpty(
+                Mono.error(() ->
+                    new DashXException("Received an empty GraphQL response")
+                )
+            );
+    }
+
+    /**
+     * Writes the request body straight into a pooled direct buffer, which is what the socket
+     * write needs anyway, instead of assembling it in a heap array that Netty copies again.
+     */
+    private static DataBuffer writeRequestBody(
+        OperationDocument document,
+        byte[] variablesJson,
+        boolean includeQuery,
+        boolean persistedQuery,
+        int length
+    ) {
+        ByteBuf buffer = ByteBufAllocator.DEFAULT.directBuffer(length);
+        buffer.writeBytes(document.getRequestBodyPrefix(includeQuery));
+        buffer.writeBytes(variablesJson);
+        buffer.writeBytes(document.getRequestBodySuffix(persistedQuery));
+        return BUFFER_FACTORY.wrap(buffer);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+            body.length / 4 + 64
+        );
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            // Writing to memory does not fail
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private void recordCompression(
+        OperationDocument document,
+        long uncompressedBytes,
+        long compressedBytes
+    ) {
+        if (metrics == DashXMetrics.NOOP) {
+            return;
+        }
+
+        try {
+            metrics.recordRequestCompression(
+                operationName(document),
+                uncompressedBytes,
+                compressedBytes
+            );
+        } catch (RuntimeException e) {
+            logger.warn("Failed to record DashX metrics", e);
+        }
+    }
+
+    private void record(
+        OperationDocument document,
+        long start,
+        AtomicLong requestBytes,
+        byte[] body,
+        Throwable error
+    ) {
+        DashXMetrics.Outcome outcome;
+        if (error != null) {
+            outcome = DashXMetrics.Outcome.TRANSPORT_ERROR;
+        } else if (hasErrors(body)) {
+            outcome = DashXMetrics.Outcome.GRAPHQL_ERROR;
+        } else {
+            outcome = DashXMetrics.Outcome.SUCCESS;
+        }
+
+        try {
+            metrics.recordOperation(
+                operationName(document),
+                outcome,
+                Duration.ofNanos(System.nanoTime() - start),
+                requestBytes.get(),
+                body != null ? body.length : 0,
+                error
+            );
+        } catch (RuntimeException e) {
+            // A failing metrics backend must not fail the operation
+            logger.warn("Failed to record DashX metrics", e);
+        }
+    }
+
+    private static String operationName(OperationDocument document) {
+        String operationName = document.getOperationName();
+        return operationName != null ? operationName : "anonymous";
+    }
+
+    /**
+     * Returns whether the response has a non-empty top-level {@code errors} array. The root
+     * object is streamed, skipping over other fields without building a tree.
+     */
+    private static boolean hasErrors(byte[] body) {
+        if (body == null || !contains(body, "\"errors\"")) {
+            return false;
+        }
+
+        try (JsonParser parser = DashXJson.mapper().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("errors".equals(name) && value == JsonToken.START_ARRAY) {
+                    return parser.nextToken() != JsonToken.END_ARRAY;
+                }
+                parser.skipChildren();
+            }
+            return false;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Decodes a root field of the response in a single pass over the body, failing if the
+     * response has top-level errors, wherever they appear.
+     */
+    private static <T> T readValue(byte[] body, String field, Class<T> type) {
+        ObjectReader reader = VALUE_READERS.computeIfAbsent(
+            type,
+            DashXJson.mapper()::readerFor
+        );
+        try (JsonParser parser = DashXJson.mapper().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new DashXException("Malformed GraphQL response");
+            }
+
+            T result = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("errors".equals(name) && value == JsonToken.START_ARRAY) {
+                    if (parser.nextToken() != JsonToken.END_ARRAY) {
+                        throw new DashXGraphQLException(
+                            new GraphQLResponse(
+                                new String(body, StandardCharsets.UTF_8)
+                            ).getErrors()
+                        );
+                    }
+                    continue;
+                }
+                if (!"data".equals(name) || value != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String dataField = parser.currentName();
+                    if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                        continue;
+                    }
+                    if (field.equals(dataField)) {
+                        result = reader.readValue(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+            return result;
+        } catch (IOException e) {
+            throw new DashXException("Failed to parse GraphQL response", e);
+        }
+    }
+
+    private GraphQLResponse toResponse(byte[] body) {
+        return new GraphQLResponse(new String(body, StandardCharsets.UTF_8));
+    }
+
+    private OperationDocument documentFor(String query) {
+        OperationDocument document = documentCache.get(query);
+        if (document != null) {
+            return document;
+        }
+
+        document = OperationDocument.parse(query);
+        if (documentCache.size() < MAX_CACHED_DOCUMENTS) {
+            documentCache.putIfAbsent(query, document);
+        }
+        return document;
+    }
+
+    private static byte[] serializeVariables(Map<String, ?> variables) {
+        try {
+            return DashXJson.mapper().writeValueAsBytes(
+                variables != null ? variables : Map.of()
+            );
+        } catch (JsonProcessingException e) {
+            throw new DashXException("Failed to serialize GraphQL variables", e);
+        }
+    }
+
+    private static byte[] requestBody(
+        OperationDocument document,
+        byte[] variablesJson,
+        boolean includeQuery,
+        boolean persistedQuery
+    ) {
+        ByteBuffer prefix = document.getRequestBodyPrefix(includeQuery);
+        ByteBuffer suffix = document.getRequestBodySuffix(persistedQuery);
+
+        int prefixLength = prefix.remaining();
+        int suffixLength = suffix.remaining();
+        byte[] body = new byte[prefixLength + variablesJson.length + suffixLength];
+        prefix.get(body, 0, prefixLength);
+        System.arraycopy(
+            variablesJson,
+            0,
+            body,
+            prefixLength,
+            variablesJson.length
+        );
+        suffix.get(body, prefixLength + variablesJson.length, suffixLength);
+        return body;
+    }
+
+    private static boolean isPersistedQueryError(byte[] body) {
+        if (
+            body == null ||
+            !(contains(body, PERSISTED_QUERY_NOT_FOUND) ||
+                contains(body, PERSISTED_QUERY_NOT_FOUND_CODE) ||
+                contains(body, PERSISTED_QUERY_NOT_SUPPORTED) ||
+                contains(body, PERSISTED_QUERY_NOT_SUPPORTED_CODE))
+        ) {
+            return false;
+        }
+
+        try {
+            // Only an error-only response is a persisted query miss; data may contain anything
+            GraphQLResponse response = new GraphQLResponse(
+                new String(body, StandardCharsets.UTF_8)
+            );
+            List<GraphQLError> errors = response.getErrors();
+            Map<String, ?> data = response.getData();
+            return errors != null &&
+                !errors.isEmpty() &&
+                (data == null || data.isEmpty());
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Checks whether the body contains the given ASCII marker, without decoding it to a String.
+     */
+    private static boolean contains(byte[] body, String marker) {
+        int length = marker.length();
+        outer:
+        for (int i = 0; i <= body.length - length; i++) {
+            for (int j = 0; j < length; j++) {
+                if (body[i + j] != marker.charAt(j)) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private Mono<GraphQLResponse> failOnErrors(GraphQLResponse response) {
+        List<GraphQLError> errors = response.getErrors();
+
+        if (errors != null && !errors.isEmpty()) {
+            return Mono.error(new DashXGraphQLException(errors));
+        }
+
+        return Mono.just(response);
+    }
+
+    /**
+     * Closes the underlying connection pool and releases resources, unless the
+     * pool is a shared {@link DashXTransport}, which is left open.
      * Should be called when this client is no longer needed.
      */
     public void close() {
-        connectionProvider.dispose();
+        if (ownsTransport) {
+            transport.close();
+        }
+    }
+
+    /** A request admitted by the circuit breaker and the concurrency limiter. */
+    private final class Permit {
+        private final String operation;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(String operation, long start) {
+            this.operation = operation;
+            this.start = start;
+        }
+
+        private void release(Throwable error) {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+
+            boolean overloaded = error != null && isOverloadSignal(error);
+            if (circuitBreaker != null) {
+                if (overloaded) {
+                    circuitBreaker.onFailure();
+                } else if (error == null) {
+                    circuitBreaker.onSuccess();
+                } else {
+                    circuitBreaker.onIgnored();
+                }
+            }
+            if (concurrencyLimiter != null) {
+                if (overloaded) {
+                    concurrencyLimiter.onDropped();
+                } else if (error == null) {
+                    concurrencyLimiter.onSuccess(
+                        operation,
+                        System.nanoTime() - start
+                    );
+                } else {
+                    concurrencyLimiter.onIgnored();
+                }
+            }
+        }
+
+        private void cancel() {
+            if (!released.compareAndSet(false, true)) {
+                return;
+            }
+
+            if (circuitBreaker != null) {
+                circuitBreaker.onIgnored();
+            }
+            if (concurrencyLimiter != null) {
+                concurrencyLimiter.onIgnored();
+            }
+        }
+    }
+
+    /** Identifies a request by its document and serialized variables. */
+    private record InFlightKey(String documentHash, ByteBuffer variables) {
+        InFlightKey(OperationDocument document, byte[] variablesJson) {
+            this(document.getSha256Hash(), ByteBuffer.wrap(variablesJson));
+        }
     }
 }
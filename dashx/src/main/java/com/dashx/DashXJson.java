@@ -0,0 +1,31 @@
+package com.dashx;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * Holds the ObjectMapper shared by the SDK for serializing request variables and decoding
+ * responses. ObjectMapper is thread-safe once configured, and sharing a single instance lets
+ * Jackson reuse its serializer and deserializer caches across all requests.
+ * <p>
+ * The Blackbird module replaces reflective property access with generated lambdas, which
+ * speeds up binding the generated GraphQL input and result types.
+ */
+public final class DashXJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .registerModule(new BlackbirdModule());
+
+    private DashXJson() {}
+
+    /**
+     * Returns the shared ObjectMapper. It must not be reconfigured by callers.
+     *
+     * @return the shared ObjectMapper
+     */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+}
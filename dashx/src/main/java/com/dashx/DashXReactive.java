@@ -0,0 +1,770 @@
+package com.dashx;
+
+import com.dashx.exception.DashXValidationException;
+import com.dashx.graphql.AccountService;
+import com.dashx.graphql.IssueService;
+import com.dashx.graphql.RecordService;
+import com.dashx.graphql.generated.types.Account;
+import com.dashx.graphql.generated.types.AggregateResponse;
+import com.dashx.graphql.generated.types.Asset;
+import com.dashx.graphql.generated.types.Broadcast;
+import com.dashx.graphql.generated.types.CreateBroadcastInput;
+import com.dashx.graphql.generated.types.CreateIssueInput;
+import com.dashx.graphql.generated.types.IdentifyAccountInput;
+import com.dashx.graphql.generated.types.Issue;
+import com.dashx.graphql.generated.types.SearchRecordsInput;
+import com.dashx.graphql.generated.types.TrackEventInput;
+import com.dashx.graphql.generated.types.TrackEventResponse;
+import com.dashx.graphql.generated.types.UpsertIssueInput;
+import com.dashx.graphql.utils.BulkResult;
+import com.dashx.graphql.utils.Projection;
+import com.dashx.graphql.utils.SearchRecordsOptions;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive view of a {@link DashX} instance, exposing the API as Reactor {@link Mono} and
+ * {@link Flux} publishers instead of {@link java.util.concurrent.CompletableFuture}s.
+ * <p>
+ * Every publisher is cold: nothing is sent until it is subscribed to, and cancelling the
+ * subscription cancels the request. Invalid arguments are signalled as a
+ * {@link DashXValidationException} error. Calling any method before the instance has been
+ * configured throws a {@link com.dashx.exception.DashXConfigurationException} immediately.
+ * <p>
+ * Obtain an instance with {@link DashX#reactive()}. It always uses the instance's current
+ * configuration, so it stays valid across calls to {@link DashX#configure(DashXConfig)}.
+ */
+public final class DashXReactive {
+
+    private static final Logger logger = LoggerFactory.getLogger(
+        DashXReactive.class
+    );
+
+    private final DashX dashx;
+
+    DashXReactive(DashX dashx) {
+        this.dashx = dashx;
+    }
+
+    /**
+     * Identifies a user with the provided options.
+     *
+     * @param options User identification options
+     * @return A Mono that emits the identified account
+     */
+    public Mono<Account> identify(Map<String, Object> options) {
+        DashXSession identity = dashx.identity();
+        return identify(
+            options,
+            identity.getUid(),
+            identity.getAnonymousUid()
+        ).doOnNext(dashx::setAccount);
+    }
+
+    /**
+     * Identifies a user, falling back to the given uid and anonymous uid for those not set in
+     * the options. Does not change the identity of the instance.
+     */
+    Mono<Account> identify(
+        Map<String, Object> options,
+        String defaultUid,
+        String defaultAnonymousUid
+    ) {
+        if (options == null) {
+            return invalid(
+                "'identify' cannot be called with null, please pass options of type 'object'."
+            );
+        }
+
+        dashx.ensureConfigured();
+
+        String uid = options.containsKey(Constants.UserAttributes.UID)
+            ? (String) options.get(Constants.UserAttributes.UID)
+            : defaultUid;
+
+        String anonymousUid;
+
+        if (options.containsKey(Constants.UserAttributes.ANONYMOUS_UID)) {
+            anonymousUid = (String) options.get(
+                Constants.UserAttributes.ANONYMOUS_UID
+            );
+        } else if (defaultAnonymousUid != null) {
+            anonymousUid = defaultAnonymousUid;
+        } else if (uid == null) {
+            anonymousUid = generateAccountAnonymousUid();
+        } else {
+            anonymousUid = null;
+        }
+
+        IdentifyAccountInput input = IdentifyAccountInput.newBuilder()
+            .uid(uid)
+            .anonymousUid(anonymousUid)
+            .email((String) options.get(Constants.UserAttributes.EMAIL))
+            .phone((String) options.get(Constants.UserAttributes.PHONE))
+            .name((String) options.get(Constants.UserAttributes.NAME))
+            .firstName(
+                (String) options.get(Constants.UserAttributes.FIRST_NAME)
+            )
+            .lastName((String) options.get(Constants.UserAttributes.LAST_NAME))
+            .build();
+
+        logger.debug(
+            "Identifying account with uid: '{}', anonymousUid: '{}'",
+            uid,
+            anonymousUid
+        );
+        return dashx.accountService().identifyAccount(input);
+    }
+
+    /**
+     * Identifies or updates many accounts, e.g. to backfill an existing user base, sending
+     * {@code batchSize} accounts per request with at most {@code concurrency} requests in
+     * flight. Unlike {@link #identify(Map)}, this does not change the identity of this
+     * instance.
+     * <p>
+     * Each input yields one result, in input order. Accounts fail individually: the Flux
+     * itself only fails for invalid arguments.
+     *
+     * @param inputs The accounts to identify
+     * @param batchSize Number of accounts per request, at most
+     *        {@link AccountService#MAX_BULK_BATCH_SIZE}
+     * @param concurrency Maximum number of requests in flight
+     * @return A Flux that emits the result of each account
+     */
+    public Flux<BulkResult<IdentifyAccountInput, Account>> identifyAll(
+        Publisher<? extends IdentifyAccountInput> inputs,
+        int batchSize,
+        int concurrency
+    ) {
+        if (inputs == null) {
+            return Flux.error(
+                new DashXValidationException("Inputs cannot be null")
+            );
+        }
+
+        dashx.ensureConfigured();
+
+        return dashx
+            .accountService()
+            .identifyAll(inputs, batchSize, concurrency);
+    }
+
+    /**
+     * Identifies or updates many accounts with the default batch size and concurrency.
+     *
+     * @param inputs The accounts to identify
+     * @return A Flux that emits the result of each account
+     * @see #identifyAll(Publisher, int, int)
+     */
+    public Flux<BulkResult<IdentifyAccountInput, Account>> identifyAll(
+        Collection<IdentifyAccountInput> inputs
+    ) {
+        if (inputs == null) {
+            return Flux.error(
+                new DashXValidationException("Inputs cannot be null")
+            );
+        }
+
+        return identifyAll(
+            Flux.fromIterable(inputs),
+            AccountService.DEFAULT_BULK_BATCH_SIZE,
+            AccountService.DEFAULT_BULK_CONCURRENCY
+        );
+    }
+
+    /**
+     * Tracks an event for a user.
+     *
+     * @param event The event name (event type)
+     * @param uid Optional user ID
+     * @param data Optional event data
+     * @return A Mono that emits the tracking result
+     */
+    public Mono<TrackEventResponse> track(
+        String event,
+        String uid,
+        Map<String, Object> data
+    ) {
+        DashXSession identity = dashx.identity();
+        return track(
+            event,
+            uid != null ? uid : identity.getUid(),
+            identity.getAnonymousUid(),
+            data
+        );
+    }
+
+    /**
+     * Tracks an event for the given uid, or for the given anonymous uid if there is no uid.
+     * Does not read the identity of the instance.
+     */
+    Mono<TrackEventResponse> track(
+        String event,
+        String uid,
+        String anonymousUid,
+        Map<String, Object> data
+    ) {
+        if (event == null || event.trim().isEmpty()) {
+            return invalid("Event name cannot be null or empty");
+        }
+
+        dashx.ensureConfigured();
+
+        // Use the uid, and if that's null, use the anonymous uid if present,
+        // and if that's null too, generate a random uuid.
+        // Also, make sure to pass anonymous uid as null if a uid is present.
+        String accUid = uid;
+        String accAnonUid = anonymousUid;
+
+        if (accUid == null) {
+            if (accAnonUid == null) {
+                accAnonUid = generateAccountAnonymousUid();
+            }
+        } else {
+            accAnonUid = null;
+        }
+
+        TrackEventInput input = TrackEventInput.newBuilder()
+            .event(event)
+            .accountUid(accUid)
+            .accountAnonymousUid(accAnonUid)
+            .data(data)
+            .build();
+
+        logger.debug(
+            "Tracking event '{}' for uid: '{}', anonymousUid: '{}'",
+            event,
+            accUid,
+            accAnonUid
+        );
+        return dashx.eventService().trackEvent(input);
+    }
+
+    public Mono<TrackEventResponse> track(
+        String event,
+        Map<String, Object> data
+    ) {
+        return track(event, null, data);
+    }
+
+    public Mono<TrackEventResponse> track(String event) {
+        return track(event, null, null);
+    }
+
+    /**
+     * Lists assets with optional filtering and pagination.
+     *
+     * @param filter Optional filter criteria
+     * @param order Optional ordering criteria
+     * @param limit Optional maximum number of results
+     * @param page Optional page number for pagination
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A Mono that emits the list of assets
+     */
+    public Mono<List<Asset>> listAssets(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        Integer limit,
+        Integer page,
+        Projection projection
+    ) {
+        dashx.ensureConfigured();
+
+        logger.debug(
+            "Listing assets with filter: {}, limit: {}, page: {}",
+            filter,
+            limit,
+            page
+        );
+        return dashx
+            .assetService()
+            .listAssets(filter, order, limit, page, projection);
+    }
+
+    public Mono<List<Asset>> listAssets(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        Integer limit,
+        Integer page
+    ) {
+        return listAssets(filter, order, limit, page, null);
+    }
+
+    /**
+     * Streams all assets matching the filter, fetching them page by page on demand.
+     * The next page is fetched while the current one is consumed.
+     *
+     * @param filter Optional filter criteria
+     * @param order Optional ordering criteria
+     * @param pageSize Number of assets fetched per request
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A Flux that emits all matching assets
+     */
+    public Flux<Asset> streamAssets(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        int pageSize,
+        Projection projection
+    ) {
+        if (pageSize <= 0) {
+            return Flux.error(
+                new DashXValidationException(
+                    "pageSize must be positive, got: " + pageSize
+                )
+            );
+        }
+
+        dashx.ensureConfigured();
+
+        logger.debug(
+            "Streaming assets with filter: {}, pageSize: {}",
+            filter,
+            pageSize
+        );
+        return dashx
+            .assetService()
+            .streamAssets(filter, order, pageSize, projection);
+    }
+
+    /**
+     * Get asset with a given id.
+     *
+     * @param id The id of the asset to get
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A Mono that emits the asset
+     */
+    public Mono<Asset> getAsset(String id, Projection projection) {
+        if (id == null || id.trim().isEmpty()) {
+            return invalid("Asset ID cannot be null or empty");
+        }
+
+        dashx.ensureConfigured();
+
+        logger.debug("Getting asset with id: '{}'", id);
+        return dashx.assetService().getAsset(id, projection);
+    }
+
+    public Mono<Asset> getAsset(String id) {
+        return getAsset(id, null);
+    }
+
+    /**
+     * Searches records for a given resource with optional search parameters.
+     *
+     * @param resource The resource identifier to search (e.g., "users", "products")
+     * @param options Optional search parameters like filters, sorting, pagination
+     * @return A Mono that emits the matching records
+     */
+    public Mono<List<Map<String, Object>>> searchRecords(
+        String resource,
+        SearchRecordsOptions options
+    ) {
+        if (resource == null || resource.trim().isEmpty()) {
+            return invalid("Resource cannot be null or empty");
+        }
+
+        dashx.ensureConfigured();
+
+        SearchRecordsInput input = toSearchRecordsInput(resource, options);
+
+        logger.debug(
+            "Searching records for resource: '{}' with filter: {}",
+            resource,
+            input.getFilter()
+        );
+        return dashx.recordService().searchRecords(input);
+    }
+
+    /**
+     * Searches records for a given resource and decodes each record directly into the given
+     * type, e.g. a POJO or a Java record.
+     *
+     * @param resource The resource identifier to search (e.g., "users", "products")
+     * @param options Optional search parameters like filters, sorting, pagination
+     * @param type The class to decode each record into
+     * @return A Mono that emits the decoded records
+     */
+    public <T> Mono<List<T>> searchRecords(
+        String resource,
+        SearchRecordsOptions options,
+        Class<T> type
+    ) {
+        if (resource == null || resource.trim().isEmpty()) {
+            return invalid("Resource cannot be null or empty");
+        }
+        if (type == null) {
+            return invalid("Record type cannot be null");
+        }
+
+        dashx.ensureConfigured();
+
+        SearchRecordsInput input = toSearchRecordsInput(resource, options);
+
+        logger.debug(
+            "Searching records for resource: '{}' as {} with filter: {}",
+            resource,
+            type.getSimpleName(),
+            input.getFilter()
+        );
+        return dashx.recordService().searchRecords(input, type);
+    }
+
+    /**
+     * Streams all records of a resource matching the search parameters, walking pages from
+     * {@code options.page} onwards. Records are decoded one at a time from each response.
+     *
+     * @param resource The resource identifier to search (e.g., "users", "products")
+     * @param options Optional search parameters; the limit is used as the page size
+     *                (default: 100)
+     * @return A Flux that emits all matching records
+     */
+    public Flux<Map<String, Object>> streamRecords(
+        String resource,
+        SearchRecordsOptions options
+    ) {
+        String invalid = validateStreamRecords(resource, options);
+        if (invalid != null) {
+            return Flux.error(new DashXValidationException(invalid));
+        }
+
+        dashx.ensureConfigured();
+
+        SearchRecordsInput input = toSearchRecordsInput(resource, options);
+
+        logger.debug(
+            "Streaming records for resource: '{}' with filter: {}",
+            resource,
+            input.getFilter()
+        );
+        return dashx.recordService().streamRecords(input);
+    }
+
+    /**
+     * Streams all records of a resource matching the search parameters, decoding each record
+     * directly into the given type.
+     *
+     * @param resource The resource identifier to search (e.g., "users", "products")
+     * @param options Optional search parameters; the limit is used as the page size
+     *                (default: 100)
+     * @param type The class to decode each record into
+     * @return A Flux that emits all matching records
+     */
+    public <T> Flux<T> streamRecords(
+        String resource,
+        SearchRecordsOptions options,
+        Class<T> type
+    ) {
+        String invalid = type == null
+            ? "Record type cannot be null"
+            : validateStreamRecords(resource, options);
+        if (invalid != null) {
+            return Flux.error(new DashXValidationException(invalid));
+        }
+
+        dashx.ensureConfigured();
+
+        SearchRecordsInput input = toSearchRecordsInput(resource, options);
+
+        logger.debug(
+            "Streaming records for resource: '{}' as {} with filter: {}",
+            resource,
+            type.getSimpleName(),
+            input.getFilter()
+        );
+        return dashx.recordService().streamRecords(input, type);
+    }
+
+    /**
+     * Creates a new issue.
+     *
+     * @param input The input data for creating the issue.
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A Mono that emits the created issue
+     */
+    public Mono<Issue> createIssue(
+        CreateIssueInput input,
+        Projection projection
+    ) {
+        if (input == null) {
+            return invalid("CreateIssueInput cannot be null");
+        }
+
+        dashx.ensureConfigured();
+
+        logger.debug("Creating issue");
+        return dashx.issueService().createIssue(input, projection);
+    }
+
+    public Mono<Issue> createIssue(CreateIssueInput input) {
+        return createIssue(input, null);
+    }
+
+    /**
+     * Creates a new issue or updates an existing one.
+     *
+     * @param input The input data for upserting the issue.
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A Mono that emits the upserted issue
+     */
+    public Mono<Issue> upsertIssue(
+        UpsertIssueInput input,
+        Projection projection
+    ) {
+        if (input == null) {
+            return invalid("UpsertIssueInput cannot be null");
+        }
+
+        dashx.ensureConfigured();
+
+        logger.debug("Upserting issue");
+        return dashx.issueService().upsertIssue(input, projection);
+    }
+
+    public Mono<Issue> upsertIssue(UpsertIssueInput input) {
+        return upsertIssue(input, null);
+    }
+
+    /**
+     * Upserts a stream of issues in bulk, e.g. from an incident pipeline. Inputs are collected
+     * for up to {@code coalesceWindow}, inputs within the window that share an idempotency key
+     * are coalesced into the last one, and the rest are sent {@code batchSize} issues per
+     * request with at most {@code concurrency} requests in flight.
+     * <p>
+     * One result is emitted per issue sent. Issues fail individually: the Flux itself only
+     * fails for invalid arguments.
+     *
+     * @param inputs The issues to upsert
+     * @param coalesceWindow How long to collect inputs before sending them
+     * @param batchSize Number of issues per request, at most
+     *        {@link IssueService#MAX_BULK_BATCH_SIZE}
+     * @param concurrency Maximum number of requests in flight
+     * @return A Flux that emits the result of each issue sent
+     */
+    public Flux<BulkResult<UpsertIssueInput, Issue>> upsertIssues(
+        Publisher<? extends UpsertIssueInput> inputs,
+        Duration coalesceWindow,
+        int batchSize,
+        int concurrency
+    ) {
+        if (inputs == null) {
+            return Flux.error(
+                new DashXValidationException("Inputs cannot be null")
+            );
+        }
+
+        dashx.ensureConfigured();
+
+        return dashx
+            .issueService()
+            .upsertIssues(inputs, coalesceWindow, batchSize, concurrency);
+    }
+
+    /**
+     * Upserts a stream of issues in bulk with the default coalescing window, batch size and
+     * concurrency.
+     *
+     * @param inputs The issues to upsert
+     * @return A Flux that emits the result of each issue sent
+     * @see #upsertIssues(Publisher, Duration, int, int)
+     */
+    public Flux<BulkResult<UpsertIssueInput, Issue>> upsertIssues(
+        Publisher<? extends UpsertIssueInput> inputs
+    ) {
+        return upsertIssues(
+            inputs,
+            IssueService.DEFAULT_COALESCE_WINDOW,
+            IssueService.DEFAULT_BULK_BATCH_SIZE,
+            IssueService.DEFAULT_BULK_CONCURRENCY
+        );
+    }
+
+    /**
+     * Lists issues with optional filtering, ordering, and pagination.
+     *
+     * @param filter Optional filter criteria
+     * @param order Optional ordering criteria
+     * @param limit Optional maximum number of results
+     * @param page Optional page number for pagination
+     * @param targetEnvironment Optional target environment identifier to scope the query
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A Mono that emits the list of issues
+     */
+    public Mono<List<Issue>> listIssues(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        Integer limit,
+        Integer page,
+        String targetEnvironment,
+        Projection projection
+    ) {
+        dashx.ensureConfigured();
+
+        logger.debug(
+            "Listing issues with filter: {}, limit: {}, page: {}",
+            filter,
+            limit,
+            page
+        );
+        return dashx
+            .issueService()
+            .listIssues(filter, order, limit, page, targetEnvironment, projection);
+    }
+
+    public Mono<List<Issue>> listIssues(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        Integer limit,
+        Integer page,
+        String targetEnvironment
+    ) {
+        return listIssues(filter, order, limit, page, targetEnvironment, null);
+    }
+
+    /**
+     * Streams all issues matching the filter, fetching them page by page on demand.
+     * The next page is fetched while the current one is consumed.
+     *
+     * @param filter Optional filter criteria
+     * @param order Optional ordering criteria
+     * @param pageSize Number of issues fetched per request
+     * @param targetEnvironment Optional target environment identifier to scope the query
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A Flux that emits all matching issues
+     */
+    public Flux<Issue> streamIssues(
+        Map<String, Object> filter,
+        List<Map<String, Object>> order,
+        int pageSize,
+        String targetEnvironment,
+        Projection projection
+    ) {
+        if (pageSize <= 0) {
+            return Flux.error(
+                new DashXValidationException(
+                    "pageSize must be positive, got: " + pageSize
+                )
+            );
+        }
+
+        dashx.ensureConfigured();
+
+        logger.debug(
+            "Streaming issues with filter: {}, pageSize: {}",
+            filter,
+            pageSize
+        );
+        return dashx
+            .issueService()
+            .streamIssues(filter, order, pageSize, targetEnvironment, projection);
+    }
+
+    /**
+     * Counts issues matching the provided filter.
+     *
+     * @param filter Optional filter criteria
+     * @param targetEnvironment Optional target environment identifier to scope the query
+     * @return A Mono that emits the aggregate response containing the count of matching issues
+     */
+    public Mono<AggregateResponse> aggregateIssues(
+        Map<String, Object> filter,
+        String targetEnvironment
+    ) {
+        dashx.ensureConfigured();
+
+        logger.debug("Aggregating issues with filter: {}", filter);
+        return dashx.issueService().aggregateIssues(filter, targetEnvironment);
+    }
+
+    /**
+     * Creates a new broadcast using the CreateBroadcast mutation.
+     *
+     * @param input The input data for creating the broadcast.
+     * @param projection Optional fields to fetch; all fields are fetched when null
+     * @return A Mono that emits the created broadcast
+     */
+    public Mono<Broadcast> sendBroadcast(
+        CreateBroadcastInput input,
+        Projection projection
+    ) {
+        if (input == null) {
+            return invalid("CreateBroadcastInput cannot be null");
+        }
+
+        dashx.ensureConfigured();
+
+        logger.debug("Creating broadcast");
+        return dashx.broadcastService().createBroadcast(input, projection);
+    }
+
+    public Mono<Broadcast> sendBroadcast(CreateBroadcastInput input) {
+        return sendBroadcast(input, null);
+    }
+
+    /**
+     * Returns the validation error for a streamRecords call, or null if the arguments are valid.
+     */
+    static String validateStreamRecords(
+        String resource,
+        SearchRecordsOptions options
+    ) {
+        if (resource == null || resource.trim().isEmpty()) {
+            return "Resource cannot be null or empty";
+        }
+        if (
+            options != null &&
+            options.getLimit() != null &&
+            options.getLimit() <= 0
+        ) {
+            return "limit must be positive, got: " + options.getLimit();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the page size a streamRecords call uses for the given options.
+     */
+    static int streamPageSize(SearchRecordsOptions options) {
+        return options != null && options.getLimit() != null
+            ? options.getLimit()
+            : RecordService.DEFAULT_PAGE_SIZE;
+    }
+
+    private static SearchRecordsInput toSearchRecordsInput(
+        String resource,
+        SearchRecordsOptions options
+    ) {
+        // Use default options if null
+        if (options == null) {
+            options = SearchRecordsOptions.newBuilder().build();
+        }
+
+        return SearchRecordsInput.newBuilder()
+            .resource(resource)
+            .filter(options.getFilter())
+            .order(options.getOrder())
+            .limit(options.getLimit())
+            .page(options.getPage())
+            .preview(options.getPreview())
+            .language(options.getLanguage())
+            .fields(options.getFields())
+            .include(options.getInclude())
+            .exclude(options.getExclude())
+            .build();
+    }
+
+    private static String generateAccountAnonymousUid() {
+        return UUID.randomUUID().toString();
+    }
+
+    private static <T> Mono<T> invalid(String message) {
+        return Mono.error(new DashXValidationException(message));
+    }
+}
@@ -0,0 +1,150 @@
+package com.dashx;
+
+import com.dashx.exception.DashXValidationException;
+import com.dashx.graphql.generated.types.Account;
+import com.dashx.graphql.generated.types.TrackEventResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import reactor.core.publisher.Mono;
+
+/**
+ * The identity of one user, for tracking events and identifying on their behalf without
+ * touching the identity of the {@link DashX} instance.
+ * <p>
+ * {@link DashX#identify(Map)} and {@link DashX#track(String)} share one identity per instance,
+ * which suits a single-user client. On a server handling many users at once, create a session
+ * per request instead, with {@link DashX#session(String)}. Sessions are immutable: the
+ * {@code with} methods return a new session, so a session can be shared between threads, and
+ * all sessions of an instance send their requests through its shared client.
+ * <p>
+ * Sessions use the target environment of their instance. To address another environment,
+ * configure another instance, sharing connections through a {@link DashXTransport}.
+ */
+public final class DashXSession {
+
+    private final DashX dashx;
+    private final String uid;
+    private final String anonymousUid;
+    private final Duration timeout;
+
+    DashXSession(DashX dashx) {
+        this(dashx, null, null, null);
+    }
+
+    private DashXSession(
+        DashX dashx,
+        String uid,
+        String anonymousUid,
+        Duration timeout
+    ) {
+        this.dashx = dashx;
+        this.uid = uid;
+        this.anonymousUid = anonymousUid;
+        this.timeout = timeout;
+    }
+
+    public String getUid() {
+        return uid;
+    }
+
+    public String getAnonymousUid() {
+        return anonymousUid;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Returns a copy of this session for the user with the given uid.
+     *
+     * @param uid the uid of the user, or null for an anonymous user
+     * @return the new session
+     */
+    public DashXSession withUid(String uid) {
+        return new DashXSession(dashx, uid, anonymousUid, timeout);
+    }
+
+    /**
+     * Returns a copy of this session with the given anonymous uid, used to track events while
+     * the session has no uid.
+     *
+     * @param anonymousUid the anonymous uid of the user
+     * @return the new session
+     */
+    public DashXSession withAnonymousUid(String anonymousUid) {
+        return new DashXSession(dashx, uid, anonymousUid, timeout);
+    }
+
+    /**
+     * Returns a copy of this session whose calls fail with a
+     * {@link java.util.concurrent.TimeoutException} when they take longer than the given
+     * timeout, including retries.
+     *
+     * @param timeout the timeout per call, or null for none
+     * @return the new session
+     */
+    public DashXSession withTimeout(Duration timeout) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new DashXValidationException(
+                "timeout must be positive, got: " + timeout
+            );
+        }
+        return new DashXSession(dashx, uid, anonymousUid, timeout);
+    }
+
+    /**
+     * Identifies the user of this session with the provided options, using the session's uid
+     * and anonymous uid for those not set in the options. Neither this session nor the
+     * instance changes its identity; create a new session from the returned account if
+     * needed.
+     *
+     * @param options User identification options
+     * @return A CompletableFuture that will be completed with the identified account or
+     *         completed exceptionally if there are GraphQL errors or execution errors.
+     */
+    public CompletableFuture<Account> identify(Map<String, Object> options) {
+        return timed(
+            dashx.reactive().identify(options, uid, anonymousUid)
+        ).toFuture();
+    }
+
+    /**
+     * Tracks an event for the user of this session.
+     *
+     * @param event The event name (event type)
+     * @param data Optional event data
+     * @return A CompletableFuture that will be completed with the tracking result or completed
+     *         exceptionally if there are GraphQL errors or execution errors.
+     */
+    public CompletableFuture<TrackEventResponse> track(
+        String event,
+        Map<String, Object> data
+    ) {
+        return timed(
+            dashx.reactive().track(event, uid, anonymousUid, data)
+        ).toFuture();
+    }
+
+    public CompletableFuture<TrackEventResponse> track(String event) {
+        return track(event, null);
+    }
+
+    private <T> Mono<T> timed(Mono<T> call) {
+        return timeout != null ? call.timeout(timeout) : call;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "DashXSession{uid=" +
+            uid +
+            ", anonymousUid=" +
+            anonymousUid +
+            ", timeout=" +
+            timeout +
+            "}"
+        );
+    }
+}
@@ -0,0 +1,194 @@
+package com.dashx;
+
+import com.dashx.metrics.DashXMetrics;
+import io.netty.channel.ChannelOption;
+import java.net.SocketAddress;
+import java.time.Duration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.Http2AllocationStrategy;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * The connection pool and HTTP client that DashX requests are sent over.
+ * <p>
+ * Every configured {@link DashX} instance normally creates its own transport. Applications
+ * running many instances in one JVM, e.g. one per tenant, can instead create a single
+ * transport and pass it to each instance with {@link DashXConfig.Builder#transport}; the
+ * instances then share its connections and event loop, while keys and target environment are
+ * still sent per instance with every request.
+ * <p>
+ * A shared transport is owned by the application: closing or reconfiguring an instance does
+ * not close it. Close it once no instance uses it anymore.
+ */
+public final class DashXTransport implements AutoCloseable {
+
+    private static final String POOL_NAME = "dashx-pool";
+
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final DashXMetrics metrics;
+    private final int capacity;
+
+    /**
+     * Creates a transport from the connection settings of a configuration: timeouts, pool
+     * sizes, HTTP protocol, response compression and metrics. Keys, target environment, base
+     * URL and all other settings are ignored; they are taken from the configuration of each
+     * instance using the transport.
+     *
+     * @param config the configuration to take connection settings from, or null for defaults
+     */
+    public DashXTransport(DashXConfig config) {
+        // Use config values or defaults (all timeout values are in milliseconds)
+        int connectionTimeout =
+            config != null && config.getConnectionTimeout() != null
+                ? config.getConnectionTimeout()
+                : 10000;
+        int responseTimeout =
+            config != null && config.getResponseTimeout() != null
+                ? config.getResponseTimeout()
+                : 30000;
+        int maxConnections =
+            config != null && config.getMaxConnections() != null
+                ? config.getMaxConnections()
+                : 500;
+        int maxIdleTime =
+            config != null && config.getMaxIdleTime() != null
+                ? config.getMaxIdleTime()
+                : 20000;
+        int pendingAcquireTimeout =
+            config != null && config.getPendingAcquireTimeout() != null
+                ? config.getPendingAcquireTimeout()
+                : 60000;
+        DashXConfig.HttpProtocol protocol =
+            config != null && config.getHttpProtocol() != null
+                ? config.getHttpProtocol()
+                : DashXConfig.HttpProtocol.HTTP_1_1;
+        boolean http2 = protocol != DashXConfig.HttpProtocol.HTTP_1_1;
+        int http2MaxConnections =
+            config != null && config.getHttp2MaxConnections() != null
+                ? config.getHttp2MaxConnections()
+                : 4;
+        int http2MaxConcurrentStreams =
+            config != null && config.getHttp2MaxConcurrentStreams() != null
+                ? config.getHttp2MaxConcurrentStreams()
+                : 100;
+        boolean responseCompression =
+            config == null ||
+            !Boolean.FALSE.equals(config.getResponseCompression());
+        this.metrics = config != null && config.getMetrics() != null
+            ? config.getMetrics()
+            : DashXMetrics.NOOP;
+        this.capacity = http2
+            ? http2MaxConnections * http2MaxConcurrentStreams
+            : maxConnections;
+
+        // Configure connection pool
+        ConnectionProvider.Builder pool = ConnectionProvider.builder(POOL_NAME)
+            .maxConnections(maxConnections)
+            .maxIdleTime(Duration.ofMillis(maxIdleTime))
+            .maxLifeTime(Duration.ofSeconds(60))
+            .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeout))
+            .evictInBackground(Duration.ofSeconds(120));
+        if (config != null && config.getMaxPendingAcquires() != null) {
+            pool.pendingAcquireMaxCount(config.getMaxPendingAcquires());
+        }
+        if (http2) {
+            // Requests are multiplexed as streams, so a few connections suffice
+            pool.allocationStrategy(
+                Http2AllocationStrategy.builder()
+                    .maxConnections(http2MaxConnections)
+                    .maxConcurrentStreams(http2MaxConcurrentStreams)
+                    .build()
+            );
+        }
+        if (metrics != DashXMetrics.NOOP) {
+            pool.metrics(true, () -> this::bindConnectionPool);
+        }
+        this.connectionProvider = pool.build();
+
+        // Configure HTTP client with timeouts and keep-alive
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionTimeout)
+            .responseTimeout(Duration.ofMillis(responseTimeout))
+            .keepAlive(true)
+            // Advertises gzip and decodes compressed responses
+            .compress(responseCompression);
+        if (protocol == DashXConfig.HttpProtocol.HTTP_2) {
+            // Negotiated with ALPN, servers without h2 get HTTP/1.1
+            httpClient = httpClient
+                .protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                .secure();
+        } else if (protocol == DashXConfig.HttpProtocol.H2C) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C);
+        }
+
+        // No base URL or default headers, those are applied per request
+        this.webClient = WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .build();
+    }
+
+    WebClient webClient() {
+        return webClient;
+    }
+
+    /** Returns the number of requests the transport can have in flight at once. */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Closes the connection pool. Instances still using the transport fail their requests
+     * afterwards.
+     */
+    @Override
+    public void close() {
+        connectionProvider.dispose();
+    }
+
+    private void bindConnectionPool(
+        String poolName,
+        String id,
+        SocketAddress remoteAddress,
+        ConnectionPoolMetrics poolMetrics
+    ) {
+        metrics.bindConnectionPool(
+            poolName,
+            String.valueOf(remoteAddress),
+            new PoolStats(poolMetrics)
+        );
+    }
+
+    /** Exposes reactor-netty's pool metrics without leaking its types into the metrics API. */
+    private record PoolStats(ConnectionPoolMetrics metrics)
+        implements DashXMetrics.ConnectionPoolStats {
+        @Override
+        public int acquired() {
+            return metrics.acquiredSize();
+        }
+
+        @Override
+        public int idle() {
+            return metrics.idleSize();
+        }
+
+        @Override
+        public int pending() {
+            return metrics.pendingAcquireSize();
+        }
+
+        @Override
+        public int allocated() {
+            return metrics.allocatedSize();
+        }
+
+        @Override
+        public int maxAllocated() {
+            return metrics.maxAllocatedSize();
+        }
+    }
+}
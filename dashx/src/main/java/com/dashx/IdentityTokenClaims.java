@@ -0,0 +1,78 @@
+package com.dashx;
+
+import java.time.Instant;
+
+/**
+ * The claims of a verified identity token, as returned by
+ * {@link DashX#verifyIdentityToken(String)}.
+ */
+public final class IdentityTokenClaims {
+
+    private final String uid;
+    private final String kind;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+
+    IdentityTokenClaims(
+        String uid,
+        String kind,
+        Instant issuedAt,
+        Instant expiresAt
+    ) {
+        this.uid = uid;
+        this.kind = kind;
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Returns the uid of the identity the token was issued for.
+     *
+     * @return the identity's uid
+     */
+    public String getUid() {
+        return uid;
+    }
+
+    /**
+     * Returns the identity kind, e.g. {@code "USER"} or {@code "VISITOR"}.
+     *
+     * @return the identity kind, or null if the token has none
+     */
+    public String getKind() {
+        return kind;
+    }
+
+    /**
+     * Returns when the token was issued.
+     *
+     * @return the issue time, or null if the token has none
+     */
+    public Instant getIssuedAt() {
+        return issuedAt;
+    }
+
+    /**
+     * Returns when the token expires.
+     *
+     * @return the expiry time
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "IdentityTokenClaims{uid=" +
+            uid +
+            ", kind=" +
+            kind +
+            ", issuedAt=" +
+            issuedAt +
+            ", expiresAt=" +
+            expiresAt +
+            "}"
+        );
+    }
+}
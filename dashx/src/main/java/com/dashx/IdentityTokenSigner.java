@@ -0,0 +1,188 @@
+package com.dashx;
+
+import com.dashx.exception.DashXConfigurationException;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Mints HS256 identity tokens for the fixed {@code kind}, {@code uid}, {@code iat} and
+ * {@code exp} claim set. The tokens are standard compact JWTs, but skip the per-token work of
+ * a generic JWT builder: the signing key is decoded once, every thread reuses its own
+ * initialized {@link Mac}, the encoded header is precomputed and the claims are written as
+ * JSON directly.
+ * <p>
+ * When a cache size is given, tokens are cached per uid, kind and lifetime. A cached token is
+ * handed out until 80% of its lifetime has passed; after that a fresh token is minted, so
+ * callers never receive a token that is about to expire.
+ */
+final class IdentityTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    // HS256 keys shorter than the hash output are rejected, as JWT libraries do
+    private static final int MIN_KEY_LENGTH = 32;
+
+    // Share of a token's lifetime after which a cached token is replaced
+    private static final double REFRESH_AFTER = 0.8;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder()
+        .withoutPadding();
+
+    private static final String ENCODED_HEADER =
+        ENCODER.encodeToString(
+            "{\"alg\":\"HS256\"}".getBytes(StandardCharsets.US_ASCII)
+        ) +
+        ".";
+
+    private final SecretKeySpec key;
+    private final ThreadLocal<Mac> mac;
+    private final LongSupplier clock;
+    private final int cacheMaxSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access-ordered, so iteration starts at the least recently used token
+    private final LinkedHashMap<CacheKey, CachedToken> cache;
+
+    IdentityTokenSigner(String privateKey, Integer cacheMaxSize) {
+        this(privateKey, cacheMaxSize, System::currentTimeMillis);
+    }
+
+    IdentityTokenSigner(
+        String privateKey,
+        Integer cacheMaxSize,
+        LongSupplier clock
+    ) {
+        this.key = new SecretKeySpec(
+            privateKey.getBytes(StandardCharsets.UTF_8),
+            ALGORITHM
+        );
+        this.mac = ThreadLocal.withInitial(this::newMac);
+        this.clock = clock;
+        this.cacheMaxSize = cacheMaxSize != null ? cacheMaxSize : 0;
+        this.cache = this.cacheMaxSize > 0
+            ? new LinkedHashMap<>(16, 0.75f, true)
+            : null;
+    }
+
+    /**
+     * Returns a signed identity token, from the cache if enabled and still fresh.
+     *
+     * @param uid the identity's uid
+     * @param kind the identity kind, left out of the token when null
+     * @param expiresInSeconds token lifetime in seconds
+     * @return the signed JWT
+     */
+    String sign(String uid, String kind, long expiresInSeconds) {
+        if (key.getEncoded().length < MIN_KEY_LENGTH) {
+            throw new DashXConfigurationException(
+                "privateKey must be at least " +
+                    MIN_KEY_LENGTH +
+                    " bytes to sign identity tokens"
+            );
+        }
+
+        long now = clock.getAsLong();
+        if (cache == null) {
+            return mint(uid, kind, expiresInSeconds, now);
+        }
+
+        CacheKey cacheKey = new CacheKey(uid, kind, expiresInSeconds);
+        lock.lock();
+        try {
+            CachedToken cached = cache.get(cacheKey);
+            if (cached != null && now - cached.refreshAt < 0) {
+                return cached.token;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        String token = mint(uid, kind, expiresInSeconds, now);
+        long refreshAt =
+            now + (long) (expiresInSeconds * 1000L * REFRESH_AFTER);
+
+        lock.lock();
+        try {
+            cache.put(cacheKey, new CachedToken(token, refreshAt));
+            evictOverflow();
+        } finally {
+            lock.unlock();
+        }
+        return token;
+    }
+
+    private String mint(
+        String uid,
+        String kind,
+        long expiresInSeconds,
+        long nowMillis
+    ) {
+        // Same claim order and second precision as the tokens minted before
+        StringBuilder claims = new StringBuilder(64 + uid.length());
+        claims.append('{');
+        if (kind != null) {
+            claims.append("\"kind\":\"");
+            JsonStringEncoder.getInstance().quoteAsString(kind, claims);
+            claims.append("\",");
+        }
+        claims.append("\"uid\":\"");
+        JsonStringEncoder.getInstance().quoteAsString(uid, claims);
+        claims
+            .append("\",\"iat\":")
+            .append(nowMillis / 1000)
+            .append(",\"exp\":")
+            .append((nowMillis + expiresInSeconds * 1000L) / 1000)
+            .append('}');
+
+        String signingInput =
+            ENCODED_HEADER +
+            ENCODER.encodeToString(
+                claims.toString().getBytes(StandardCharsets.UTF_8)
+            );
+        return signingInput + '.' + ENCODER.encodeToString(mac(signingInput));
+    }
+
+    /**
+     * Computes the HS256 signature of a token's encoded header and claims.
+     *
+     * @param signingInput the encoded header and claims, joined by a dot
+     * @return the raw signature
+     */
+    byte[] mac(String signingInput) {
+        return mac
+            .get()
+            .doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(ALGORITHM);
+            instance.init(key);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<CacheKey, CachedToken>> iterator = cache
+            .entrySet()
+            .iterator();
+        while (cache.size() > cacheMaxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private record CacheKey(String uid, String kind, long expiresInSeconds) {}
+
+    private record CachedToken(String token, long refreshAt) {}
+}
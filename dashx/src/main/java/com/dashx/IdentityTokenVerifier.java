@@ -0,0 +1,166 @@
+package com.dashx;
+
+import com.dashx.exception.DashXInvalidTokenException;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Verifies HS256 identity tokens locally against the configured private key, without
+ * contacting the DashX API.
+ * <p>
+ * When a cache size is given, the claims of recently verified tokens are cached, so a token
+ * presented again skips signature checking and claims parsing. Only verified tokens are
+ * cached, and their expiry is checked on every call.
+ */
+final class IdentityTokenVerifier {
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final IdentityTokenSigner signer;
+    private final LongSupplier clock;
+    private final int cacheMaxSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access-ordered, so iteration starts at the least recently used token
+    private final LinkedHashMap<String, IdentityTokenClaims> cache;
+
+    IdentityTokenVerifier(IdentityTokenSigner signer, Integer cacheMaxSize) {
+        this(signer, cacheMaxSize, System::currentTimeMillis);
+    }
+
+    IdentityTokenVerifier(
+        IdentityTokenSigner signer,
+        Integer cacheMaxSize,
+        LongSupplier clock
+    ) {
+        this.signer = signer;
+        this.clock = clock;
+        this.cacheMaxSize = cacheMaxSize != null ? cacheMaxSize : 0;
+        this.cache = this.cacheMaxSize > 0
+            ? new LinkedHashMap<>(16, 0.75f, true)
+            : null;
+    }
+
+    /**
+     * Verifies a token's signature and expiry.
+     *
+     * @param token the compact JWT to verify
+     * @return the token's claims
+     * @throws DashXInvalidTokenException if the token is malformed, forged or expired
+     */
+    IdentityTokenClaims verify(String token) {
+        long now = clock.getAsLong();
+        IdentityTokenClaims claims = null;
+        if (cache != null) {
+            lock.lock();
+            try {
+                claims = cache.get(token);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        if (claims == null) {
+            claims = parse(token);
+            if (cache != null) {
+                lock.lock();
+                try {
+                    cache.put(token, claims);
+                    evictOverflow();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        if (now >= claims.getExpiresAt().toEpochMilli()) {
+            throw new DashXInvalidTokenException(
+                "Identity token expired at " + claims.getExpiresAt()
+            );
+        }
+        return claims;
+    }
+
+    private IdentityTokenClaims parse(String token) {
+        int headerEnd = token.indexOf('.');
+        int claimsEnd = token.indexOf('.', headerEnd + 1);
+        if (
+            headerEnd < 0 ||
+            claimsEnd < 0 ||
+            token.indexOf('.', claimsEnd + 1) >= 0
+        ) {
+            throw new DashXInvalidTokenException(
+                "Identity token is not a compact JWT"
+            );
+        }
+
+        try {
+            JsonNode header = readJson(token.substring(0, headerEnd));
+            if (!"HS256".equals(header.path("alg").asText(null))) {
+                throw new DashXInvalidTokenException(
+                    "Identity token is not signed with HS256"
+                );
+            }
+
+            byte[] expected = signer.mac(token.substring(0, claimsEnd));
+            byte[] actual = DECODER.decode(token.substring(claimsEnd + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                throw new DashXInvalidTokenException(
+                    "Identity token signature does not match"
+                );
+            }
+
+            JsonNode payload = readJson(
+                token.substring(headerEnd + 1, claimsEnd)
+            );
+            JsonNode uid = payload.get("uid");
+            JsonNode exp = payload.get("exp");
+            if (
+                uid == null ||
+                !uid.isTextual() ||
+                exp == null ||
+                !exp.canConvertToLong()
+            ) {
+                throw new DashXInvalidTokenException(
+                    "Identity token is missing its uid or exp claim"
+                );
+            }
+            JsonNode iat = payload.get("iat");
+            return new IdentityTokenClaims(
+                uid.asText(),
+                payload.path("kind").asText(null),
+                iat != null && iat.canConvertToLong()
+                    ? Instant.ofEpochSecond(iat.asLong())
+                    : null,
+                Instant.ofEpochSecond(exp.asLong())
+            );
+        } catch (IllegalArgumentException | IOException e) {
+            throw new DashXInvalidTokenException(
+                "Identity token is not a compact JWT",
+                e
+            );
+        }
+    }
+
+    private static JsonNode readJson(String encoded) throws IOException {
+        return DashXJson.mapper().readTree(DECODER.decode(encoded));
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<String, IdentityTokenClaims>> iterator = cache
+            .entrySet()
+            .iterator();
+        while (cache.size() > cacheMaxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
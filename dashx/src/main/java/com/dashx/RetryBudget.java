@@ -0,0 +1,57 @@
+package com.dashx;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps retries to a fraction of the requests currently in flight, so that retries cannot
+ * multiply the load on an API that is already failing.
+ * <p>
+ * A retry may start while fewer than {@code ratio} times the active requests are being retried,
+ * with a floor of {@code minRetryConcurrency} so that retries still work at low traffic.
+ */
+final class RetryBudget {
+    private final double ratio;
+    private final int minRetryConcurrency;
+    private final AtomicInteger activeRequests = new AtomicInteger();
+    private final AtomicInteger activeRetries = new AtomicInteger();
+
+    RetryBudget(double ratio, int minRetryConcurrency) {
+        this.ratio = ratio;
+        this.minRetryConcurrency = minRetryConcurrency;
+    }
+
+    void requestStarted() {
+        activeRequests.incrementAndGet();
+    }
+
+    void requestFinished() {
+        activeRequests.decrementAndGet();
+    }
+
+    /**
+     * Reserves a retry if the budget allows it. Every successful call must be followed by a
+     * call to {@link #releaseRetry()} once the retry has finished.
+     *
+     * @return whether the retry may be sent
+     */
+    boolean tryAcquireRetry() {
+        int allowed = Math.max(
+            minRetryConcurrency,
+            (int) (activeRequests.get() * ratio)
+        );
+
+        while (true) {
+            int current = activeRetries.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (activeRetries.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void releaseRetry() {
+        activeRetries.decrementAndGet();
+    }
+}
@@ -0,0 +1,90 @@
+package com.dashx;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+/**
+ * Decides which failed requests are retried and how long to wait before each retry.
+ * <p>
+ * Only transient failures are retried: connection errors, timeouts and the HTTP statuses
+ * 429, 502, 503 and 504. Idempotent operations (queries and mutations marked as such) are
+ * retried on any of them. Other mutations are only retried when the request never reached the
+ * server, unless retrying them is explicitly enabled.
+ * <p>
+ * Backoff grows exponentially from {@code initialBackoff} up to {@code maxBackoff}, with half
+ * of each delay randomized so that clients failing together do not retry in lockstep.
+ */
+final class RetryPolicy {
+    private final int maxRetries;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final boolean retryNonIdempotent;
+
+    RetryPolicy(
+        int maxRetries,
+        Duration initialBackoff,
+        Duration maxBackoff,
+        boolean retryNonIdempotent
+    ) {
+        this.maxRetries = maxRetries;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = Math.max(
+            maxBackoff.toNanos(),
+            initialBackoffNanos
+        );
+        this.retryNonIdempotent = retryNonIdempotent;
+    }
+
+    int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Returns whether a request that failed with the given error may be sent again.
+     *
+     * @param error the error the request failed with
+     * @param idempotent whether the operation can safely be sent more than once
+     * @return whether to retry
+     */
+    boolean isRetryable(Throwable error, boolean idempotent) {
+        if (error instanceof WebClientResponseException e) {
+            int status = e.getStatusCode().value();
+            boolean transientStatus =
+                status == 429 || status == 502 || status == 503 || status == 504;
+            // A 429 means the request was rejected before being processed
+            return transientStatus &&
+                (idempotent || retryNonIdempotent || status == 429);
+        }
+
+        if (error instanceof WebClientRequestException e) {
+            // Connection failures, resets and timeouts. A refused connection was never sent.
+            return idempotent ||
+                retryNonIdempotent ||
+                e.getCause() instanceof ConnectException;
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the delay before the given retry.
+     *
+     * @param retry the zero-based retry number
+     * @return the delay before sending the retry
+     */
+    Duration backoff(int retry) {
+        // Doubling more than 20 times exceeds any sensible maximum and risks overflow
+        long delay = Math.min(
+            maxBackoffNanos,
+            initialBackoffNanos << Math.min(retry, 20)
+        );
+
+        long half = delay / 2;
+        return Duration.ofNanos(
+            half + ThreadLocalRandom.current().nextLong(half + 1)
+        );
+    }
+}
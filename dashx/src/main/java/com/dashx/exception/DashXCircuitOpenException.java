@@ -0,0 +1,35 @@
+package com.dashx.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown without contacting the DashX API because recent requests to it have been
+ * failing and the circuit breaker is open. Requests are allowed again once the API recovers.
+ */
+public class DashXCircuitOpenException extends DashXException {
+
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new circuit open exception.
+     *
+     * @param retryAfter how long until the circuit breaker lets a trial request through
+     */
+    public DashXCircuitOpenException(Duration retryAfter) {
+        super(
+            "DashX API is failing, requests are rejected for the next " +
+                retryAfter.toMillis() +
+                " ms"
+        );
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long until the circuit breaker lets a trial request through.
+     *
+     * @return the time until requests are tried again
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
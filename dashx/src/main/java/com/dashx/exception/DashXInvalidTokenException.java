@@ -0,0 +1,27 @@
+package com.dashx.exception;
+
+/**
+ * Exception thrown when an identity token fails verification: it is malformed, its signature
+ * does not match the configured private key, or it has expired.
+ */
+public class DashXInvalidTokenException extends DashXException {
+
+    /**
+     * Constructs a new invalid token exception with the specified detail message.
+     *
+     * @param message the detail message
+     */
+    public DashXInvalidTokenException(String message) {
+        super(message);
+    }
+
+    /**
+     * Constructs a new invalid token exception with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause the cause of this exception
+     */
+    public DashXInvalidTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
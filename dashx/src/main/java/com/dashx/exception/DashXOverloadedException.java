@@ -0,0 +1,30 @@
+package com.dashx.exception;
+
+/**
+ * Exception thrown without contacting the DashX API because the number of requests in flight
+ * has reached the adaptive concurrency limit. The limit shrinks while the API slows down, so
+ * callers see this instead of requests queueing up for connections.
+ */
+public class DashXOverloadedException extends DashXException {
+
+    private final int limit;
+
+    /**
+     * Constructs a new overloaded exception.
+     *
+     * @param limit the concurrency limit that was reached
+     */
+    public DashXOverloadedException(int limit) {
+        super("Too many DashX API requests in flight (limit: " + limit + ")");
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the concurrency limit that was reached.
+     *
+     * @return the concurrency limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
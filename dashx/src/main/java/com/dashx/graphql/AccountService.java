@@ -1,10 +1,13 @@
 package com.dashx.graphql;
 
 import java.util.Map;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import com.dashx.graphql.generated.types.Account;
 import com.dashx.graphql.generated.types.IdentifyAccountInput;
+import com.dashx.graphql.utils.BulkResult;
 import com.dashx.DashXGraphQLClient;
 
 /**
@@ -12,8 +15,17 @@ import com.dashx.DashXGraphQLClient;
  * Handles user identification and account management operations through the DashX GraphQL API.
  */
 public class AccountService {
+    /** Number of accounts identified per request by {@code identifyAll}, unless specified. */
+    public static final int DEFAULT_BULK_BATCH_SIZE = 50;
+    /** Number of {@code identifyAll} requests in flight, unless specified. */
+    public static final int DEFAULT_BULK_CONCURRENCY = 4;
+    /** The largest number of accounts identified per request by {@code identifyAll}. */
+    public static final int MAX_BULK_BATCH_SIZE = BulkExecutor.MAX_BATCH_SIZE;
+
     private final DashXGraphQLClient client;
     private final String fullAccountProjection;
+    private final OperationDocument identifyAccountDocument;
+    private final BulkExecutor<IdentifyAccountInput, Account> identifyAllExecutor;
 
     /**
      * Constructs a new AccountService with the specified GraphQL client.
@@ -40,6 +52,13 @@ public class AccountService {
                     updatedAt
                 }
                 """;
+        this.identifyAccountDocument = OperationDocument.idempotentMutation("IdentifyAccount",
+                "mutation IdentifyAccount($input: IdentifyAccountInput!) { identifyAccount(input: $input) "
+                        + this.fullAccountProjection + " }");
+        // Identifying an account again with the same input has no further effect
+        this.identifyAllExecutor = new BulkExecutor<>(client, "IdentifyAccounts", "identifyAccount",
+                "IdentifyAccountInput", this.fullAccountProjection, Account.class,
+                input -> true);
     }
 
     /**
@@ -50,13 +69,28 @@ public class AccountService {
      * @return a Mono that emits the identified or updated Account object
      */
     public Mono<Account> identifyAccount(IdentifyAccountInput input) {
-        String query =
-                "mutation IdentifyAccount($input: IdentifyAccountInput!) { identifyAccount(input: $input) "
-                        + this.fullAccountProjection + " }";
-
         Map<String, Object> variables = Map.of("input", input);
 
-        return client.execute(query, variables)
-                .map(response -> response.extractValueAsObject("identifyAccount", Account.class));
+        return client.executeForValue(identifyAccountDocument, variables, "identifyAccount",
+                Account.class);
+    }
+
+    /**
+     * Identifies or updates many accounts, e.g. to backfill an existing user base. Inputs are
+     * grouped into aliased multi-mutation documents of {@code batchSize} accounts, with at most
+     * {@code concurrency} requests in flight.
+     * <p>
+     * Each input yields one {@link BulkResult}, emitted in input order. Accounts fail
+     * individually: a GraphQL error for one account, or a failed request for one batch, is
+     * reported on the affected results and the remaining accounts are still identified.
+     *
+     * @param inputs the accounts to identify
+     * @param batchSize the number of accounts per request, between 1 and {@link #MAX_BULK_BATCH_SIZE}
+     * @param concurrency the maximum number of requests in flight
+     * @return a Flux that emits the result of each account, in input order
+     */
+    public Flux<BulkResult<IdentifyAccountInput, Account>> identifyAll(
+            Publisher<? extends IdentifyAccountInput> inputs, int batchSize, int concurrency) {
+        return identifyAllExecutor.execute(inputs, batchSize, concurrency);
     }
 }
@@ -0,0 +1,149 @@
+package com.dashx.graphql;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dashx.exception.DashXGraphQLException;
+import com.netflix.graphql.dgs.client.GraphQLError;
+import com.netflix.graphql.dgs.client.GraphQLResponse;
+
+/**
+ * Helpers for aliased multi-operation documents, where several invocations of the same
+ * field are sent in a single request, e.g.
+ * {@code mutation TrackEvents($input0: TrackEventInput!, $input1: TrackEventInput!) { op0: trackEvent(input: $input0) { success } op1: trackEvent(input: $input1) { success } }}.
+ */
+final class AliasedBatch {
+    private static final String ALIAS_PREFIX = "op";
+    private static final String VARIABLE_PREFIX = "input";
+
+    private AliasedBatch() {}
+
+    /**
+     * Returns the alias used for the operation at the given position in a batch.
+     *
+     * @param index the zero-based position of the operation in the batch
+     * @return the alias of the operation
+     */
+    static String alias(int index) {
+        return ALIAS_PREFIX + index;
+    }
+
+    /**
+     * Builds an aliased document invoking {@code field} once per batch entry.
+     *
+     * @param operationType the operation type, {@code "query"} or {@code "mutation"}
+     * @param operationName the name of the operation
+     * @param field the root field to invoke
+     * @param inputType the GraphQL type of the field's {@code input} argument
+     * @param projection the selection set to request for each invocation
+     * @param size the number of invocations in the batch
+     * @return the GraphQL document
+     */
+    static String document(String operationType, String operationName, String field,
+            String inputType, String projection, int size) {
+        StringBuilder sb = new StringBuilder(64 + size * (field.length() + projection.length() + 48));
+
+        sb.append(operationType).append(' ').append(operationName).append('(');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append('$').append(VARIABLE_PREFIX).append(i).append(": ").append(inputType).append('!');
+        }
+        sb.append(") {");
+        for (int i = 0; i < size; i++) {
+            sb.append(' ').append(alias(i)).append(": ").append(field).append("(input: $")
+                    .append(VARIABLE_PREFIX).append(i).append(") ").append(projection);
+        }
+        sb.append(" }");
+
+        return sb.toString();
+    }
+
+    /**
+     * Builds the variables for an aliased document, binding each input to its position.
+     *
+     * @param inputs the inputs of the batch, in order
+     * @return the variables map
+     */
+    static Map<String, Object> variables(List<?> inputs) {
+        Map<String, Object> variables = new HashMap<>(inputs.size() * 4 / 3 + 1);
+        for (int i = 0; i < inputs.size(); i++) {
+            variables.put(VARIABLE_PREFIX + i, inputs.get(i));
+        }
+        return variables;
+    }
+
+    /**
+     * Returns the positions of the operations that have to be sent again to get their results.
+     * The root fields of the schema are non-null, so a failing operation nulls the data of the
+     * entire batch. If the errors name the aliases of the failing operations, those fail with
+     * their own errors and the others, which were not at fault, are to be resent together. If
+     * the errors name no alias, the batch was rejected as a whole, e.g. for authentication or
+     * validation, and every operation fails with all errors; nothing is resent, so a rejection
+     * never multiplies requests.
+     *
+     * @param response the response of the aliased document
+     * @param size the number of operations in the batch
+     * @return the positions to resend, empty if the response answers every operation
+     */
+    static BitSet resendable(GraphQLResponse response, int size) {
+        BitSet resend = new BitSet(size);
+        List<GraphQLError> errors = response.getErrors();
+        Map<String, ?> data = response.getData();
+        if (errors == null || errors.isEmpty() || (data != null && !data.isEmpty())) {
+            return resend;
+        }
+
+        BitSet failed = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            String alias = alias(i);
+            if (errors.stream().anyMatch(error -> isFor(error, alias))) {
+                failed.set(i);
+            }
+        }
+        if (!failed.isEmpty()) {
+            resend.set(0, size);
+            resend.andNot(failed);
+        }
+        return resend;
+    }
+
+    /**
+     * Extracts the result of a single operation from an aliased response.
+     * Errors whose path starts with the operation's alias are attributed to that operation only.
+     * If the response has errors and no data for the alias, the operation fails with all errors,
+     * see {@link #resendable}.
+     *
+     * @param response the response of the aliased document
+     * @param index the zero-based position of the operation in the batch
+     * @param type the type to decode the result into
+     * @return the decoded result
+     * @throws DashXGraphQLException if the operation failed
+     */
+    static <T> T extract(GraphQLResponse response, int index, Class<T> type) {
+        String alias = alias(index);
+        List<GraphQLError> errors = response.getErrors();
+
+        if (errors != null && !errors.isEmpty()) {
+            List<GraphQLError> own = errors.stream().filter(error -> isFor(error, alias)).toList();
+            if (!own.isEmpty()) {
+                throw new DashXGraphQLException(own);
+            }
+
+            Map<String, ?> data = response.getData();
+            if (data == null || data.get(alias) == null) {
+                throw new DashXGraphQLException(errors);
+            }
+        }
+
+        return response.extractValueAsObject(alias, type);
+    }
+
+    private static boolean isFor(GraphQLError error, String alias) {
+        List<?> path = error.getPath();
+        return path != null && !path.isEmpty() && alias.equals(path.get(0));
+    }
+}
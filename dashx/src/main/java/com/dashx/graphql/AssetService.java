@@ -1,11 +1,15 @@
 package com.dashx.graphql;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import com.dashx.graphql.generated.types.Asset;
+import com.dashx.graphql.utils.Projection;
+import com.dashx.DashXConfig;
 import com.dashx.DashXGraphQLClient;
 
 /**
@@ -15,6 +19,9 @@ import com.dashx.DashXGraphQLClient;
 public class AssetService {
     private final DashXGraphQLClient client;
     private final String fullAssetProjection;
+    private final ProjectedDocuments getAssetDocuments;
+    private final ProjectedDocuments listAssetsDocuments;
+    private final ResponseCache<AssetKey, Asset> assetCache;
 
     /**
      * Constructs a new AssetService with the specified GraphQL client.
@@ -22,6 +29,17 @@ public class AssetService {
      * @param client the GraphQL client to use for executing queries and mutations
      */
     public AssetService(DashXGraphQLClient client) {
+        this(client, null);
+    }
+
+    /**
+     * Constructs a new AssetService with the specified GraphQL client and configuration.
+     * getAsset results are cached when the configuration specifies an asset cache size.
+     *
+     * @param client the GraphQL client to use for executing queries and mutations
+     * @param config configuration object containing the cache settings, can be null
+     */
+    public AssetService(DashXGraphQLClient client, DashXConfig config) {
         this.client = client;
         this.fullAssetProjection = """
                 {
@@ -46,6 +64,21 @@ public class AssetService {
                     updatedAt
                 }
                 """;
+        this.getAssetDocuments = new ProjectedDocuments(Asset.class, this.fullAssetProjection,
+                projection -> OperationDocument.query("GetAsset",
+                        "query GetAsset($id: String!) { asset(id: $id) " + projection + " }"));
+        this.listAssetsDocuments = new ProjectedDocuments(Asset.class, this.fullAssetProjection,
+                projection -> OperationDocument.query("ListAssets",
+                        "query ListAssets($filter: JSON, $order: [JSON], $limit: Int, $page: Int) { assetsList(filter: $filter, order: $order, limit: $limit, page: $page) "
+                                + projection + " }"));
+
+        if (config != null && config.getAssetCacheMaxSize() != null) {
+            int ttl = config.getAssetCacheTtl() != null ? config.getAssetCacheTtl() : 60000;
+            this.assetCache = new ResponseCache<>(config.getAssetCacheMaxSize(),
+                    Duration.ofMillis(ttl));
+        } else {
+            this.assetCache = null;
+        }
     }
 
     /**
@@ -55,12 +88,29 @@ public class AssetService {
      * @return a Mono that emits the Asset object with all its details
      */
     public Mono<Asset> getAsset(String id) {
-        String query =
-                "query GetAsset($id: String!) { asset(id: $id) " + this.fullAssetProjection + " }";
+        return getAsset(id, null);
+    }
+
+    /**
+     * Retrieves a single asset by its ID, fetching only the fields selected by the projection.
+     * When the asset cache is enabled, the result may be served from the cache.
+     *
+     * @param id the unique identifier of the asset to retrieve
+     * @param projection the fields to fetch, or null for all fields
+     * @return a Mono that emits the Asset object with the selected fields populated
+     */
+    public Mono<Asset> getAsset(String id, Projection projection) {
+        if (assetCache == null) {
+            return fetchAsset(id, projection);
+        }
+        return assetCache.get(new AssetKey(id, projection), () -> fetchAsset(id, projection));
+    }
+
+    private Mono<Asset> fetchAsset(String id, Projection projection) {
         Map<String, Object> variables = Map.of("id", id);
 
-        return client.execute(query, variables)
-                .map(response -> response.extractValueAsObject("asset", Asset.class));
+        return Mono.defer(() -> client.executeForValue(getAssetDocuments.get(projection), variables,
+                "asset", Asset.class));
     }
 
     /**
@@ -74,19 +124,51 @@ public class AssetService {
      */
     public Mono<List<Asset>> listAssets(Map<String, Object> filter, List<Map<String, Object>> order,
             Integer limit, Integer page) {
-        String query =
-                "query ListAssets($filter: JSON, $order: [JSON], $limit: Int, $page: Int) { assetsList(filter: $filter, order: $order, limit: $limit, page: $page) "
-                        + this.fullAssetProjection + " }";
+        return listAssets(filter, order, limit, page, null);
+    }
 
+    /**
+     * Lists assets with optional filtering, ordering, and pagination, fetching only the fields
+     * selected by the projection.
+     *
+     * @param filter optional filter criteria to narrow down results (e.g., by resource ID, status)
+     * @param order optional ordering criteria to sort the results
+     * @param limit optional maximum number of results to return per page
+     * @param page optional page number for pagination (0-indexed)
+     * @param projection the fields to fetch, or null for all fields
+     * @return a Mono that emits a list of Asset objects matching the criteria
+     */
+    public Mono<List<Asset>> listAssets(Map<String, Object> filter, List<Map<String, Object>> order,
+            Integer limit, Integer page, Projection projection) {
         Map<String, Object> variables = new HashMap<>();
         if (filter != null) variables.put("filter", filter);
         if (order != null) variables.put("order", order);
         if (limit != null) variables.put("limit", limit);
         if (page != null) variables.put("page", page);
 
-        return client.execute(query, variables).map(response -> {
-            Asset[] assetsArray = response.extractValueAsObject("assetsList", Asset[].class);
-            return assetsArray != null ? List.of(assetsArray) : List.of();
-        });
+        return Mono.defer(() -> client.executeForValue(listAssetsDocuments.get(projection), variables,
+                "assetsList", Asset[].class))
+                .map(assetsArray -> List.of(assetsArray))
+                .defaultIfEmpty(List.of());
     }
+
+    /**
+     * Streams all assets matching the criteria, fetching them page by page.
+     * The next page is fetched while the current one is consumed, and only a bounded number of
+     * pages is held in memory, so arbitrarily large result sets can be processed.
+     *
+     * @param filter optional filter criteria to narrow down results (e.g., by resource ID, status)
+     * @param order optional ordering criteria to sort the results
+     * @param pageSize the number of assets to fetch per request
+     * @param projection the fields to fetch, or null for all fields
+     * @return a Flux that emits every matching Asset, in order
+     */
+    public Flux<Asset> streamAssets(Map<String, Object> filter, List<Map<String, Object>> order,
+            int pageSize, Projection projection) {
+        return Flux.defer(() -> Pagination.stream(
+                page -> listAssets(filter, order, pageSize, page, projection),
+                Pagination.FIRST_PAGE, pageSize));
+    }
+
+    private record AssetKey(String id, Projection projection) {}
 }
@@ -6,6 +6,7 @@ import reactor.core.publisher.Mono;
 import com.dashx.DashXGraphQLClient;
 import com.dashx.graphql.generated.types.Broadcast;
 import com.dashx.graphql.generated.types.CreateBroadcastInput;
+import com.dashx.graphql.utils.Projection;
 
 /**
  * Service class for broadcast operations.
@@ -14,6 +15,7 @@ import com.dashx.graphql.generated.types.CreateBroadcastInput;
 public class BroadcastService {
     private final DashXGraphQLClient client;
     private final String fullBroadcastProjection;
+    private final ProjectedDocuments createBroadcastDocuments;
 
     public BroadcastService(DashXGraphQLClient client) {
         this.client = client;
@@ -42,6 +44,11 @@ public class BroadcastService {
                     updatedAt
                 }
                 """;
+        this.createBroadcastDocuments = new ProjectedDocuments(Broadcast.class,
+                this.fullBroadcastProjection,
+                projection -> OperationDocument.mutation("CreateBroadcast",
+                        "mutation CreateBroadcast($input: CreateBroadcastInput!) { createBroadcast(input: $input) "
+                                + projection + " }"));
     }
 
     /**
@@ -51,13 +58,21 @@ public class BroadcastService {
      * @return a Mono that emits the newly created Broadcast object with all its fields populated
      */
     public Mono<Broadcast> createBroadcast(CreateBroadcastInput input) {
-        String query =
-                "mutation CreateBroadcast($input: CreateBroadcastInput!) { createBroadcast(input: $input) "
-                        + this.fullBroadcastProjection + " }";
+        return createBroadcast(input, null);
+    }
 
+    /**
+     * Creates a new broadcast with the specified details, fetching only the fields selected by the
+     * projection for the created broadcast.
+     *
+     * @param input the broadcast creation input, corresponding to CreateBroadcastInput
+     * @param projection the fields to fetch, or null for all fields
+     * @return a Mono that emits the newly created Broadcast object with the selected fields populated
+     */
+    public Mono<Broadcast> createBroadcast(CreateBroadcastInput input, Projection projection) {
         Map<String, Object> variables = Map.of("input", input);
 
-        return client.execute(query, variables)
-                .map(response -> response.extractValueAsObject("createBroadcast", Broadcast.class));
+        return Mono.defer(() -> client.executeForValue(createBroadcastDocuments.get(projection),
+                variables, "createBroadcast", Broadcast.class));
     }
 }
@@ -0,0 +1,209 @@
+package com.dashx.graphql;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.function.Tuple2;
+
+import com.dashx.DashXGraphQLClient;
+import com.dashx.exception.DashXValidationException;
+import com.dashx.graphql.utils.BulkResult;
+import com.netflix.graphql.dgs.client.GraphQLResponse;
+
+/**
+ * Sends many invocations of the same mutation as aliased multi-operation documents, one batch
+ * of inputs per request, with a bounded number of requests in flight.
+ * <p>
+ * Every input yields exactly one {@link BulkResult}, in input order. GraphQL errors are
+ * attributed to the alias they belong to, and a request that fails as a whole fails the items
+ * of its batch only, so one bad batch never fails the rest of the bulk operation. When any one
+ * input of a batch fails, the API answers with errors and no data; the inputs the errors name
+ * fail, and the others are resent together. A batch rejected without naming any input fails as
+ * a whole and is not resent.
+ */
+final class BulkExecutor<I, T> {
+    /** The largest number of inputs sent in one request. */
+    static final int MAX_BATCH_SIZE = 100;
+
+    private final DashXGraphQLClient client;
+    private final String operationName;
+    private final String field;
+    private final String inputType;
+    private final String projection;
+    private final Class<T> resultType;
+    private final Predicate<? super I> idempotent;
+    private final Map<Integer, OperationDocument> documents = new ConcurrentHashMap<>();
+    private final Map<Integer, OperationDocument> idempotentDocuments = new ConcurrentHashMap<>();
+
+    /**
+     * @param client the GraphQL client to send batches with
+     * @param operationName the name of the batch operation, e.g. {@code IdentifyAccounts}
+     * @param field the mutation field invoked once per input
+     * @param inputType the GraphQL type of the field's {@code input} argument
+     * @param projection the selection set requested for each invocation
+     * @param resultType the type each invocation's result is decoded into
+     * @param idempotent whether the mutation may safely be retried for an input; a batch is
+     *        retried only if it is for every input of the batch
+     */
+    BulkExecutor(DashXGraphQLClient client, String operationName, String field, String inputType,
+            String projection, Class<T> resultType, Predicate<? super I> idempotent) {
+        this.client = client;
+        this.operationName = operationName;
+        this.field = field;
+        this.inputType = inputType;
+        this.projection = projection;
+        this.resultType = resultType;
+        this.idempotent = idempotent;
+    }
+
+    /**
+     * Sends the inputs in batches of {@code batchSize}, with at most {@code concurrency}
+     * requests in flight.
+     *
+     * @param inputs the inputs to send
+     * @param batchSize the number of inputs per request, at most {@link #MAX_BATCH_SIZE}
+     * @param concurrency the maximum number of requests in flight
+     * @return a Flux emitting one result per input, in input order
+     */
+    Flux<BulkResult<I, T>> execute(Publisher<? extends I> inputs, int batchSize, int concurrency) {
+        return execute(inputs, batchSize, concurrency, indexed -> indexed.buffer(batchSize),
+                input -> null);
+    }
+
+    /**
+     * Sends the inputs in the batches formed by {@code batching}, with at most
+     * {@code concurrency} requests in flight. The batching function receives the inputs paired
+     * with their position and may drop inputs, but must not form batches larger than
+     * {@code batchSize}.
+     * <p>
+     * A batch holding an input with a {@code key} is sent only once the earlier batches holding
+     * the same key have been answered, so that two writes to the same entity are never in flight
+     * at once. Batches with distinct keys, or without keys, use the full concurrency.
+     *
+     * @param inputs the inputs to send
+     * @param batchSize the largest batch formed, at most {@link #MAX_BATCH_SIZE}
+     * @param concurrency the maximum number of requests in flight
+     * @param batching groups the indexed inputs into batches
+     * @param key the entity an input writes to, or null if it may be sent in any order
+     * @return a Flux emitting one result per input sent, in batch order
+     */
+    Flux<BulkResult<I, T>> execute(Publisher<? extends I> inputs, int batchSize, int concurrency,
+            Function<Flux<Tuple2<Long, I>>, Flux<List<Tuple2<Long, I>>>> batching,
+            Function<? super I, ?> key) {
+        if (batchSize <= 0 || batchSize > MAX_BATCH_SIZE) {
+            return Flux.error(new DashXValidationException("batchSize must be between 1 and "
+                    + MAX_BATCH_SIZE + ", got: " + batchSize));
+        }
+        if (concurrency <= 0) {
+            return Flux.error(new DashXValidationException(
+                    "concurrency must be positive, got: " + concurrency));
+        }
+
+        return Flux.defer(() -> {
+            // Completes once the last batch dispatched so far for each key has been answered
+            Map<Object, Mono<Void>> inFlight = new ConcurrentHashMap<>();
+
+            return batching.apply(Flux.<I>from(inputs).index())
+                    .flatMapSequential(batch -> {
+                        Set<Object> keys = new HashSet<>();
+                        for (Tuple2<Long, I> item : batch) {
+                            Object itemKey = key.apply(item.getT2());
+                            if (itemKey != null) {
+                                keys.add(itemKey);
+                            }
+                        }
+                        if (keys.isEmpty()) {
+                            return send(batch);
+                        }
+
+                        Sinks.Empty<Void> answered = Sinks.empty();
+                        Mono<Void> done = answered.asMono();
+                        List<Mono<Void>> earlier = new ArrayList<>();
+                        for (Object batchKey : keys) {
+                            Mono<Void> previous = inFlight.put(batchKey, done);
+                            if (previous != null) {
+                                earlier.add(previous);
+                            }
+                        }
+                        return Mono.when(earlier)
+                                .thenMany(send(batch))
+                                .doFinally(signal -> {
+                                    keys.forEach(batchKey -> inFlight.remove(batchKey, done));
+                                    answered.tryEmitEmpty();
+                                });
+                    }, concurrency);
+        });
+    }
+
+    private Flux<BulkResult<I, T>> send(List<Tuple2<Long, I>> batch) {
+        int size = batch.size();
+        List<I> inputs = new ArrayList<>(size);
+        boolean idempotentBatch = true;
+        for (Tuple2<Long, I> item : batch) {
+            inputs.add(item.getT2());
+            idempotentBatch &= idempotent.test(item.getT2());
+        }
+        OperationDocument document = document(size, idempotentBatch);
+
+        return Mono.defer(() -> client.executeRaw(document, AliasedBatch.variables(inputs)))
+                .flatMapMany(response -> {
+                    BitSet resend = AliasedBatch.resendable(response, size);
+                    List<BulkResult<I, T>> results = new ArrayList<>(size);
+                    List<Tuple2<Long, I>> again = new ArrayList<>(resend.cardinality());
+                    for (int i = 0; i < size; i++) {
+                        if (resend.get(i)) {
+                            again.add(batch.get(i));
+                        } else {
+                            results.add(result(batch.get(i), response, i));
+                        }
+                    }
+
+                    Flux<BulkResult<I, T>> answered = Flux.fromIterable(results);
+                    return again.isEmpty() ? answered : Flux.mergeComparing(
+                            Comparator.<BulkResult<I, T>>comparingLong(BulkResult::getIndex),
+                            answered, send(again));
+                })
+                .onErrorResume(error -> Flux.fromIterable(failures(batch, error)));
+    }
+
+    private BulkResult<I, T> result(Tuple2<Long, I> item, GraphQLResponse response, int index) {
+        try {
+            return BulkResult.success(item.getT1(), item.getT2(),
+                    AliasedBatch.extract(response, index, resultType));
+        } catch (RuntimeException e) {
+            return BulkResult.failure(item.getT1(), item.getT2(), e);
+        }
+    }
+
+    private List<BulkResult<I, T>> failures(List<Tuple2<Long, I>> batch, Throwable error) {
+        List<BulkResult<I, T>> results = new ArrayList<>(batch.size());
+        for (Tuple2<Long, I> item : batch) {
+            results.add(BulkResult.failure(item.getT1(), item.getT2(), error));
+        }
+        return results;
+    }
+
+    private OperationDocument document(int size, boolean idempotentBatch) {
+        if (idempotentBatch) {
+            return idempotentDocuments.computeIfAbsent(size,
+                    n -> OperationDocument.idempotentMutation(operationName, query(n)));
+        }
+        return documents.computeIfAbsent(size,
+                n -> OperationDocument.mutation(operationName, query(n)));
+    }
+
+    private String query(int size) {
+        return AliasedBatch.document("mutation", operationName, field, inputType, projection, size);
+    }
+}
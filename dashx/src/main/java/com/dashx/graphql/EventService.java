@@ -1,47 +1,150 @@
 package com.dashx.graphql;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.Map;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
 import com.dashx.graphql.generated.types.TrackEventResponse;
 import com.dashx.graphql.generated.types.TrackEventInput;
+import com.dashx.DashXConfig;
 import com.dashx.DashXGraphQLClient;
+import com.dashx.exception.DashXCircuitOpenException;
+import com.dashx.exception.DashXOverloadedException;
 
 /**
  * Service class for event tracking operations.
  * Handles tracking of user events and analytics through the DashX GraphQL API.
+ * When batching is enabled, events are buffered and sent as aliased multi-mutation requests.
+ * When the outbox is enabled, events that cannot be delivered because the API is unreachable or
+ * overloaded (or all events, in write-ahead mode) are stored on disk and delivered in the
+ * background.
  */
 public class EventService {
     private final DashXGraphQLClient client;
     private final String fullTrackEventProjection;
+    private final OperationDocument trackEventDocument;
+    private final TrackEventBatcher batcher;
+    private final TrackEventOutbox outbox;
+    private final boolean writeAhead;
 
     /**
      * Constructs a new EventService with the specified GraphQL client.
+     * Every tracked event is sent in its own request.
      *
      * @param client the GraphQL client to use for executing queries and mutations
      */
     public EventService(DashXGraphQLClient client) {
+        this(client, null);
+    }
+
+    /**
+     * Constructs a new EventService with the specified GraphQL client and configuration.
+     * Batching is enabled when the configuration specifies a track batch size, and the outbox
+     * when it specifies a track outbox directory.
+     *
+     * @param client the GraphQL client to use for executing queries and mutations
+     * @param config configuration object containing the event batching settings, can be null
+     */
+    public EventService(DashXGraphQLClient client, DashXConfig config) {
         this.client = client;
         this.fullTrackEventProjection = """
                 {
                     success
                 }
                 """;
+        // Retrying an event after a transient failure is preferred over losing it
+        this.trackEventDocument = OperationDocument.idempotentMutation("TrackEvent",
+                "mutation TrackEvent($input: TrackEventInput!) { trackEvent(input: $input) "
+                        + this.fullTrackEventProjection + " }");
+
+        if (config != null && config.getTrackBatchSize() != null) {
+            int linger = config.getTrackBatchLinger() != null ? config.getTrackBatchLinger() : 50;
+            int queueCapacity =
+                    config.getTrackQueueCapacity() != null ? config.getTrackQueueCapacity() : 10000;
+
+            this.batcher = new TrackEventBatcher(client, this.fullTrackEventProjection,
+                    config.getTrackBatchSize(), Duration.ofMillis(linger), queueCapacity);
+        } else {
+            this.batcher = null;
+        }
+
+        if (config != null && config.getTrackOutboxDirectory() != null) {
+            long maxSize = config.getTrackOutboxMaxSize() != null
+                    ? config.getTrackOutboxMaxSize()
+                    : 64L * 1024 * 1024;
+
+            this.outbox = new TrackEventOutbox(client, this.fullTrackEventProjection,
+                    Path.of(config.getTrackOutboxDirectory()), maxSize);
+            this.writeAhead = config.getTrackOutboxMode() == DashXConfig.OutboxMode.WRITE_AHEAD;
+        } else {
+            this.outbox = null;
+            this.writeAhead = false;
+        }
     }
 
     /**
      * Tracks an event with the specified details.
      * Events are used for analytics, triggering workflows, and monitoring user behavior.
      *
+     * With the outbox enabled, the Mono completes successfully once an event that could not be
+     * delivered, because the API was unreachable or overloaded, has been stored for later
+     * delivery. Events the API rejects, and events failing for any other reason, are not stored
+     * and fail the Mono.
+     *
      * @param input the event tracking input containing event name, account identifiers, and event data
      * @return a Mono that emits a TrackEventResponse indicating success or failure
      */
     public Mono<TrackEventResponse> trackEvent(TrackEventInput input) {
-        String query = "mutation TrackEvent($input: TrackEventInput!) { trackEvent(input: $input) "
-                + this.fullTrackEventProjection + " }";
+        if (outbox == null) {
+            return send(input);
+        }
+
+        // Events queue up behind stored ones, so they are delivered in order
+        if (writeAhead || outbox.hasPending()) {
+            return outbox.store(input);
+        }
+        return send(input).onErrorResume(EventService::isTransient, error -> outbox.store(input));
+    }
+
+    /**
+     * Returns whether the error means the event was not delivered for reasons that will pass:
+     * a connection failure, a 429 or 5xx response, an open circuit or an exceeded concurrency
+     * limit. Sending the event again later will not help for any other error.
+     */
+    static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException e) {
+            int status = e.getStatusCode().value();
+            return status == 429 || status >= 500;
+        }
+        return error instanceof WebClientRequestException
+                || error instanceof DashXCircuitOpenException
+                || error instanceof DashXOverloadedException;
+    }
+
+    private Mono<TrackEventResponse> send(TrackEventInput input) {
+        if (batcher != null) {
+            return batcher.submit(input);
+        }
+
         Map<String, Object> variables = Map.of("input", input);
 
-        return client.execute(query, variables).map(
+        return client.execute(trackEventDocument, variables).map(
                 response -> response.extractValueAsObject("trackEvent", TrackEventResponse.class));
     }
+
+    /**
+     * Stops event batching, sending any events that are still queued, and stops background
+     * delivery from the outbox. Events left in the outbox are delivered after the next start.
+     */
+    public void close() {
+        if (batcher != null) {
+            batcher.close();
+        }
+        if (outbox != null) {
+            outbox.close();
+        }
+    }
 }
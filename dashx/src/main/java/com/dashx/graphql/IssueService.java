@@ -5,10 +5,19 @@ import com.dashx.graphql.generated.types.AggregateResponse;
 import com.dashx.graphql.generated.types.CreateIssueInput;
 import com.dashx.graphql.generated.types.Issue;
 import com.dashx.graphql.generated.types.UpsertIssueInput;
+import com.dashx.exception.DashXValidationException;
+import com.dashx.graphql.utils.BulkResult;
+import com.dashx.graphql.utils.Projection;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 /**
  * Service class for issue management operations.
@@ -16,8 +25,26 @@ import reactor.core.publisher.Mono;
  * Issues can represent tickets, tasks, bugs, or any trackable work items in your system.
  */
 public class IssueService {
+    /** Number of issues upserted per request by {@code upsertIssues}, unless specified. */
+    public static final int DEFAULT_BULK_BATCH_SIZE = 50;
+    /** Number of {@code upsertIssues} requests in flight, unless specified. */
+    public static final int DEFAULT_BULK_CONCURRENCY = 4;
+    /** How long {@code upsertIssues} collects inputs to coalesce, unless specified. */
+    public static final Duration DEFAULT_COALESCE_WINDOW = Duration.ofSeconds(1);
+    /** The largest number of issues upserted per request by {@code upsertIssues}. */
+    public static final int MAX_BULK_BATCH_SIZE = BulkExecutor.MAX_BATCH_SIZE;
+
+    // Upper bound on the inputs held while coalescing, a full window is flushed early
+    private static final int MAX_COALESCED_INPUTS = 10_000;
+
     private final DashXGraphQLClient client;
     private final String fullIssueProjection;
+    private final ProjectedDocuments createIssueDocuments;
+    private final ProjectedDocuments upsertIssueDocuments;
+    private final ProjectedDocuments idempotentUpsertIssueDocuments;
+    private final ProjectedDocuments listIssuesDocuments;
+    private final OperationDocument aggregateIssuesDocument;
+    private final BulkExecutor<UpsertIssueInput, Issue> upsertIssuesExecutor;
 
     /**
      * Constructs a new IssueService with the specified GraphQL client.
@@ -51,6 +78,29 @@ public class IssueService {
                     priority
                 }
                 """;
+        this.createIssueDocuments = new ProjectedDocuments(Issue.class, this.fullIssueProjection,
+                projection -> OperationDocument.mutation("CreateIssue",
+                        "mutation CreateIssue($input: CreateIssueInput!) { createIssue(input: $input) "
+                                + projection + " }"));
+        this.upsertIssueDocuments = new ProjectedDocuments(Issue.class, this.fullIssueProjection,
+                projection -> OperationDocument.mutation("UpsertIssue",
+                        "mutation UpsertIssue($input: UpsertIssueInput!) { upsertIssue(input: $input) "
+                                + projection + " }"));
+        // With an idempotency key the server applies repeated upserts only once
+        this.idempotentUpsertIssueDocuments = new ProjectedDocuments(Issue.class,
+                this.fullIssueProjection,
+                projection -> OperationDocument.idempotentMutation("UpsertIssue",
+                        "mutation UpsertIssue($input: UpsertIssueInput!) { upsertIssue(input: $input) "
+                                + projection + " }"));
+        this.listIssuesDocuments = new ProjectedDocuments(Issue.class, this.fullIssueProjection,
+                projection -> OperationDocument.query("ListIssues",
+                        "query ListIssues($filter: JSON, $order: [JSON!], $limit: Int, $page: Int, $targetEnvironment: String) { issuesList(filter: $filter, order: $order, limit: $limit, page: $page, targetEnvironment: $targetEnvironment) "
+                                + projection + " }"));
+        this.aggregateIssuesDocument = OperationDocument.query("AggregateIssues",
+                "query AggregateIssues($filter: JSON, $targetEnvironment: String) { issuesAggregate(filter: $filter, targetEnvironment: $targetEnvironment) { count } }");
+        this.upsertIssuesExecutor = new BulkExecutor<>(client, "UpsertIssues", "upsertIssue",
+                "UpsertIssueInput", this.fullIssueProjection, Issue.class,
+                input -> input.getIdempotencyKey() != null);
     }
 
     /**
@@ -60,14 +110,22 @@ public class IssueService {
      * @return a Mono that emits the newly created Issue object with all its fields populated
      */
     public Mono<Issue> createIssue(CreateIssueInput input) {
-        String query =
-                "mutation CreateIssue($input: CreateIssueInput!) { createIssue(input: $input) "
-                        + this.fullIssueProjection + " }";
+        return createIssue(input, null);
+    }
 
+    /**
+     * Creates a new issue with the specified details, fetching only the fields selected by the
+     * projection for the created issue.
+     *
+     * @param input the issue creation input containing title, description, assignee, priority, and other details
+     * @param projection the fields to fetch, or null for all fields
+     * @return a Mono that emits the newly created Issue object with the selected fields populated
+     */
+    public Mono<Issue> createIssue(CreateIssueInput input, Projection projection) {
         Map<String, Object> variables = Map.of("input", input);
 
-        return client.execute(query, variables)
-                .map(response -> response.extractValueAsObject("createIssue", Issue.class));
+        return Mono.defer(() -> client.executeForValue(createIssueDocuments.get(projection),
+                variables, "createIssue", Issue.class));
     }
 
     /**
@@ -78,14 +136,85 @@ public class IssueService {
      * @return a Mono that emits the created or updated Issue object with all its fields populated
      */
     public Mono<Issue> upsertIssue(UpsertIssueInput input) {
-        String query =
-                "mutation UpsertIssue($input: UpsertIssueInput!) { upsertIssue(input: $input) "
-                        + this.fullIssueProjection + " }";
+        return upsertIssue(input, null);
+    }
 
+    /**
+     * Creates a new issue or updates an existing one based on the idempotency key, fetching only
+     * the fields selected by the projection for the resulting issue.
+     *
+     * @param input the issue upsert input containing all issue details and an optional idempotency key
+     * @param projection the fields to fetch, or null for all fields
+     * @return a Mono that emits the created or updated Issue object with the selected fields populated
+     */
+    public Mono<Issue> upsertIssue(UpsertIssueInput input, Projection projection) {
         Map<String, Object> variables = Map.of("input", input);
 
-        return client.execute(query, variables)
-                .map(response -> response.extractValueAsObject("upsertIssue", Issue.class));
+        ProjectedDocuments documents = input.getIdempotencyKey() != null
+                ? idempotentUpsertIssueDocuments
+                : upsertIssueDocuments;
+
+        return Mono.defer(() -> client.executeForValue(documents.get(projection), variables,
+                "upsertIssue", Issue.class));
+    }
+
+    /**
+     * Upserts a stream of issues in bulk. Inputs are collected for up to {@code coalesceWindow}
+     * (or until 10,000 inputs are pending), and inputs within the window that share an
+     * idempotency key are coalesced into the last one received: last write wins. The remaining
+     * inputs are sent as aliased multi-mutation documents of up to {@code batchSize} issues, with
+     * at most {@code concurrency} requests in flight. A batch is sent only once earlier batches
+     * holding any of its idempotency keys have been answered, so later windows never race earlier
+     * writes to the same key.
+     * <p>
+     * One {@link BulkResult} is emitted per input sent, carrying that input's position in the
+     * stream; inputs superseded by a later input with the same key have no result of their own.
+     * Issues fail individually: a GraphQL error for one issue, or a failed request for one
+     * batch, is reported on the affected results and the stream continues. Inputs without an
+     * idempotency key are never coalesced.
+     *
+     * @param inputs the issues to upsert
+     * @param coalesceWindow how long to collect inputs before sending them
+     * @param batchSize the number of issues per request, between 1 and {@link #MAX_BULK_BATCH_SIZE}
+     * @param concurrency the maximum number of requests in flight
+     * @return a Flux that emits the result of each issue sent
+     */
+    public Flux<BulkResult<UpsertIssueInput, Issue>> upsertIssues(
+            Publisher<? extends UpsertIssueInput> inputs, Duration coalesceWindow, int batchSize,
+            int concurrency) {
+        if (coalesceWindow == null || coalesceWindow.isNegative() || coalesceWindow.isZero()) {
+            return Flux.error(new DashXValidationException(
+                    "coalesceWindow must be positive, got: " + coalesceWindow));
+        }
+
+        return upsertIssuesExecutor.execute(inputs, batchSize, concurrency,
+                indexed -> indexed
+                        .bufferTimeout(MAX_COALESCED_INPUTS, coalesceWindow, true)
+                        .concatMapIterable(window -> partition(coalesce(window), batchSize)),
+                UpsertIssueInput::getIdempotencyKey);
+    }
+
+    /**
+     * Keeps the last input for each idempotency key, at the position of the key's first input.
+     */
+    private static List<Tuple2<Long, UpsertIssueInput>> coalesce(
+            List<Tuple2<Long, UpsertIssueInput>> window) {
+        Map<Object, Tuple2<Long, UpsertIssueInput>> latest = new LinkedHashMap<>(
+                window.size() * 4 / 3 + 1);
+        for (Tuple2<Long, UpsertIssueInput> item : window) {
+            String key = item.getT2().getIdempotencyKey();
+            // Inputs without a key are keyed by themselves, so they are all kept
+            latest.put(key != null ? key : item, item);
+        }
+        return new ArrayList<>(latest.values());
+    }
+
+    private static <T> List<List<T>> partition(List<T> items, int size) {
+        List<List<T>> batches = new ArrayList<>((items.size() + size - 1) / size);
+        for (int i = 0; i < items.size(); i += size) {
+            batches.add(items.subList(i, Math.min(i + size, items.size())));
+        }
+        return batches;
     }
 
     /**
@@ -100,10 +229,24 @@ public class IssueService {
      */
     public Mono<List<Issue>> listIssues(Map<String, Object> filter,
             List<Map<String, Object>> order, Integer limit, Integer page, String targetEnvironment) {
-        String query =
-                "query ListIssues($filter: JSON, $order: [JSON!], $limit: Int, $page: Int, $targetEnvironment: String) { issuesList(filter: $filter, order: $order, limit: $limit, page: $page, targetEnvironment: $targetEnvironment) "
-                        + this.fullIssueProjection + " }";
+        return listIssues(filter, order, limit, page, targetEnvironment, null);
+    }
 
+    /**
+     * Lists issues with optional filtering, ordering, and pagination, fetching only the fields
+     * selected by the projection.
+     *
+     * @param filter optional filter criteria to narrow down results
+     * @param order optional ordering criteria to sort the results
+     * @param limit optional maximum number of results to return per page
+     * @param page optional page number for pagination
+     * @param targetEnvironment optional target environment identifier to scope the query
+     * @param projection the fields to fetch, or null for all fields
+     * @return a Mono that emits a list of Issue objects matching the criteria
+     */
+    public Mono<List<Issue>> listIssues(Map<String, Object> filter,
+            List<Map<String, Object>> order, Integer limit, Integer page, String targetEnvironment,
+            Projection projection) {
         Map<String, Object> variables = new HashMap<>();
         if (filter != null) variables.put("filter", filter);
         if (order != null) variables.put("order", order);
@@ -111,10 +254,29 @@ public class IssueService {
         if (page != null) variables.put("page", page);
         if (targetEnvironment != null) variables.put("targetEnvironment", targetEnvironment);
 
-        return client.execute(query, variables).map(response -> {
-            Issue[] issuesArray = response.extractValueAsObject("issuesList", Issue[].class);
-            return issuesArray != null ? List.of(issuesArray) : List.of();
-        });
+        return Mono.defer(() -> client.executeForValue(listIssuesDocuments.get(projection),
+                variables, "issuesList", Issue[].class))
+                .map(issuesArray -> List.of(issuesArray))
+                .defaultIfEmpty(List.of());
+    }
+
+    /**
+     * Streams all issues matching the criteria, fetching them page by page.
+     * The next page is fetched while the current one is consumed, and only a bounded number of
+     * pages is held in memory, so arbitrarily large result sets can be processed.
+     *
+     * @param filter optional filter criteria to narrow down results
+     * @param order optional ordering criteria to sort the results
+     * @param pageSize the number of issues to fetch per request
+     * @param targetEnvironment optional target environment identifier to scope the query
+     * @param projection the fields to fetch, or null for all fields
+     * @return a Flux that emits every matching Issue, in order
+     */
+    public Flux<Issue> streamIssues(Map<String, Object> filter, List<Map<String, Object>> order,
+            int pageSize, String targetEnvironment, Projection projection) {
+        return Flux.defer(() -> Pagination.stream(
+                page -> listIssues(filter, order, pageSize, page, targetEnvironment, projection),
+                Pagination.FIRST_PAGE, pageSize));
     }
 
     /**
@@ -126,14 +288,11 @@ public class IssueService {
      */
     public Mono<AggregateResponse> aggregateIssues(Map<String, Object> filter,
             String targetEnvironment) {
-        String query =
-                "query AggregateIssues($filter: JSON, $targetEnvironment: String) { issuesAggregate(filter: $filter, targetEnvironment: $targetEnvironment) { count } }";
-
         Map<String, Object> variables = new HashMap<>();
         if (filter != null) variables.put("filter", filter);
         if (targetEnvironment != null) variables.put("targetEnvironment", targetEnvironment);
 
-        return client.execute(query, variables).map(response -> response
-                .extractValueAsObject("issuesAggregate", AggregateResponse.class));
+        return client.executeForValue(aggregateIssuesDocument, variables, "issuesAggregate",
+                AggregateResponse.class);
     }
 }
@@ -0,0 +1,335 @@
+package com.dashx.graphql;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * An immutable, precompiled GraphQL operation.
+ * The document text, its SHA-256 hash (as used for persisted queries) and the JSON request body
+ * prefix are computed once, so executing the operation does no string building.
+ */
+public final class OperationDocument {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final byte[] REQUEST_BODY_SUFFIX = "}".getBytes(StandardCharsets.UTF_8);
+
+    private final String operationType;
+    private final String operationName;
+    private final boolean idempotent;
+    private final String query;
+    private final String sha256Hash;
+    private final byte[] requestBodyPrefix;
+    private final byte[] persistedRequestBodyPrefix;
+    private final byte[] persistedRequestBodySuffix;
+
+    private OperationDocument(String operationType, String operationName, String query) {
+        this(operationType, operationName, query, "query".equals(operationType), true);
+    }
+
+    private OperationDocument(String operationType, String operationName, String query,
+            boolean idempotent, boolean normalize) {
+        this.operationType = operationType;
+        this.operationName = operationName;
+        this.idempotent = idempotent;
+        // The SDK's documents are written as indented text blocks without comments or string
+        // literals; collapse them to a single line. Other documents are sent as written.
+        this.query = normalize ? WHITESPACE.matcher(query.strip()).replaceAll(" ") : query.strip();
+        this.sha256Hash = sha256Hex(this.query);
+
+        String start = operationName != null
+                ? "{\"operationName\":\"" + escape(operationName) + "\","
+                : "{";
+        this.requestBodyPrefix = (start + "\"query\":\"" + escape(this.query) + "\",\"variables\":")
+                .getBytes(StandardCharsets.UTF_8);
+        this.persistedRequestBodyPrefix =
+                (start + "\"variables\":").getBytes(StandardCharsets.UTF_8);
+        this.persistedRequestBodySuffix =
+                (",\"extensions\":{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\""
+                        + sha256Hash + "\"}}}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a precompiled query operation.
+     *
+     * @param operationName the name of the operation, as declared in the document
+     * @param query the GraphQL document
+     * @return the precompiled operation
+     */
+    public static OperationDocument query(String operationName, String query) {
+        return new OperationDocument("query", operationName, query);
+    }
+
+    /**
+     * Creates a precompiled mutation operation.
+     *
+     * @param operationName the name of the operation, as declared in the document
+     * @param query the GraphQL document
+     * @return the precompiled operation
+     */
+    public static OperationDocument mutation(String operationName, String query) {
+        return new OperationDocument("mutation", operationName, query);
+    }
+
+    /**
+     * Creates a precompiled mutation operation that can safely be sent more than once, because
+     * repeating it has the same effect as sending it once. Such mutations are retried after
+     * transient failures like queries are.
+     *
+     * @param operationName the name of the operation, as declared in the document
+     * @param query the GraphQL document
+     * @return the precompiled operation
+     */
+    public static OperationDocument idempotentMutation(String operationName, String query) {
+        return new OperationDocument("mutation", operationName, query, true, true);
+    }
+
+    /**
+     * Creates a precompiled operation from an arbitrary GraphQL document, reading the operation
+     * type and name from its first operation definition. Fragment definitions, comments and
+     * string literals are skipped, and the document is sent as written. Documents consisting of
+     * a selection set only are queries; documents whose operation cannot be determined are
+     * treated as mutations, so they are never retried or deduplicated.
+     *
+     * @param query the GraphQL document
+     * @return the precompiled operation
+     */
+    public static OperationDocument parse(String query) {
+        int length = query.length();
+        int braces = 0;
+        int parentheses = 0;
+        boolean inFragment = false;
+
+        int i = 0;
+        while (i < length) {
+            char c = query.charAt(i);
+            if (c == '#') {
+                i = skipComment(query, i);
+            } else if (c == '"') {
+                i = skipString(query, i);
+            } else if (c == '(') {
+                parentheses++;
+                i++;
+            } else if (c == ')') {
+                parentheses--;
+                i++;
+            } else if (parentheses > 0) {
+                // Arguments and variable definitions may hold object values
+                i++;
+            } else if (c == '{') {
+                if (braces == 0 && !inFragment) {
+                    return new OperationDocument("query", null, query, true, false);
+                }
+                braces++;
+                i++;
+            } else if (c == '}') {
+                if (--braces == 0) {
+                    inFragment = false;
+                }
+                i++;
+            } else if (braces == 0 && !inFragment && isNameStart(c)) {
+                int end = nameEnd(query, i);
+                String keyword = query.substring(i, end);
+                if ("fragment".equals(keyword)) {
+                    inFragment = true;
+                    i = end;
+                    continue;
+                }
+                if (!"query".equals(keyword) && !"mutation".equals(keyword)
+                        && !"subscription".equals(keyword)) {
+                    break;
+                }
+
+                int nameStart = skipIgnored(query, end);
+                String name = nameStart < length && isNameStart(query.charAt(nameStart))
+                        ? query.substring(nameStart, nameEnd(query, nameStart))
+                        : null;
+                return new OperationDocument(keyword, name, query, "query".equals(keyword),
+                        false);
+            } else {
+                i++;
+            }
+        }
+        return new OperationDocument("mutation", null, query, false, false);
+    }
+
+    /**
+     * Returns the operation type, {@code "query"} or {@code "mutation"}.
+     *
+     * @return the operation type
+     */
+    public String getOperationType() {
+        return operationType;
+    }
+
+    public boolean isQuery() {
+        return "query".equals(operationType);
+    }
+
+    /**
+     * Returns whether sending the operation more than once has the same effect as sending it
+     * once. True for queries and for mutations created with {@link #idempotentMutation}.
+     *
+     * @return whether the operation is idempotent
+     */
+    public boolean isIdempotent() {
+        return idempotent;
+    }
+
+    /**
+     * Returns the name of the operation, or null for anonymous documents.
+     *
+     * @return the operation name
+     */
+    public String getOperationName() {
+        return operationName;
+    }
+
+    /**
+     * Returns the GraphQL document. Documents created by the SDK are normalized to a single
+     * line, parsed documents are returned as written.
+     *
+     * @return the GraphQL document
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns the lowercase hex SHA-256 hash of the document, as used by persisted queries.
+     *
+     * @return the document hash
+     */
+    public String getSha256Hash() {
+        return sha256Hash;
+    }
+
+    /**
+     * Returns the UTF-8 encoded start of the JSON request body for this operation, up to and
+     * including the {@code "variables":} key. A request body is this prefix followed by the
+     * serialized variables and a closing brace.
+     *
+     * @return a read-only view of the request body prefix
+     */
+    public ByteBuffer getRequestBodyPrefix() {
+        return getRequestBodyPrefix(true);
+    }
+
+    /**
+     * Returns the UTF-8 encoded start of the JSON request body for this operation, up to and
+     * including the {@code "variables":} key. Persisted query requests that only carry the
+     * document hash leave the query out.
+     *
+     * @param includeQuery whether the prefix carries the full document
+     * @return a read-only view of the request body prefix
+     */
+    public ByteBuffer getRequestBodyPrefix(boolean includeQuery) {
+        return ByteBuffer.wrap(includeQuery ? requestBodyPrefix : persistedRequestBodyPrefix)
+                .asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the UTF-8 encoded end of the JSON request body, following the serialized variables.
+     * For persisted queries it carries the {@code persistedQuery} extension with the document hash.
+     *
+     * @param persistedQuery whether the request uses the persisted query protocol
+     * @return a read-only view of the request body suffix
+     */
+    public ByteBuffer getRequestBodySuffix(boolean persistedQuery) {
+        return ByteBuffer.wrap(persistedQuery ? persistedRequestBodySuffix : REQUEST_BODY_SUFFIX)
+                .asReadOnlyBuffer();
+    }
+
+    @Override
+    public String toString() {
+        return operationName != null ? operationType + " " + operationName : operationType;
+    }
+
+    private static boolean isNameStart(char c) {
+        return c == '_' || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static int nameEnd(String document, int start) {
+        int i = start + 1;
+        while (i < document.length()
+                && (isNameStart(document.charAt(i))
+                        || (document.charAt(i) >= '0' && document.charAt(i) <= '9'))) {
+            i++;
+        }
+        return i;
+    }
+
+    /** Skips whitespace, commas and comments, which are insignificant between tokens. */
+    private static int skipIgnored(String document, int start) {
+        int i = start;
+        while (i < document.length()) {
+            char c = document.charAt(i);
+            if (c == '#') {
+                i = skipComment(document, i);
+            } else if (c == ',' || c == '\uFEFF' || Character.isWhitespace(c)) {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static int skipComment(String document, int start) {
+        int end = start;
+        while (end < document.length()
+                && document.charAt(end) != '\n' && document.charAt(end) != '\r') {
+            end++;
+        }
+        return end;
+    }
+
+    /** Skips a string or block string literal starting at the given quote. */
+    private static int skipString(String document, int start) {
+        if (document.startsWith("\"\"\"", start)) {
+            int i = start + 3;
+            while (i < document.length()) {
+                if (document.startsWith("\\\"\"\"", i)) {
+                    i += 4;
+                } else if (document.startsWith("\"\"\"", i)) {
+                    return i + 3;
+                } else {
+                    i++;
+                }
+            }
+            return i;
+        }
+
+        int i = start + 1;
+        while (i < document.length()) {
+            char c = document.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '"') {
+                return i + 1;
+            } else if (c == '\n' || c == '\r') {
+                return i;
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    private static String escape(String value) {
+        return new String(JsonStringEncoder.getInstance().quoteAsString(value));
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
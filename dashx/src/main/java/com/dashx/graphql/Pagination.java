@@ -0,0 +1,94 @@
+package com.dashx.graphql;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SynchronousSink;
+
+import com.dashx.exception.DashXValidationException;
+
+/**
+ * Turns page-by-page list operations into a single auto-paginating Flux.
+ * The next page is requested while the current one is being consumed. Only the page being
+ * consumed and the few pages fetched ahead of it are held in memory, regardless of how many
+ * items there are in total.
+ */
+final class Pagination {
+    /** The page number of the first page; list operations are 0-indexed. */
+    static final int FIRST_PAGE = 0;
+
+    private static final int PREFETCH_PAGES = 1;
+
+    private Pagination() {}
+
+    /**
+     * Streams every item across all pages, stopping after the first page that is not full.
+     *
+     * @param fetchPage fetches the page with the given page number
+     * @param firstPage the page number to start from
+     * @param pageSize the number of items requested per page
+     * @return a Flux emitting the items of all pages in order
+     * @throws DashXValidationException if pageSize is not positive
+     */
+    static <T> Flux<T> stream(IntFunction<Mono<List<T>>> fetchPage, int firstPage, int pageSize) {
+        if (pageSize <= 0) {
+            throw new DashXValidationException("pageSize must be positive, got: " + pageSize);
+        }
+
+        return Flux.generate(() -> firstPage, (Integer page, SynchronousSink<Integer> sink) -> {
+                    sink.next(page);
+                    return page + 1;
+                })
+                .flatMapSequential(fetchPage::apply, PREFETCH_PAGES + 1, 1)
+                .takeUntil(items -> items.size() < pageSize)
+                .flatMapIterable(items -> items, 1);
+    }
+
+    /**
+     * Streams every item across all pages, for pages that are themselves decoded incrementally.
+     * Pages are fetched one after another, never ahead, so at most one page response is held
+     * in memory at a time. Stops after the first page that is not full.
+     *
+     * @param fetchPage fetches and decodes the page with the given page number
+     * @param firstPage the page number to start from
+     * @param pageSize the number of items requested per page
+     * @return a Flux emitting the items of all pages in order
+     * @throws DashXValidationException if pageSize is not positive
+     */
+    static <T> Flux<T> streamIncrementally(IntFunction<Flux<T>> fetchPage, int firstPage,
+            int pageSize) {
+        if (pageSize <= 0) {
+            throw new DashXValidationException("pageSize must be positive, got: " + pageSize);
+        }
+
+        return Flux.defer(() -> {
+            AtomicBoolean lastPageSeen = new AtomicBoolean();
+
+            return Flux.generate(() -> firstPage, (Integer page, SynchronousSink<Integer> sink) -> {
+                        if (lastPageSeen.get()) {
+                            sink.complete();
+                        } else {
+                            sink.next(page);
+                        }
+                        return page + 1;
+                    })
+                    .concatMap(page -> {
+                        // Page numbers are requested ahead of time; skip those past the end
+                        if (lastPageSeen.get()) {
+                            return Flux.<T>empty();
+                        }
+                        AtomicInteger count = new AtomicInteger();
+                        return fetchPage.apply(page)
+                                .doOnNext(item -> count.incrementAndGet())
+                                .doOnComplete(() -> {
+                                    if (count.get() < pageSize) {
+                                        lastPageSeen.set(true);
+                                    }
+                                });
+                    }, 1);
+        });
+    }
+}
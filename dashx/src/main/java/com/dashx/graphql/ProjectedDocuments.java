@@ -0,0 +1,51 @@
+package com.dashx.graphql;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import com.dashx.exception.DashXValidationException;
+import com.dashx.graphql.utils.Projection;
+
+/**
+ * The precompiled documents of one operation, keyed by the projection they select.
+ * The document for the full projection is built up front; documents for custom projections
+ * are built on first use and reused afterwards.
+ */
+final class ProjectedDocuments {
+    private final Class<?> type;
+    private final Function<String, OperationDocument> factory;
+    private final OperationDocument fullDocument;
+    private final Map<Projection, OperationDocument> documents = new ConcurrentHashMap<>();
+
+    /**
+     * @param type the generated type returned by the operation
+     * @param fullProjection the selection set used when no projection is given
+     * @param factory builds the operation's document around a selection set
+     */
+    ProjectedDocuments(Class<?> type, String fullProjection,
+            Function<String, OperationDocument> factory) {
+        this.type = type;
+        this.factory = factory;
+        this.fullDocument = factory.apply(fullProjection);
+    }
+
+    /**
+     * Returns the document selecting the given projection.
+     *
+     * @param projection the projection to select, or null for all fields
+     * @return the precompiled document
+     * @throws DashXValidationException if the projection is for a different type
+     */
+    OperationDocument get(Projection projection) {
+        if (projection == null) {
+            return fullDocument;
+        }
+        if (!type.equals(projection.getType())) {
+            throw new DashXValidationException("Projection for " + projection.getType().getSimpleName()
+                    + " cannot be used for " + type.getSimpleName());
+        }
+        return documents.computeIfAbsent(projection,
+                key -> factory.apply(key.toSelectionSet()));
+    }
+}
@@ -1,12 +1,21 @@
 package com.dashx.graphql;
 
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import com.dashx.graphql.generated.types.SearchRecordsInput;
+import com.dashx.DashXConfig;
 import com.dashx.DashXGraphQLClient;
+import com.dashx.DashXJson;
 
 /**
  * Service class for content record operations.
@@ -14,7 +23,17 @@ import com.dashx.DashXGraphQLClient;
  * Records represent content items in your DashX content management system.
  */
 public class RecordService {
+    /** The page size used when streaming records without an explicit limit. */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final ObjectReader RECORD_READER =
+            DashXJson.mapper().readerFor(new TypeReference<Map<String, Object>>() {});
+    // Readers are immutable and thread-safe; building one per call would redo type introspection
+    private static final Map<Class<?>, ObjectReader> TYPED_READERS = new ConcurrentHashMap<>();
+
     private final DashXGraphQLClient client;
+    private final OperationDocument searchRecordsDocument;
+    private final ResponseCache<List<Object>, List<?>> recordCache;
 
     /**
      * Constructs a new RecordService with the specified GraphQL client.
@@ -22,12 +41,35 @@ public class RecordService {
      * @param client the GraphQL client to use for executing queries and mutations
      */
     public RecordService(DashXGraphQLClient client) {
+        this(client, null);
+    }
+
+    /**
+     * Constructs a new RecordService with the specified GraphQL client and configuration.
+     * searchRecords results are cached when the configuration specifies a record cache size.
+     *
+     * @param client the GraphQL client to use for executing queries and mutations
+     * @param config configuration object containing the cache settings, can be null
+     */
+    public RecordService(DashXGraphQLClient client, DashXConfig config) {
         this.client = client;
+        this.searchRecordsDocument = OperationDocument.query("SearchRecords",
+                "query SearchRecords($input: SearchRecordsInput!) { searchRecords(input: $input) }");
+
+        if (config != null && config.getRecordCacheMaxSize() != null) {
+            int ttl = config.getRecordCacheTtl() != null ? config.getRecordCacheTtl() : 60000;
+            this.recordCache = new ResponseCache<>(config.getRecordCacheMaxSize(),
+                    Duration.ofMillis(ttl));
+        } else {
+            this.recordCache = null;
+        }
     }
 
     /**
      * Searches for content records based on the provided search criteria.
      * Supports filtering, sorting, pagination, localization, and field selection.
+     * When the record cache is enabled, the result may be served from the cache; cached lists
+     * are read-only.
      *
      * @param input the search input containing resource name, filters, ordering, pagination,
      *              language preferences, and field inclusions/exclusions
@@ -35,27 +77,106 @@ public class RecordService {
      *         with its fields and values
      */
     public Mono<List<Map<String, Object>>> searchRecords(SearchRecordsInput input) {
-        String query =
-                "query SearchRecords($input: SearchRecordsInput!) { searchRecords(input: $input) }";
+        return cached(input, Map.class, () -> searchPage(input).collectList());
+    }
 
+    /**
+     * Streams all content records matching the search criteria, walking pages from
+     * {@code input.page} (or the first page) onwards. Records are decoded one at a time straight
+     * from each response body, so only a single page response is held in memory regardless of
+     * the total number of records.
+     *
+     * @param input the search input; its limit is used as the page size
+     *              (default: {@value #DEFAULT_PAGE_SIZE})
+     * @return a Flux emitting every matching record in order
+     */
+    public Flux<Map<String, Object>> streamRecords(SearchRecordsInput input) {
+        int pageSize = input.getLimit() != null ? input.getLimit() : DEFAULT_PAGE_SIZE;
+        int firstPage = input.getPage() != null ? input.getPage() : Pagination.FIRST_PAGE;
+
+        return Flux.defer(() -> Pagination.streamIncrementally(
+                page -> searchPage(withPage(input, page, pageSize)), firstPage, pageSize));
+    }
+
+    /**
+     * Searches for content records and binds each record directly into the given type, without
+     * building an intermediate map per record. Record fields without a matching property are
+     * ignored.
+     *
+     * @param input the search input containing resource name, filters, ordering, pagination,
+     *              language preferences, and field inclusions/exclusions
+     * @param type the class to bind each record into, e.g. a POJO or a Java record
+     * @return a Mono that emits the list of decoded records
+     */
+    public <T> Mono<List<T>> searchRecords(SearchRecordsInput input, Class<T> type) {
+        return cached(input, type, () -> this.<T>searchPage(input, readerFor(type)).collectList());
+    }
+
+    /**
+     * Streams all content records matching the search criteria, binding each record directly
+     * into the given type. Pages are walked as in {@link #streamRecords(SearchRecordsInput)}.
+     *
+     * @param input the search input; its limit is used as the page size
+     *              (default: {@value #DEFAULT_PAGE_SIZE})
+     * @param type the class to bind each record into, e.g. a POJO or a Java record
+     * @return a Flux emitting every matching record in order
+     */
+    public <T> Flux<T> streamRecords(SearchRecordsInput input, Class<T> type) {
+        ObjectReader reader = readerFor(type);
+        int pageSize = input.getLimit() != null ? input.getLimit() : DEFAULT_PAGE_SIZE;
+        int firstPage = input.getPage() != null ? input.getPage() : Pagination.FIRST_PAGE;
+
+        return Flux.defer(() -> Pagination.streamIncrementally(
+                page -> this.<T>searchPage(withPage(input, page, pageSize), reader), firstPage,
+                pageSize));
+    }
+
+    private Flux<Map<String, Object>> searchPage(SearchRecordsInput input) {
+        return searchPage(input, RECORD_READER);
+    }
+
+    private <T> Flux<T> searchPage(SearchRecordsInput input, ObjectReader reader) {
         Map<String, Object> variables = Map.of("input", input);
 
-        return client.execute(query, variables).map(response -> {
-            Object raw = response.extractValueAsObject("searchRecords", Object.class);
-
-            if (!(raw instanceof List<?> rawList)) {
-                return List.<Map<String, Object>>of();
-            }
-
-            List<Map<String, Object>> results = new ArrayList<>(rawList.size());
-            for (Object item : rawList) {
-                if (item instanceof Map<?, ?> map) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> typedMap = (Map<String, Object>) map;
-                    results.add(typedMap);
-                }
-            }
-            return results;
-        });
+        return client.executeForBody(searchRecordsDocument, variables)
+                .flatMapMany(body -> ResponseArrayReader.<T>read(body, "searchRecords", reader));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Mono<List<T>> cached(SearchRecordsInput input, Class<?> type,
+            Supplier<Mono<List<T>>> loader) {
+        if (recordCache == null) {
+            return loader.get();
+        }
+        // Cached lists are shared between callers, so they are handed out read-only
+        return recordCache
+                .get(cacheKey(input, type),
+                        () -> loader.get().<List<?>>map(Collections::unmodifiableList))
+                .map(list -> (List<T>) list);
+    }
+
+    private static List<Object> cacheKey(SearchRecordsInput input, Class<?> type) {
+        return Arrays.asList(input.getResource(), input.getFilter(), input.getOrder(),
+                input.getLimit(), input.getPage(), input.getPreview(), input.getLanguage(),
+                input.getFields(), input.getInclude(), input.getExclude(), type);
+    }
+
+    private static ObjectReader readerFor(Class<?> type) {
+        return TYPED_READERS.computeIfAbsent(type, DashXJson.mapper()::readerFor);
+    }
+
+    private static SearchRecordsInput withPage(SearchRecordsInput input, int page, int limit) {
+        return SearchRecordsInput.newBuilder()
+                .resource(input.getResource())
+                .filter(input.getFilter())
+                .order(input.getOrder())
+                .limit(limit)
+                .page(page)
+                .preview(input.getPreview())
+                .language(input.getLanguage())
+                .fields(input.getFields())
+                .include(input.getInclude())
+                .exclude(input.getExclude())
+                .build();
     }
 }
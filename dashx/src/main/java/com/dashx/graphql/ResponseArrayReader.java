@@ -0,0 +1,149 @@
+package com.dashx.graphql;
+
+import java.io.IOException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.SynchronousSink;
+
+import com.dashx.DashXJson;
+import com.dashx.exception.DashXException;
+import com.dashx.exception.DashXGraphQLException;
+import com.netflix.graphql.dgs.client.GraphQLResponse;
+
+/**
+ * Decodes the elements of a list field of a GraphQL response body one at a time with a
+ * streaming {@link JsonParser}, instead of materializing the whole response first.
+ * Only the element being emitted is held in memory besides the raw body itself.
+ */
+final class ResponseArrayReader {
+    private ResponseArrayReader() {}
+
+    /**
+     * Emits the elements of the array at {@code data.<field>}, decoding each with the given
+     * reader. A missing or null field emits nothing. If the response carries GraphQL errors,
+     * the Flux fails with a {@link DashXGraphQLException}.
+     *
+     * @param body the UTF-8 JSON response body
+     * @param field the root field holding the array
+     * @param elementReader the reader used to decode each element
+     * @return a Flux emitting the decoded elements in order
+     */
+    static <T> Flux<T> read(byte[] body, String field, ObjectReader elementReader) {
+        return Flux.generate(() -> open(body, field),
+                (Cursor cursor, SynchronousSink<T> sink) -> {
+                    try {
+                        next(cursor, elementReader, sink);
+                    } catch (IOException e) {
+                        sink.error(new DashXException("Failed to parse GraphQL response", e));
+                    }
+                    return cursor;
+                }, Cursor::close);
+    }
+
+    private static Cursor open(byte[] body, String field) throws IOException {
+        JsonParser parser = DashXJson.mapper().createParser(body);
+        Cursor cursor = new Cursor(parser);
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            cursor.close();
+            throw new DashXException("Malformed GraphQL response");
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if ("data".equals(name) && value == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String dataField = parser.currentName();
+                    if (parser.nextToken() == JsonToken.START_ARRAY && field.equals(dataField)) {
+                        // Leave the parser positioned inside the array
+                        cursor.inArray = true;
+                        return cursor;
+                    }
+                    parser.skipChildren();
+                }
+            } else if ("errors".equals(name)) {
+                cursor.errors = readErrors(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return cursor;
+    }
+
+    private static <T> void next(Cursor cursor, ObjectReader elementReader, SynchronousSink<T> sink)
+            throws IOException {
+        JsonParser parser = cursor.parser;
+
+        if (cursor.errors == null && cursor.inArray) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                T element = elementReader.readValue(parser);
+                if (element != null) {
+                    sink.next(element);
+                    return;
+                }
+            }
+            cursor.inArray = false;
+            readRemainder(cursor);
+        }
+
+        if (cursor.errors != null) {
+            sink.error(toException(cursor.errors));
+        } else {
+            sink.complete();
+        }
+    }
+
+    private static void readRemainder(Cursor cursor) throws IOException {
+        JsonParser parser = cursor.parser;
+
+        // The rest of the data object
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        // The rest of the response, errors may follow data
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if ("errors".equals(name)) {
+                cursor.errors = readErrors(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+    }
+
+    private static JsonNode readErrors(JsonParser parser) throws IOException {
+        JsonNode errors = parser.readValueAsTree();
+        return errors != null && errors.size() > 0 ? errors : null;
+    }
+
+    private static DashXGraphQLException toException(JsonNode errors) {
+        GraphQLResponse response = new GraphQLResponse("{\"errors\":" + errors + "}");
+        return new DashXGraphQLException(response.getErrors());
+    }
+
+    private static final class Cursor {
+        private final JsonParser parser;
+        private boolean inArray;
+        private JsonNode errors;
+
+        private Cursor(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        private void close() {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                // Nothing to release for an in-memory body
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.dashx.graphql;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * A bounded in-memory cache of operation results, evicting the least recently used entry once
+ * {@code maxSize} is exceeded and expiring entries {@code ttl} after they were loaded.
+ * <p>
+ * Concurrent misses for the same key are coalesced: the first caller starts the request and
+ * every other caller waits for that same result. Failed and empty results are not cached.
+ * Cached values are shared between callers and must not be modified.
+ */
+final class ResponseCache<K, V> {
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access-ordered, so iteration starts at the least recently used entry
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    ResponseCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, System::nanoTime);
+    }
+
+    ResponseCache(int maxSize, Duration ttl, LongSupplier nanoClock) {
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the cached value for the key, loading it with the loader on a miss.
+     *
+     * @param key the cache key
+     * @param loader supplies the request that loads the value
+     * @return a Mono that emits the cached or loaded value
+     */
+    Mono<V> get(K key, Supplier<Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Entry<V> entry;
+            boolean load = false;
+
+            lock.lock();
+            try {
+                entry = entries.get(key);
+                if (entry == null || entry.isExpired(nanoClock.getAsLong())) {
+                    entry = new Entry<>();
+                    entries.put(key, entry);
+                    evictOverflow();
+                    load = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (load) {
+                load(key, entry, loader);
+            }
+            // A subscriber cancelling must not cancel the load shared with other callers
+            return Mono.fromFuture(entry.future, true);
+        });
+    }
+
+    /**
+     * Removes every entry from the cache. Loads in flight complete but are not kept.
+     */
+    void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void load(K key, Entry<V> entry, Supplier<Mono<V>> loader) {
+        Mono<V> request;
+        try {
+            request = loader.get();
+        } catch (RuntimeException e) {
+            remove(key, entry);
+            entry.future.completeExceptionally(e);
+            return;
+        }
+
+        request.subscribe(
+                value -> {
+                    entry.expiresAt = nanoClock.getAsLong() + ttlNanos;
+                    entry.loaded = true;
+                    entry.future.complete(value);
+                },
+                error -> {
+                    remove(key, entry);
+                    entry.future.completeExceptionally(error);
+                },
+                () -> {
+                    if (!entry.future.isDone()) {
+                        remove(key, entry);
+                        entry.future.complete(null);
+                    }
+                });
+    }
+
+    private void remove(K key, Entry<V> entry) {
+        lock.lock();
+        try {
+            entries.remove(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+        private volatile long expiresAt;
+        // Loads in flight never expire, so concurrent misses keep sharing them
+        private volatile boolean loaded;
+
+        private boolean isExpired(long now) {
+            return loaded && now - expiresAt >= 0;
+        }
+    }
+}
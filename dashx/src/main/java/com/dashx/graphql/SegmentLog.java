@@ -0,0 +1,349 @@
+package com.dashx.graphql;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An append-only log of byte records, stored in fixed-size memory-mapped segment files.
+ * <p>
+ * Each record is written as {@code [length][CRC32C][payload]}, with the length written last so
+ * that a record only becomes visible once it is complete. Records are read in order from a
+ * persisted cursor, and segments are deleted once every record in them has been acknowledged.
+ * When the log reaches its maximum number of segments, the oldest segment is evicted, dropping
+ * its records whether or not they were read.
+ * <p>
+ * On open, the last segment is scanned to find the end of its valid records; a record torn by
+ * a crash is discarded. Writes go to the page cache, so records survive a crash of the process
+ * but not necessarily of the operating system.
+ */
+final class SegmentLog {
+    private static final Logger logger = LoggerFactory.getLogger(SegmentLog.class);
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CURSOR_FILE = "cursor";
+    private static final int HEADER_SIZE = 8;
+    // Segment id, offset and a checksum of both
+    private static final int CURSOR_SIZE = 16;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final MappedByteBuffer cursor;
+    private Segment head;
+    private long readSegment;
+    private int readOffset;
+
+    /**
+     * Opens the log in the given directory, creating it if needed and recovering records written
+     * before a restart.
+     *
+     * @param directory the directory holding the segment files
+     * @param segmentSize the size of each segment file, in bytes
+     * @param maxSegments the maximum number of segment files, at least 2
+     * @throws IOException if the directory or its files cannot be accessed
+     */
+    SegmentLog(Path directory, int segmentSize, int maxSegments) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = Math.max(2, maxSegments);
+
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files =
+                Files.newDirectoryStream(directory, "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                long id = Long.parseLong(
+                        name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(id, Segment.open(file, id, segmentSize));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.put(0L, Segment.open(segmentPath(0), 0, segmentSize));
+        }
+        this.head = segments.lastEntry().getValue();
+        head.clearTail();
+
+        this.cursor = map(directory.resolve(CURSOR_FILE), CURSOR_SIZE);
+        restoreCursor();
+    }
+
+    /**
+     * Appends a record to the log, evicting the oldest segment if the log is full.
+     *
+     * @param payload the record
+     * @throws IllegalArgumentException if the record does not fit in a segment
+     * @throws IOException if a new segment file cannot be created
+     */
+    void append(byte[] payload) throws IOException {
+        int size = HEADER_SIZE + payload.length;
+        if (size > segmentSize) {
+            throw new IllegalArgumentException("Record of " + payload.length
+                    + " bytes exceeds the segment size of " + segmentSize);
+        }
+
+        lock.lock();
+        try {
+            if (head.limit + size > segmentSize) {
+                roll();
+            }
+            head.write(payload);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reads up to {@code maxRecords} records following the cursor, without moving it.
+     *
+     * @param maxRecords the maximum number of records to read
+     * @return the records read, empty if the log has no unacknowledged records
+     */
+    Batch read(int maxRecords) {
+        lock.lock();
+        try {
+            List<byte[]> records = new ArrayList<>();
+            long segmentId = readSegment;
+            int offset = readOffset;
+
+            while (records.size() < maxRecords) {
+                Segment segment = segments.get(segmentId);
+                if (segment != null && offset < segment.limit) {
+                    byte[] record = segment.read(offset);
+                    if (record != null) {
+                        records.add(record);
+                        offset += HEADER_SIZE + record.length;
+                        continue;
+                    }
+                    logger.warn("Skipping corrupted records at {}:{} of {}", segmentId, offset,
+                            directory);
+                }
+
+                // Continue with the next segment, if any
+                Map.Entry<Long, Segment> next = segments.higherEntry(segmentId);
+                if (next == null) {
+                    break;
+                }
+                segmentId = next.getKey();
+                offset = 0;
+            }
+
+            return new Batch(records, segmentId, offset);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Moves the cursor past the records of the batch and deletes the segments it completed.
+     *
+     * @param batch a batch returned by {@link #read(int)}
+     */
+    void acknowledge(Batch batch) {
+        lock.lock();
+        try {
+            // The segment may have been evicted since the batch was read
+            if (batch.segmentId < readSegment ||
+                    (batch.segmentId == readSegment && batch.offset < readOffset)) {
+                return;
+            }
+            readSegment = batch.segmentId;
+            readOffset = batch.offset;
+            persistCursor();
+
+            while (segments.firstKey() < readSegment) {
+                delete(segments.pollFirstEntry().getValue());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether every record in the log has been acknowledged.
+     *
+     * @return whether the log has no pending records
+     */
+    boolean isEmpty() {
+        lock.lock();
+        try {
+            return readSegment == head.id && readOffset >= head.limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Flushes the mapped files to disk. */
+    void close() {
+        lock.lock();
+        try {
+            head.buffer.force();
+            cursor.force();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void roll() throws IOException {
+        if (segments.size() >= maxSegments) {
+            Segment oldest = segments.pollFirstEntry().getValue();
+            if (oldest.id == readSegment) {
+                if (readOffset < oldest.limit) {
+                    logger.warn("Log {} is full, dropping unread records of segment {}", directory,
+                            oldest.id);
+                }
+                readSegment = segments.firstKey();
+                readOffset = 0;
+                persistCursor();
+            }
+            delete(oldest);
+        }
+
+        head.buffer.force();
+        long id = head.id + 1;
+        head = Segment.open(segmentPath(id), id, segmentSize);
+        segments.put(id, head);
+    }
+
+    private void restoreCursor() {
+        long segmentId = cursor.getLong(0);
+        int offset = cursor.getInt(8);
+        int checksum = cursor.getInt(12);
+
+        if (checksum == cursorChecksum(segmentId, offset) && segments.containsKey(segmentId)
+                && offset <= segments.get(segmentId).limit) {
+            readSegment = segmentId;
+            readOffset = offset;
+        } else {
+            // No usable cursor: deliver everything still on disk, at least once
+            readSegment = segments.firstKey();
+            readOffset = 0;
+        }
+    }
+
+    private void persistCursor() {
+        cursor.putLong(0, readSegment);
+        cursor.putInt(8, readOffset);
+        cursor.putInt(12, cursorChecksum(readSegment, readOffset));
+    }
+
+    private static int cursorChecksum(long segmentId, int offset) {
+        CRC32C crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(12).putLong(segmentId).putInt(offset).flip());
+        return (int) crc.getValue();
+    }
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("%020d%s", id, SEGMENT_SUFFIX));
+    }
+
+    private void delete(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete outbox segment {}", segment.path, e);
+        }
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /** Records read from the log, and the cursor position following them. */
+    static final class Batch {
+        private final List<byte[]> records;
+        private final long segmentId;
+        private final int offset;
+
+        private Batch(List<byte[]> records, long segmentId, int offset) {
+            this.records = records;
+            this.segmentId = segmentId;
+            this.offset = offset;
+        }
+
+        List<byte[]> records() {
+            return records;
+        }
+
+        boolean isEmpty() {
+            return records.isEmpty();
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final long id;
+        private final MappedByteBuffer buffer;
+        // End of the valid records
+        private int limit;
+
+        private Segment(Path path, long id, MappedByteBuffer buffer) {
+            this.path = path;
+            this.id = id;
+            this.buffer = buffer;
+        }
+
+        private static Segment open(Path path, long id, int size) throws IOException {
+            Segment segment = new Segment(path, id, map(path, size));
+            while (segment.limit < size && segment.read(segment.limit) != null) {
+                segment.limit += HEADER_SIZE + segment.buffer.getInt(segment.limit);
+            }
+            return segment;
+        }
+
+        /** Returns the record at the offset, or null if there is no complete, valid record. */
+        private byte[] read(int offset) {
+            if (offset + HEADER_SIZE > buffer.capacity()) {
+                return null;
+            }
+            int length = buffer.getInt(offset);
+            if (length <= 0 || length > buffer.capacity() - offset - HEADER_SIZE) {
+                return null;
+            }
+
+            byte[] payload = new byte[length];
+            buffer.get(offset + HEADER_SIZE, payload);
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+            return (int) crc.getValue() == buffer.getInt(offset + 4) ? payload : null;
+        }
+
+        private void write(byte[] payload) {
+            CRC32C crc = new CRC32C();
+            crc.update(payload);
+
+            buffer.put(limit + HEADER_SIZE, payload);
+            buffer.putInt(limit + 4, (int) crc.getValue());
+            // Written last, so readers never see a partial record
+            buffer.putInt(limit, payload.length);
+            limit += HEADER_SIZE + payload.length;
+        }
+
+        /** Zeroes whatever follows the valid records, e.g. a record torn by a crash. */
+        private void clearTail() {
+            for (int i = limit; i < buffer.capacity(); i++) {
+                if (buffer.get(i) != 0) {
+                    buffer.put(i, (byte) 0);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.dashx.graphql;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import com.dashx.DashXGraphQLClient;
+import com.dashx.exception.DashXException;
+import com.dashx.graphql.generated.types.TrackEventInput;
+import com.dashx.graphql.generated.types.TrackEventResponse;
+
+/**
+ * Buffers tracked events in a bounded queue and sends them as aliased multi-mutation
+ * documents, one request per batch. A batch is flushed as soon as {@code maxBatchSize}
+ * events are queued, or once the linger time has elapsed since the first queued event.
+ * Each caller's result is resolved individually from its alias in the batch response. When
+ * some events of a batch fail, the API answers without data, and the events not at fault are
+ * resent, see {@link AliasedBatch#resendable}.
+ */
+final class TrackEventBatcher {
+    private static final Logger logger = LoggerFactory.getLogger(TrackEventBatcher.class);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
+    private final DashXGraphQLClient client;
+    private final String projection;
+    private final int maxBatchSize;
+    private final Duration linger;
+    private final int queueCapacity;
+    private final BlockingQueue<PendingEvent> queue;
+    private final Scheduler scheduler;
+    private final AtomicBoolean lingerFlushScheduled = new AtomicBoolean();
+    // Guards closing against concurrent enqueues, so close() drains every accepted event
+    private final ReentrantLock lock = new ReentrantLock();
+    // Documents are cached per batch size, so steady-state flushes do no string building
+    private final AtomicReferenceArray<OperationDocument> documents;
+    private volatile boolean closed;
+
+    TrackEventBatcher(DashXGraphQLClient client, String projection, int maxBatchSize,
+            Duration linger, int queueCapacity) {
+        this.client = client;
+        this.projection = projection;
+        this.maxBatchSize = maxBatchSize;
+        this.linger = linger;
+        this.queueCapacity = queueCapacity;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.scheduler = Schedulers.newSingle("dashx-track-batcher", true);
+        this.documents = new AtomicReferenceArray<>(maxBatchSize + 1);
+    }
+
+    /**
+     * Queues an event for the next batch.
+     *
+     * @param input the event to track
+     * @return a Mono that emits the event's own TrackEventResponse once its batch has been sent
+     */
+    Mono<TrackEventResponse> submit(TrackEventInput input) {
+        return Mono.defer(() -> {
+            PendingEvent pending = new PendingEvent(input);
+            lock.lock();
+            try {
+                if (closed) {
+                    return Mono.error(new DashXException("Event batching has been shut down"));
+                }
+                if (!queue.offer(pending)) {
+                    return Mono.error(new DashXException(
+                            "Track event queue is full (capacity: " + queueCapacity + ")"));
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                if (lingerFlushScheduled.compareAndSet(false, true)) {
+                    scheduler.schedule(this::flushAll, linger.toMillis(), TimeUnit.MILLISECONDS);
+                }
+                if (queue.size() >= maxBatchSize) {
+                    scheduler.schedule(this::flushFullBatches);
+                }
+            } catch (RejectedExecutionException e) {
+                // Closed meanwhile; close() has sent the event unless it is still queued
+                failQueued(new DashXException("Event batching has been shut down", e));
+            }
+
+            return Mono.fromFuture(pending.future);
+        });
+    }
+
+    /**
+     * Stops accepting events and sends everything still queued, waiting a bounded amount of
+     * time for those final batches to complete.
+     */
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+
+        List<Mono<Void>> sends = new ArrayList<>();
+        List<PendingEvent> batch;
+        while (!(batch = drain()).isEmpty()) {
+            sends.add(send(batch));
+        }
+        scheduler.dispose();
+
+        if (sends.isEmpty()) {
+            return;
+        }
+        try {
+            Mono.when(sends).block(CLOSE_TIMEOUT);
+        } catch (RuntimeException e) {
+            logger.debug("Failed to flush queued events on close", e);
+        }
+    }
+
+    private void flushAll() {
+        // Reset before draining so events queued from now on schedule their own flush
+        lingerFlushScheduled.set(false);
+
+        List<PendingEvent> batch;
+        while (!(batch = drain()).isEmpty()) {
+            send(batch).subscribe();
+        }
+    }
+
+    private void flushFullBatches() {
+        while (queue.size() >= maxBatchSize) {
+            List<PendingEvent> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            send(batch).subscribe();
+        }
+    }
+
+    private void failQueued(Throwable error) {
+        List<PendingEvent> batch;
+        while (!(batch = drain()).isEmpty()) {
+            batch.forEach(pending -> pending.future.completeExceptionally(error));
+        }
+    }
+
+    private List<PendingEvent> drain() {
+        List<PendingEvent> batch = new ArrayList<>(Math.min(maxBatchSize, queue.size()));
+        queue.drainTo(batch, maxBatchSize);
+        return batch;
+    }
+
+    private Mono<Void> send(List<PendingEvent> batch) {
+        int size = batch.size();
+        List<TrackEventInput> inputs = new ArrayList<>(size);
+        for (PendingEvent pending : batch) {
+            inputs.add(pending.input);
+        }
+
+        logger.debug("Sending batch of {} tracked events", size);
+        return client.executeRaw(document(size), AliasedBatch.variables(inputs))
+                .flatMap(response -> {
+                    BitSet resend = AliasedBatch.resendable(response, size);
+                    List<PendingEvent> again = new ArrayList<>(resend.cardinality());
+                    for (int i = 0; i < size; i++) {
+                        if (resend.get(i)) {
+                            again.add(batch.get(i));
+                            continue;
+                        }
+
+                        CompletableFuture<TrackEventResponse> future = batch.get(i).future;
+                        try {
+                            future.complete(AliasedBatch.extract(response, i,
+                                    TrackEventResponse.class));
+                        } catch (RuntimeException e) {
+                            future.completeExceptionally(e);
+                        }
+                    }
+
+                    if (again.isEmpty()) {
+                        return Mono.<Void>empty();
+                    }
+                    logger.debug("Resending {} tracked events of a rejected batch", again.size());
+                    return send(again);
+                })
+                .doOnError(error -> batch.forEach(pending -> pending.future.completeExceptionally(error)))
+                .then()
+                .onErrorResume(error -> Mono.empty());
+    }
+
+    private OperationDocument document(int size) {
+        OperationDocument document = documents.get(size);
+        if (document == null) {
+            document = OperationDocument.idempotentMutation("TrackEvents", AliasedBatch.document("mutation",
+                    "TrackEvents", "trackEvent", "TrackEventInput", projection, size));
+            documents.set(size, document);
+        }
+        return document;
+    }
+
+    private static final class PendingEvent {
+        private final TrackEventInput input;
+        private final CompletableFuture<TrackEventResponse> future = new CompletableFuture<>();
+
+        private PendingEvent(TrackEventInput input) {
+            this.input = input;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.dashx.graphql;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import com.dashx.DashXGraphQLClient;
+import com.dashx.DashXJson;
+import com.dashx.exception.DashXCircuitOpenException;
+import com.dashx.exception.DashXException;
+import com.dashx.graphql.generated.types.TrackEventInput;
+import com.dashx.graphql.generated.types.TrackEventResponse;
+
+/**
+ * Stores tracked events on disk and delivers them in the background, so that events are not
+ * lost while the DashX API is unreachable.
+ * <p>
+ * Events are appended to a {@link SegmentLog} and replayed in order by a single drainer, as
+ * aliased multi-mutation batches. A batch is acknowledged once the API has answered for each of
+ * its events; events the API rejects are logged and dropped, as sending them again would not
+ * help. When a rejection names the events at fault, the other events are resent together. When
+ * the request fails with any other error that is not transient, such as a 4xx response, the
+ * batch is split in halves and resent until the offending events are isolated and dropped. Only
+ * while delivery fails transiently does the drainer back off exponentially, or wait for the
+ * circuit breaker to let requests through again.
+ * <p>
+ * Storing, reading and acknowledging events all run on the outbox's own thread, never on the
+ * caller's or on an event loop, since they may create, map and flush segment files.
+ */
+final class TrackEventOutbox {
+    private static final Logger logger = LoggerFactory.getLogger(TrackEventOutbox.class);
+    private static final int SEGMENT_SIZE = 1 << 20;
+    private static final int DRAIN_BATCH_SIZE = 100;
+    private static final Duration INITIAL_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+    private static final TrackEventResponse STORED = TrackEventResponse.newBuilder()
+            .success(true)
+            .build();
+
+    private final DashXGraphQLClient client;
+    private final String projection;
+    private final SegmentLog log;
+    private final Scheduler scheduler;
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicReferenceArray<OperationDocument> documents =
+            new AtomicReferenceArray<>(DRAIN_BATCH_SIZE + 1);
+    // Only accessed on the outbox scheduler
+    private int failures;
+    private volatile boolean closed;
+
+    TrackEventOutbox(DashXGraphQLClient client, String projection, Path directory,
+            long maxSize) {
+        this.client = client;
+        this.projection = projection;
+        try {
+            this.log = new SegmentLog(directory, SEGMENT_SIZE, (int) (maxSize / SEGMENT_SIZE));
+        } catch (IOException e) {
+            throw new DashXException("Failed to open track event outbox at " + directory, e);
+        }
+        this.scheduler = Schedulers.newSingle("dashx-track-outbox", true);
+
+        // Deliver whatever is left from before a restart
+        scheduleDrain(Duration.ZERO);
+    }
+
+    /**
+     * Stores an event for background delivery. Events without a timestamp are stamped with the
+     * current time, so they keep the time they were tracked at.
+     *
+     * @param input the event to store
+     * @return a Mono that emits a successful TrackEventResponse once the event is stored
+     */
+    Mono<TrackEventResponse> store(TrackEventInput input) {
+        return Mono.fromCallable(() -> {
+            if (closed) {
+                throw new DashXException("Track event outbox has been shut down");
+            }
+
+            log.append(DashXJson.mapper().writeValueAsBytes(withTimestamp(input)));
+            scheduleDrain(Duration.ZERO);
+            return STORED;
+        }).subscribeOn(scheduler);
+    }
+
+    /**
+     * Returns whether stored events are still waiting for delivery. While they are, new events
+     * should be stored as well, so that they are delivered after them.
+     *
+     * @return whether events are pending
+     */
+    boolean hasPending() {
+        return !log.isEmpty();
+    }
+
+    /** Stops delivery. Pending events stay on disk and are delivered after the next start. */
+    void close() {
+        closed = true;
+        scheduler.dispose();
+        log.close();
+    }
+
+    private void scheduleDrain(Duration delay) {
+        if (closed || !drainScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler.schedule(this::drain, delay.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void drain() {
+        SegmentLog.Batch batch = log.read(DRAIN_BATCH_SIZE);
+        List<TrackEventInput> inputs = decode(batch);
+
+        if (inputs.isEmpty()) {
+            log.acknowledge(batch);
+            drainScheduled.set(false);
+            // An event may have been stored after the read, while the flag was still set
+            if (!log.isEmpty()) {
+                scheduleDrain(Duration.ZERO);
+            }
+            return;
+        }
+
+        deliver(inputs)
+                .publishOn(scheduler)
+                .subscribe(null, this::retryLater, () -> {
+                    log.acknowledge(batch);
+                    failures = 0;
+                    drainScheduled.set(false);
+                    scheduleDrain(Duration.ZERO);
+                });
+    }
+
+    /**
+     * Sends stored events, completing once the API has answered for each of them. Events the
+     * API rejects are logged and dropped; only a transient failure fails the delivery.
+     */
+    private Mono<Void> deliver(List<TrackEventInput> inputs) {
+        int size = inputs.size();
+        return client.executeRaw(document(size), AliasedBatch.variables(inputs))
+                .flatMap(response -> {
+                    BitSet resend = AliasedBatch.resendable(response, size);
+                    List<TrackEventInput> again = new ArrayList<>(resend.cardinality());
+                    for (int i = 0; i < size; i++) {
+                        if (resend.get(i)) {
+                            again.add(inputs.get(i));
+                            continue;
+                        }
+                        try {
+                            AliasedBatch.extract(response, i, TrackEventResponse.class);
+                        } catch (RuntimeException e) {
+                            logger.warn("Dropping stored event {} rejected by the API: {}",
+                                    inputs.get(i).getEvent(), e.getMessage());
+                        }
+                    }
+                    return again.isEmpty() ? Mono.<Void>empty() : deliver(again);
+                })
+                .onErrorResume(error -> !EventService.isTransient(error), error -> {
+                    if (size == 1) {
+                        logger.warn("Dropping stored event {} the API failed to accept: {}",
+                                inputs.get(0).getEvent(), error.getMessage());
+                        return Mono.empty();
+                    }
+
+                    int half = size / 2;
+                    return deliver(inputs.subList(0, half))
+                            .then(Mono.defer(() -> deliver(inputs.subList(half, size))));
+                });
+    }
+
+    private void retryLater(Throwable error) {
+        Duration delay;
+        if (error instanceof DashXCircuitOpenException e) {
+            delay = e.getRetryAfter();
+        } else {
+            delay = INITIAL_BACKOFF.multipliedBy(1L << Math.min(failures, 5));
+            if (delay.compareTo(MAX_BACKOFF) > 0) {
+                delay = MAX_BACKOFF;
+            }
+        }
+        failures++;
+
+        logger.debug("Failed to deliver stored events, retrying in {} ms", delay.toMillis(),
+                error);
+        drainScheduled.set(false);
+        scheduleDrain(delay);
+    }
+
+    private List<TrackEventInput> decode(SegmentLog.Batch batch) {
+        List<TrackEventInput> inputs = new ArrayList<>(batch.records().size());
+        for (byte[] record : batch.records()) {
+            try {
+                inputs.add(DashXJson.mapper().readValue(record, TrackEventInput.class));
+            } catch (IOException e) {
+                logger.warn("Dropping stored event that cannot be decoded", e);
+            }
+        }
+        return inputs;
+    }
+
+    private OperationDocument document(int size) {
+        OperationDocument document = documents.get(size);
+        if (document == null) {
+            document = OperationDocument.idempotentMutation("TrackEvents", AliasedBatch.document(
+                    "mutation", "TrackEvents", "trackEvent", "TrackEventInput", projection, size));
+            documents.set(size, document);
+        }
+        return document;
+    }
+
+    private static TrackEventInput withTimestamp(TrackEventInput input) {
+        if (input.getTimestamp() != null) {
+            return input;
+        }
+
+        return TrackEventInput.newBuilder()
+                .event(input.getEvent())
+                .accountUid(input.getAccountUid())
+                .accountAnonymousUid(input.getAccountAnonymousUid())
+                .data(input.getData())
+                .timestamp(Instant.now().toString())
+                .systemContext(input.getSystemContext())
+                .build();
+    }
+}
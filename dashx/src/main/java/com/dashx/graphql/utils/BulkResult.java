@@ -0,0 +1,94 @@
+package com.dashx.graphql.utils;
+
+/**
+ * The outcome of a single item of a bulk operation, such as one account of
+ * {@code identifyAll}. Items fail independently: a failed item carries the error it failed
+ * with, while the rest of the bulk operation continues.
+ *
+ * @param <I> the input type
+ * @param <T> the result type
+ */
+public final class BulkResult<I, T> {
+    private final long index;
+    private final I input;
+    private final T value;
+    private final Throwable error;
+
+    private BulkResult(long index, I input, T value, Throwable error) {
+        this.index = index;
+        this.input = input;
+        this.value = value;
+        this.error = error;
+    }
+
+    /**
+     * Creates the result of an item that succeeded.
+     *
+     * @param index the zero-based position of the item in the bulk input
+     * @param input the item's input
+     * @param value the item's result
+     * @return the result
+     */
+    public static <I, T> BulkResult<I, T> success(long index, I input, T value) {
+        return new BulkResult<>(index, input, value, null);
+    }
+
+    /**
+     * Creates the result of an item that failed.
+     *
+     * @param index the zero-based position of the item in the bulk input
+     * @param input the item's input
+     * @param error the error the item failed with
+     * @return the result
+     */
+    public static <I, T> BulkResult<I, T> failure(long index, I input, Throwable error) {
+        return new BulkResult<>(index, input, null, error);
+    }
+
+    /**
+     * Returns the zero-based position of the item in the bulk input.
+     *
+     * @return the position of the item
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the input of the item, e.g. to retry failed items.
+     *
+     * @return the input of the item
+     */
+    public I getInput() {
+        return input;
+    }
+
+    /**
+     * Returns the result of the item, or null if it failed.
+     *
+     * @return the result of the item
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * Returns the error the item failed with, or null if it succeeded.
+     *
+     * @return the error of the item
+     */
+    public Throwable getError() {
+        return error;
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    @Override
+    public String toString() {
+        return isSuccess()
+                ? "BulkResult{index=" + index + ", value=" + value + "}"
+                : "BulkResult{index=" + index + ", error=" + error + "}";
+    }
+}
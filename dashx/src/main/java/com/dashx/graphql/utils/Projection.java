@@ -0,0 +1,106 @@
+package com.dashx.graphql.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.dashx.exception.DashXValidationException;
+
+/**
+ * Selects the fields returned for an object type, so callers that only need a few fields
+ * (e.g. an asset's {@code id} and {@code url}) don't pay for transferring and decoding the rest.
+ * Field names are checked against the generated type, e.g.
+ * {@code Projection.of(Asset.class, "id", "url")}.
+ * Fields that are not selected are left null on the decoded objects.
+ */
+public final class Projection {
+    private final Class<?> type;
+    private final List<String> fields;
+    private final String selectionSet;
+
+    private Projection(Class<?> type, List<String> fields) {
+        this.type = type;
+        this.fields = List.copyOf(fields);
+        this.selectionSet = "{ " + String.join(" ", this.fields) + " }";
+    }
+
+    /**
+     * Creates a projection selecting the given fields of a generated GraphQL type.
+     *
+     * @param type the generated type the projection applies to, e.g. {@code Asset.class}
+     * @param fields the names of the fields to select
+     * @return the projection
+     * @throws DashXValidationException if no fields are given or a field does not exist on the type
+     */
+    public static Projection of(Class<?> type, String... fields) {
+        if (type == null) {
+            throw new DashXValidationException("Projection type cannot be null");
+        }
+        if (fields == null || fields.length == 0) {
+            throw new DashXValidationException("Projection must select at least one field");
+        }
+
+        Set<String> available = fieldNames(type);
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields) {
+            if (field == null || !available.contains(field)) {
+                throw new DashXValidationException(
+                        "Unknown field '" + field + "' for type " + type.getSimpleName());
+            }
+            selected.add(field);
+        }
+
+        return new Projection(type, new ArrayList<>(selected));
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the GraphQL selection set for this projection, e.g. {@code { id url }}.
+     *
+     * @return the selection set
+     */
+    public String toSelectionSet() {
+        return selectionSet;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Projection other)) {
+            return false;
+        }
+        return type.equals(other.type) && fields.equals(other.fields);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + fields.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return type.getSimpleName() + " " + selectionSet;
+    }
+
+    private static Set<String> fieldNames(Class<?> type) {
+        Set<String> names = new LinkedHashSet<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                names.add(field.getName());
+            }
+        }
+        return names;
+    }
+}
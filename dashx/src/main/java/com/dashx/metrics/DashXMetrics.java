@@ -0,0 +1,93 @@
+package com.dashx.metrics;
+
+import java.time.Duration;
+
+/**
+ * Receives instrumentation events from the SDK's GraphQL client.
+ * <p>
+ * One event is reported per GraphQL operation sent to the API, named after the operation
+ * (e.g. {@code TrackEvent}, {@code SearchRecords}). Callers joining a deduplicated request
+ * share its single event. Implementations are called on I/O threads and must not block.
+ * <p>
+ * {@link MicrometerDashXMetrics} reports these events to a Micrometer {@code MeterRegistry}.
+ */
+public interface DashXMetrics {
+
+    /** Discards every event. Used when no metrics are configured. */
+    DashXMetrics NOOP = new DashXMetrics() {};
+
+    /** How an operation ended. */
+    enum Outcome {
+        /** The API returned a response without GraphQL errors. */
+        SUCCESS,
+        /** The API returned a response carrying GraphQL errors. */
+        GRAPHQL_ERROR,
+        /** No usable response was received (connection failure, timeout, HTTP error status). */
+        TRANSPORT_ERROR,
+    }
+
+    /**
+     * Called once an operation has completed.
+     *
+     * @param operationName the GraphQL operation name, or {@code "anonymous"} for unnamed documents
+     * @param outcome how the operation ended
+     * @param duration time from sending the first request byte until the response was read
+     * @param requestBytes total size of the request bodies sent for the operation, after
+     *                     compression
+     * @param responseBytes size of the response body, or 0 when none was received
+     * @param error the transport error for {@link Outcome#TRANSPORT_ERROR}, otherwise null
+     */
+    default void recordOperation(
+        String operationName,
+        Outcome outcome,
+        Duration duration,
+        long requestBytes,
+        long responseBytes,
+        Throwable error
+    ) {}
+
+    /**
+     * Called when a request body is gzip-compressed before sending, once per request sent.
+     *
+     * @param operationName the GraphQL operation name, or {@code "anonymous"} for unnamed documents
+     * @param uncompressedBytes size of the request body before compression
+     * @param compressedBytes size of the request body sent
+     */
+    default void recordRequestCompression(
+        String operationName,
+        long uncompressedBytes,
+        long compressedBytes
+    ) {}
+
+    /**
+     * Called when the connection pool opens a pool for a remote address. The statistics are
+     * live views and can be sampled at any time.
+     *
+     * @param poolName the connection pool name
+     * @param remoteAddress the remote address the pool connects to
+     * @param stats live connection pool statistics
+     */
+    default void bindConnectionPool(
+        String poolName,
+        String remoteAddress,
+        ConnectionPoolStats stats
+    ) {}
+
+    /** Live statistics of a connection pool. */
+    interface ConnectionPoolStats {
+        /** Connections currently in use by a request. */
+        int acquired();
+
+        /** Open connections that are not in use. */
+        int idle();
+
+        /** Requests waiting for a connection. */
+        int pending();
+
+        /** All open connections, in use or idle. */
+        int allocated();
+
+        /** The maximum number of connections the pool may open. */
+        int maxAllocated();
+    }
+}
@@ -0,0 +1,224 @@
+package com.dashx.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Reports SDK instrumentation to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * Meters, all tagged with {@code operation} (the GraphQL operation name):
+ * <ul>
+ *   <li>{@code dashx.client.requests} - timer, additionally tagged with {@code outcome}
+ *       ({@code success}, {@code graphql_error} or {@code transport_error})</li>
+ *   <li>{@code dashx.client.request.size} and {@code dashx.client.response.size} - payload
+ *       size distributions in bytes, requests as sent and responses after decompression</li>
+ *   <li>{@code dashx.client.request.compression.ratio} - compressed to uncompressed size of
+ *       gzip-compressed request bodies</li>
+ *   <li>{@code dashx.client.errors} - counter, tagged with {@code type} ({@code graphql} or
+ *       {@code transport}) and {@code exception} (the transport error's class name, or
+ *       {@code none})</li>
+ * </ul>
+ * Connection pool gauges, tagged with {@code pool} and {@code remote.address}:
+ * {@code dashx.client.pool.acquired}, {@code .idle}, {@code .pending}, {@code .allocated}
+ * and {@code .max.allocated}.
+ * <p>
+ * Requires {@code io.micrometer:micrometer-core} on the classpath.
+ */
+public class MicrometerDashXMetrics implements DashXMetrics {
+
+    private final MeterRegistry registry;
+    private final Map<String, OperationMeters> meters = new ConcurrentHashMap<>();
+
+    public MicrometerDashXMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void recordOperation(
+        String operationName,
+        Outcome outcome,
+        Duration duration,
+        long requestBytes,
+        long responseBytes,
+        Throwable error
+    ) {
+        OperationMeters operation = meters.computeIfAbsent(
+            operationName,
+            OperationMeters::new
+        );
+
+        operation.timers.get(outcome).record(duration);
+        operation.requestSize.record(requestBytes);
+        if (responseBytes > 0) {
+            operation.responseSize.record(responseBytes);
+        }
+
+        if (outcome == Outcome.GRAPHQL_ERROR) {
+            operation.graphQLErrors.increment();
+        } else if (outcome == Outcome.TRANSPORT_ERROR) {
+            Counter.builder("dashx.client.errors")
+                .description("DashX API operations that failed")
+                .tags(operation.tags)
+                .tag("type", "transport")
+                .tag(
+                    "exception",
+                    error != null ? error.getClass().getSimpleName() : "none"
+                )
+                .register(registry)
+                .increment();
+        }
+    }
+
+    @Override
+    public void recordRequestCompression(
+        String operationName,
+        long uncompressedBytes,
+        long compressedBytes
+    ) {
+        if (uncompressedBytes <= 0) {
+            return;
+        }
+
+        meters
+            .computeIfAbsent(operationName, OperationMeters::new)
+            .compressionRatio()
+            .record((double) compressedBytes / uncompressedBytes);
+    }
+
+    @Override
+    public void bindConnectionPool(
+        String poolName,
+        String remoteAddress,
+        ConnectionPoolStats stats
+    ) {
+        Tags tags = Tags.of("pool", poolName, "remote.address", remoteAddress);
+
+        poolGauge(
+            "acquired",
+            "Connections in use",
+            tags,
+            stats,
+            ConnectionPoolStats::acquired
+        );
+        poolGauge(
+            "idle",
+            "Idle connections",
+            tags,
+            stats,
+            ConnectionPoolStats::idle
+        );
+        poolGauge(
+            "pending",
+            "Requests waiting for a connection",
+            tags,
+            stats,
+            ConnectionPoolStats::pending
+        );
+        poolGauge(
+            "allocated",
+            "Open connections",
+            tags,
+            stats,
+            ConnectionPoolStats::allocated
+        );
+        poolGauge(
+            "max.allocated",
+            "Maximum number of connections",
+            tags,
+            stats,
+            ConnectionPoolStats::maxAllocated
+        );
+    }
+
+    private void poolGauge(
+        String name,
+        String description,
+        Tags tags,
+        ConnectionPoolStats stats,
+        ToIntFunction<ConnectionPoolStats> value
+    ) {
+        Gauge.builder(
+            "dashx.client.pool." + name,
+            stats,
+            s -> value.applyAsInt(s)
+        )
+            .description(description)
+            .tags(tags)
+            // The stats view is only referenced by the pool internals, keep it reachable
+            .strongReference(true)
+            .register(registry);
+    }
+
+    /** Meters of one operation, resolved once instead of on every request. */
+    private final class OperationMeters {
+        private final Tags tags;
+        private final Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+        private final DistributionSummary requestSize;
+        private final DistributionSummary responseSize;
+        private final Counter graphQLErrors;
+        // Registered on first use, most operations are never compressed
+        private volatile DistributionSummary compressionRatio;
+
+        private OperationMeters(String operationName) {
+            this.tags = Tags.of("operation", operationName);
+
+            for (Outcome outcome : Outcome.values()) {
+                timers.put(
+                    outcome,
+                    Timer.builder("dashx.client.requests")
+                        .description("DashX API operations")
+                        .tags(tags)
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(registry)
+                );
+            }
+            this.requestSize = DistributionSummary.builder(
+                "dashx.client.request.size"
+            )
+                .description("Size of DashX API request bodies")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+            this.responseSize = DistributionSummary.builder(
+                "dashx.client.response.size"
+            )
+                .description("Size of DashX API response bodies")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(registry);
+            this.graphQLErrors = Counter.builder("dashx.client.errors")
+                .description("DashX API operations that failed")
+                .tags(tags)
+                .tag("type", "graphql")
+                .tag("exception", "none")
+                .register(registry);
+        }
+
+        private DistributionSummary compressionRatio() {
+            DistributionSummary summary = compressionRatio;
+            if (summary == null) {
+                // Registering twice returns the same meter, so racing callers are harmless
+                summary = DistributionSummary.builder(
+                    "dashx.client.request.compression.ratio"
+                )
+                    .description(
+                        "Compressed to uncompressed size of DashX API request bodies"
+                    )
+                    .tags(tags)
+                    .register(registry);
+                compressionRatio = summary;
+            }
+            return summary;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.dashx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(50, Duration.ofSeconds(30), clock::get);
+
+    private void fail(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+    }
+
+    private void succeed(int times) {
+        for (int i = 0; i < times; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onSuccess();
+        }
+    }
+
+    @Test
+    void testStaysClosedBelowMinimumCalls() {
+        fail(CircuitBreaker.MINIMUM_CALLS - 1);
+
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testOpensAtFailureRateThreshold() {
+        succeed(5);
+        fail(4);
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertFalse(breaker.tryAcquire());
+        assertEquals(Duration.ofSeconds(30), breaker.remainingOpenTime());
+    }
+
+    @Test
+    void testOnlyRecentCallsCount() {
+        fail(9);
+        succeed(CircuitBreaker.WINDOW_SIZE);
+
+        fail(9);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void testTrialRequestClosesBreaker() {
+        fail(CircuitBreaker.MINIMUM_CALLS);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        // Only one trial request at a time
+        assertFalse(breaker.tryAcquire());
+        breaker.onSuccess();
+
+        succeed(CircuitBreaker.MINIMUM_CALLS);
+    }
+
+    @Test
+    void testFailedTrialRequestReopensBreaker() {
+        fail(CircuitBreaker.MINIMUM_CALLS);
+        clock.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+
+        assertFalse(breaker.tryAcquire());
+        assertEquals(Duration.ofSeconds(30), breaker.remainingOpenTime());
+    }
+}
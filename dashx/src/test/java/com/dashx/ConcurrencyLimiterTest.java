@@ -0,0 +1,84 @@
+package com.dashx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void testRejectsRequestsBeyondLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 10);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+
+        limiter.onIgnored();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void testLimitGrowsWhileRequestsAreFastAndBusy() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 10);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.onSuccess("track", FAST);
+            limiter.onSuccess("track", FAST);
+        }
+
+        assertTrue(limiter.getLimit() > 2);
+        assertTrue(limiter.getLimit() <= 10);
+    }
+
+    @Test
+    void testLimitShrinksWhenRequestsSlowDownOrFail() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 100);
+        limiter.tryAcquire();
+        limiter.onSuccess("track", FAST);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess("track", SLOW);
+        }
+        int afterSlow = limiter.getLimit();
+        assertTrue(afterSlow < 20);
+
+        limiter.tryAcquire();
+        limiter.onDropped();
+        assertTrue(limiter.getLimit() < afterSlow);
+    }
+
+    @Test
+    void testSlowerOperationsAreComparedAgainstTheirOwnBaseline() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(20, 100);
+        limiter.tryAcquire();
+        limiter.onSuccess("track", FAST);
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess("search", SLOW);
+        }
+
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void testLimitNeverDropsBelowOne() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 10);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+
+        assertEquals(1, limiter.getLimit());
+        assertTrue(limiter.tryAcquire());
+    }
+}
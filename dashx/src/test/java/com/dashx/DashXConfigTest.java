@@ -137,6 +137,145 @@ class DashXConfigTest {
         });
     }
 
+    @Test
+    void testTrackBatchingDisabledByDefault() {
+        DashXConfig config = new DashXConfig.Builder()
+            .publicKey("key")
+            .privateKey("secret")
+            .targetEnvironment("test")
+            .build();
+
+        assertNull(config.getTrackBatchSize());
+        assertEquals(50, config.getTrackBatchLinger());
+        assertEquals(10000, config.getTrackQueueCapacity());
+    }
+
+    @Test
+    void testBuilderThrowsExceptionForZeroTrackBatchSize() {
+        assertThrows(DashXConfigurationException.class, () -> {
+            new DashXConfig.Builder()
+                .publicKey("key")
+                .privateKey("secret")
+                .targetEnvironment("test")
+                .trackBatchSize(0)
+                .build();
+        });
+    }
+
+    @Test
+    void testBuilderThrowsExceptionForNegativeTrackQueueCapacity() {
+        assertThrows(DashXConfigurationException.class, () -> {
+            new DashXConfig.Builder()
+                .publicKey("key")
+                .privateKey("secret")
+                .targetEnvironment("test")
+                .trackQueueCapacity(-1)
+                .build();
+        });
+    }
+
+    @Test
+    void testResponseCachesDisabledByDefault() {
+        DashXConfig config = new DashXConfig.Builder()
+            .publicKey("key")
+            .privateKey("secret")
+            .targetEnvironment("test")
+            .build();
+
+        assertNull(config.getAssetCacheMaxSize());
+        assertNull(config.getRecordCacheMaxSize());
+        assertEquals(60000, config.getAssetCacheTtl());
+        assertEquals(60000, config.getRecordCacheTtl());
+    }
+
+    @Test
+    void testBuilderThrowsExceptionForZeroAssetCacheTtl() {
+        assertThrows(DashXConfigurationException.class, () -> {
+            new DashXConfig.Builder()
+                .publicKey("key")
+                .privateKey("secret")
+                .targetEnvironment("test")
+                .assetCacheMaxSize(100)
+                .assetCacheTtl(0)
+                .build();
+        });
+    }
+
+    @Test
+    void testRetryDefaults() {
+        DashXConfig config = new DashXConfig.Builder()
+            .publicKey("key")
+            .privateKey("secret")
+            .targetEnvironment("test")
+            .build();
+
+        assertEquals(0, config.getMaxRetries());
+        assertEquals(0.2, config.getRetryBudgetRatio());
+        assertFalse(config.getRetryNonIdempotent());
+    }
+
+    @Test
+    void testBuilderThrowsExceptionForRetryBudgetRatioAboveOne() {
+        assertThrows(DashXConfigurationException.class, () -> {
+            new DashXConfig.Builder()
+                .publicKey("key")
+                .privateKey("secret")
+                .targetEnvironment("test")
+                .retryBudgetRatio(1.5)
+                .build();
+        });
+    }
+
+    @Test
+    void testHttpProtocolDefaultsToHttp11() {
+        DashXConfig config = new DashXConfig.Builder()
+            .publicKey("key")
+            .privateKey("secret")
+            .targetEnvironment("test")
+            .build();
+
+        assertEquals(DashXConfig.HttpProtocol.HTTP_1_1, config.getHttpProtocol());
+        assertEquals(4, config.getHttp2MaxConnections());
+        assertEquals(100, config.getHttp2MaxConcurrentStreams());
+    }
+
+    @Test
+    void testBuilderThrowsExceptionForHttp2OverCleartext() {
+        assertThrows(DashXConfigurationException.class, () -> {
+            new DashXConfig.Builder()
+                .baseUrl("http://localhost:8080/graphql")
+                .publicKey("key")
+                .privateKey("secret")
+                .targetEnvironment("test")
+                .httpProtocol(DashXConfig.HttpProtocol.HTTP_2)
+                .build();
+        });
+    }
+
+    @Test
+    void testBuilderThrowsExceptionForZeroHttp2MaxConcurrentStreams() {
+        assertThrows(DashXConfigurationException.class, () -> {
+            new DashXConfig.Builder()
+                .publicKey("key")
+                .privateKey("secret")
+                .targetEnvironment("test")
+                .http2MaxConcurrentStreams(0)
+                .build();
+        });
+    }
+
+    @Test
+    void testCompressionDefaults() {
+        DashXConfig config = new DashXConfig.Builder()
+            .publicKey("key")
+            .privateKey("secret")
+            .targetEnvironment("test")
+            .build();
+
+        assertNull(config.getRequestCompressionThreshold());
+        assertTrue(config.getResponseCompression());
+    }
+
     @Test
     void testBuilderChaining() {
         DashXConfig.Builder builder = new DashXConfig.Builder();
@@ -5,19 +5,31 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
+import com.dashx.exception.DashXCircuitOpenException;
 import com.dashx.exception.DashXGraphQLException;
+import com.dashx.graphql.OperationDocument;
+import com.dashx.graphql.generated.types.Asset;
+import com.dashx.metrics.DashXMetrics;
 import com.netflix.graphql.dgs.client.GraphQLError;
 import com.netflix.graphql.dgs.client.GraphQLResponse;
 import com.netflix.graphql.dgs.client.WebClientGraphQLClient;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
@@ -118,4 +130,601 @@ class DashXGraphQLClientTest {
         // Verify client was created successfully
         assertNotNull(client);
     }
+
+    private static DashXConfig persistedQueriesConfig() {
+        return new DashXConfig.Builder()
+            .publicKey("key")
+            .privateKey("secret")
+            .targetEnvironment("test")
+            .persistedQueries(true)
+            .build();
+    }
+
+    @Test
+    void testPersistedQueryFallsBackToFullDocumentOnMiss() throws Exception {
+        Set<String> knownHashes = ConcurrentHashMap.newKeySet();
+
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body -> {
+                String hash = body.replaceAll(
+                    ".*\"sha256Hash\":\"([0-9a-f]+)\".*",
+                    "$1"
+                );
+                if (body.contains("\"query\"")) {
+                    knownHashes.add(hash);
+                } else if (!knownHashes.contains(hash)) {
+                    return StubGraphQLServer.Response.ok(
+                        "{\"errors\":[{\"message\":\"PersistedQueryNotFound\"," +
+                            "\"extensions\":{\"code\":\"PERSISTED_QUERY_NOT_FOUND\"}}]}"
+                    );
+                }
+                return StubGraphQLServer.Response.ok(
+                    "{\"data\":{\"ping\":\"pong\"}}"
+                );
+            })
+        ) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                persistedQueriesConfig()
+            );
+
+            GraphQLResponse first = client
+                .execute("query Ping { ping }", Map.of())
+                .block();
+            GraphQLResponse second = client
+                .execute("query Ping { ping }", Map.of())
+                .block();
+            client.close();
+
+            assertEquals("pong", first.extractValueAsObject("ping", String.class));
+            assertEquals("pong", second.extractValueAsObject("ping", String.class));
+
+            // Miss, registration with the full document, then a hash-only hit
+            List<String> requests = server.requests();
+            assertEquals(3, requests.size());
+            assertFalse(requests.get(0).contains("\"query\""));
+            assertTrue(requests.get(1).contains("\"query\":\"query Ping { ping }\""));
+            assertTrue(requests.get(1).contains("\"sha256Hash\""));
+            assertFalse(requests.get(2).contains("\"query\""));
+        }
+    }
+
+    @Test
+    void testPersistedQueriesDisabledWhenServerDoesNotSupportThem()
+        throws Exception {
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                body.contains("\"query\"")
+                    ? StubGraphQLServer.Response.ok(
+                        "{\"data\":{\"ping\":\"pong\"}}"
+                    )
+                    : new StubGraphQLServer.Response(
+                        400,
+                        "{\"errors\":[{\"message\":\"PersistedQueryNotSupported\"}]}"
+                    )
+            )
+        ) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                persistedQueriesConfig()
+            );
+
+            client.execute("query Ping { ping }", Map.of()).block();
+            client.execute("query Ping { ping }", Map.of()).block();
+            client.close();
+
+            // One rejected hash-only attempt, then full documents only
+            List<String> requests = server.requests();
+            assertEquals(3, requests.size());
+            assertTrue(requests.get(1).contains("\"query\""));
+            assertFalse(requests.get(1).contains("persistedQuery"));
+            assertTrue(requests.get(2).contains("\"query\""));
+        }
+    }
+
+    @Test
+    void testGraphQLErrorsFailExecute() throws Exception {
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                StubGraphQLServer.Response.ok(
+                    "{\"errors\":[{\"message\":\"Not allowed\"}]}"
+                )
+            )
+        ) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                null
+            );
+
+            StepVerifier.create(client.execute("query Ping { ping }", Map.of()))
+                .expectErrorMatches(error ->
+                    error instanceof DashXGraphQLException &&
+                    error.getMessage().contains("Not allowed")
+                )
+                .verify();
+            client.close();
+        }
+    }
+
+    private static DashXConfig deduplicationConfig() {
+        return new DashXConfig.Builder()
+            .publicKey("key")
+            .privateKey("secret")
+            .targetEnvironment("test")
+            .deduplicateQueries(true)
+            .build();
+    }
+
+    private static StubGraphQLServer heldServer(CountDownLatch release)
+        throws Exception {
+        return new StubGraphQLServer(body -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return StubGraphQLServer.Response.ok(
+                "{\"data\":{\"ping\":\"pong\"}}"
+            );
+        });
+    }
+
+    @Test
+    void testIdenticalInFlightQueriesShareOneRequest() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (StubGraphQLServer server = heldServer(release)) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                deduplicationConfig()
+            );
+
+            CompletableFuture<GraphQLResponse> first = client
+                .execute("query Ping($n: Int) { ping }", Map.of("n", 1))
+                .toFuture();
+            CompletableFuture<GraphQLResponse> second = client
+                .execute("query Ping($n: Int) { ping }", Map.of("n", 1))
+                .toFuture();
+            release.countDown();
+
+            assertEquals(
+                "pong",
+                first.get(5, TimeUnit.SECONDS).extractValueAsObject("ping", String.class)
+            );
+            assertEquals(
+                "pong",
+                second.get(5, TimeUnit.SECONDS).extractValueAsObject("ping", String.class)
+            );
+            assertEquals(1, server.requests().size());
+
+            // Once completed, the next identical query is sent again
+            client.execute("query Ping($n: Int) { ping }", Map.of("n", 1)).block();
+            assertEquals(2, server.requests().size());
+            client.close();
+        }
+    }
+
+    @Test
+    void testMutationsAreNeverDeduplicated() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (StubGraphQLServer server = heldServer(release)) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                deduplicationConfig()
+            );
+
+            CompletableFuture<GraphQLResponse> first = client
+                .execute("mutation Ping { ping }", Map.of())
+                .toFuture();
+            CompletableFuture<GraphQLResponse> second = client
+                .execute("mutation Ping { ping }", Map.of())
+                .toFuture();
+            release.countDown();
+
+            first.get(5, TimeUnit.SECONDS);
+            second.get(5, TimeUnit.SECONDS);
+            assertEquals(2, server.requests().size());
+            client.close();
+        }
+    }
+
+    @Test
+    void testOperationsAreReportedToMetrics() throws Exception {
+        List<String> recorded = new CopyOnWriteArrayList<>();
+        DashXMetrics metrics = new DashXMetrics() {
+            @Override
+            public void recordOperation(
+                String operationName,
+                Outcome outcome,
+                Duration duration,
+                long requestBytes,
+                long responseBytes,
+                Throwable error
+            ) {
+                assertTrue(requestBytes > 0);
+                recorded.add(operationName + ":" + outcome);
+            }
+        };
+
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                body.contains("Fail")
+                    ? StubGraphQLServer.Response.ok(
+                        "{\"errors\":[{\"message\":\"Not allowed\"}]}"
+                    )
+                    : StubGraphQLServer.Response.ok(
+                        "{\"data\":{\"ping\":\"pong\"},\"errors\":[]}"
+                    )
+            )
+        ) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                new DashXConfig.Builder()
+                    .publicKey("key")
+                    .privateKey("secret")
+                    .targetEnvironment("test")
+                    .metrics(metrics)
+                    .build()
+            );
+
+            client.execute("query Ping { ping }", Map.of()).block();
+            assertThrows(DashXGraphQLException.class, () ->
+                client.execute("query Fail { ping }", Map.of()).block()
+            );
+            client.close();
+        }
+
+        assertEquals(List.of("Ping:SUCCESS", "Fail:GRAPHQL_ERROR"), recorded);
+    }
+
+    @Test
+    void testTransportErrorsAreReportedToMetrics() throws Exception {
+        List<DashXMetrics.Outcome> outcomes = new CopyOnWriteArrayList<>();
+        DashXGraphQLClient client = new DashXGraphQLClient(
+            new URL("http://127.0.0.1:1/graphql"),
+            new LinkedMultiValueMap<>(),
+            new DashXConfig.Builder()
+                .publicKey("key")
+                .privateKey("secret")
+                .targetEnvironment("test")
+                .metrics(new DashXMetrics() {
+                    @Override
+                    public void recordOperation(
+                        String operationName,
+                        Outcome outcome,
+                        Duration duration,
+                        long requestBytes,
+                        long responseBytes,
+                        Throwable error
+                    ) {
+                        assertNotNull(error);
+                        outcomes.add(outcome);
+                    }
+                })
+                .build()
+        );
+
+        assertThrows(RuntimeException.class, () ->
+            client.execute("query Ping { ping }", Map.of()).block()
+        );
+        client.close();
+
+        assertEquals(List.of(DashXMetrics.Outcome.TRANSPORT_ERROR), outcomes);
+    }
+
+    @Test
+    void testLargeRequestsAreCompressed() throws Exception {
+        List<Long> compressed = new CopyOnWriteArrayList<>();
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                StubGraphQLServer.Response.ok("{\"data\":{\"ping\":\"pong\"}}")
+            )
+        ) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                new DashXConfig.Builder()
+                    .publicKey("key")
+                    .privateKey("secret")
+                    .targetEnvironment("test")
+                    .requestCompressionThreshold(1024)
+                    .metrics(new DashXMetrics() {
+                        @Override
+                        public void recordRequestCompression(
+                            String operationName,
+                            long uncompressedBytes,
+                            long compressedBytes
+                        ) {
+                            assertTrue(compressedBytes < uncompressedBytes);
+                            compressed.add(uncompressedBytes);
+                        }
+                    })
+                    .build()
+            );
+
+            client.execute("query Ping { ping }", Map.of()).block();
+            client.execute(
+                "query Ping($data: String) { ping }",
+                Map.of("data", "x".repeat(4096))
+            ).block();
+            client.close();
+
+            assertEquals(List.of("identity", "gzip"), server.contentEncodings());
+            assertTrue(server.requests().get(1).contains("x".repeat(4096)));
+            assertEquals(1, compressed.size());
+        }
+    }
+
+    @Test
+    void testCompressedResponsesAreDecoded() throws Exception {
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                StubGraphQLServer.Response.ok("{\"data\":{\"ping\":\"pong\"}}")
+            ).gzipResponses()
+        ) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                new DashXConfig.Builder()
+                    .publicKey("key")
+                    .privateKey("secret")
+                    .targetEnvironment("test")
+                    .build()
+            );
+
+            GraphQLResponse response = client
+                .execute("query Ping { ping }", Map.of())
+                .block();
+            client.close();
+
+            assertEquals("pong", response.extractValueAsObject("ping", String.class));
+        }
+    }
+
+    @Test
+    void testExecuteForValueDecodesRootField() throws Exception {
+        OperationDocument document = OperationDocument.parse(
+            "query GetAsset($id: UUID!) { asset(id: $id) { id } }"
+        );
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                body.contains("missing")
+                    ? StubGraphQLServer.Response.ok("{\"data\":{\"asset\":null}}")
+                    : body.contains("denied")
+                        ? StubGraphQLServer.Response.ok(
+                            "{\"data\":null,\"errors\":[{\"message\":\"Not allowed\"}]}"
+                        )
+                        : body.contains("partial")
+                            // Errors may follow the data they invalidate
+                            ? StubGraphQLServer.Response.ok(
+                                "{\"data\":{\"asset\":{\"id\":\"p1\"}}," +
+                                    "\"errors\":[{\"message\":\"Partial\"}]}"
+                            )
+                            : StubGraphQLServer.Response.ok(
+                                "{\"data\":{\"other\":{\"id\":\"x\"},\"asset\":{\"id\":\"a1\"}," +
+                                    "\"note\":\"errors\"},\"errors\":[]}"
+                            )
+            )
+        ) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                null
+            );
+
+            StepVerifier.create(
+                client.executeForValue(document, Map.of("id", "a1"), "asset", Asset.class)
+            )
+                .assertNext(asset -> assertEquals("a1", asset.getId()))
+                .verifyComplete();
+            StepVerifier.create(
+                client.executeForValue(document, Map.of("id", "missing"), "asset", Asset.class)
+            ).verifyComplete();
+            StepVerifier.create(
+                client.executeForValue(document, Map.of("id", "denied"), "asset", Asset.class)
+            )
+                .expectError(DashXGraphQLException.class)
+                .verify();
+            StepVerifier.create(
+                client.executeForValue(document, Map.of("id", "partial"), "asset", Asset.class)
+            )
+                .expectError(DashXGraphQLException.class)
+                .verify();
+            assertTrue(server.requests().get(0).contains("\"variables\":{\"id\":\"a1\"}"));
+            client.close();
+        }
+    }
+
+    private static DashXConfig retryConfig() {
+        return new DashXConfig.Builder()
+            .publicKey("key")
+            .privateKey("secret")
+            .targetEnvironment("test")
+            .maxRetries(2)
+            .retryBackoff(1)
+            .build();
+    }
+
+    private static StubGraphQLServer failingServer(int failures)
+        throws Exception {
+        AtomicInteger remaining = new AtomicInteger(failures);
+        return new StubGraphQLServer(body ->
+            remaining.getAndDecrement() > 0
+                ? new StubGraphQLServer.Response(503, "unavailable")
+                : StubGraphQLServer.Response.ok("{\"data\":{\"ping\":\"pong\"}}")
+        );
+    }
+
+    @Test
+    void testQueriesAreRetriedAfterTransientFailures() throws Exception {
+        try (StubGraphQLServer server = failingServer(2)) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                retryConfig()
+            );
+
+            GraphQLResponse response = client
+                .execute("query Ping { ping }", Map.of())
+                .block();
+            client.close();
+
+            assertEquals("pong", response.extractValueAsObject("ping", String.class));
+            assertEquals(3, server.requests().size());
+        }
+    }
+
+    @Test
+    void testRetriesStopAfterMaxRetries() throws Exception {
+        try (StubGraphQLServer server = failingServer(10)) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                retryConfig()
+            );
+
+            assertThrows(WebClientResponseException.class, () ->
+                client.execute("query Ping { ping }", Map.of()).block()
+            );
+            client.close();
+
+            assertEquals(3, server.requests().size());
+        }
+    }
+
+    @Test
+    void testNonIdempotentMutationsAreNotRetried() throws Exception {
+        try (StubGraphQLServer server = failingServer(1)) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                retryConfig()
+            );
+
+            assertThrows(WebClientResponseException.class, () ->
+                client.execute("mutation CreateIssue { ping }", Map.of()).block()
+            );
+            client.execute(
+                OperationDocument.idempotentMutation("TrackEvent", "mutation TrackEvent { ping }"),
+                Map.of()
+            ).block();
+            client.close();
+
+            // The failed mutation once, then the idempotent one on its first attempt
+            assertEquals(2, server.requests().size());
+        }
+    }
+
+    @Test
+    void testOpenCircuitFailsFastWithoutRequests() throws Exception {
+        try (StubGraphQLServer server = failingServer(100)) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                new DashXConfig.Builder()
+                    .publicKey("key")
+                    .privateKey("secret")
+                    .targetEnvironment("test")
+                    .maxRetries(0)
+                    .circuitBreaker(true)
+                    .build()
+            );
+
+            for (int i = 0; i < 10; i++) {
+                assertThrows(WebClientResponseException.class, () ->
+                    client.execute("query Ping { ping }", Map.of()).block()
+                );
+            }
+            assertThrows(DashXCircuitOpenException.class, () ->
+                client.execute("query Ping { ping }", Map.of()).block()
+            );
+            client.close();
+
+            assertEquals(10, server.requests().size());
+        }
+    }
+
+    @Test
+    void testRejectedRequestsDoNotOpenCircuit() throws Exception {
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                new StubGraphQLServer.Response(400, "bad request")
+            )
+        ) {
+            DashXGraphQLClient client = new DashXGraphQLClient(
+                server.url(),
+                new LinkedMultiValueMap<>(),
+                new DashXConfig.Builder()
+                    .publicKey("key")
+                    .privateKey("secret")
+                    .targetEnvironment("test")
+                    .maxRetries(0)
+                    .circuitBreaker(true)
+                    .build()
+            );
+
+            // A bad request says nothing about the health of the API
+            for (int i = 0; i < 20; i++) {
+                assertThrows(WebClientResponseException.BadRequest.class, () ->
+                    client.execute("query Ping { ping }", Map.of()).block()
+                );
+            }
+            client.close();
+
+            assertEquals(20, server.requests().size());
+        }
+    }
+
+    @Test
+    void testClientsShareTransportButSendTheirOwnKeys() throws Exception {
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                StubGraphQLServer.Response.ok("{\"data\":{\"ping\":\"pong\"}}")
+            );
+            DashXTransport transport = new DashXTransport(null)
+        ) {
+            DashXGraphQLClient first = new DashXGraphQLClient(
+                server.url(),
+                tenantHeaders("tenant-a"),
+                tenantConfig("tenant-a", transport)
+            );
+            DashXGraphQLClient second = new DashXGraphQLClient(
+                server.url(),
+                tenantHeaders("tenant-b"),
+                tenantConfig("tenant-b", transport)
+            );
+
+            first.execute("query Ping { ping }", Map.of()).block();
+            second.execute("query Ping { ping }", Map.of()).block();
+
+            // Closing a client leaves the shared transport usable for the others
+            first.close();
+            second.execute("query Ping { ping }", Map.of()).block();
+            second.close();
+
+            assertEquals(List.of("tenant-a", "tenant-b", "tenant-b"), server.publicKeys());
+        }
+    }
+
+    private static MultiValueMap<String, String> tenantHeaders(String publicKey) {
+        MultiValueMap<String, String> headers = new LinkedMultiValueMap<>();
+        headers.add("X-Public-Key", publicKey);
+        return headers;
+    }
+
+    private static DashXConfig tenantConfig(String publicKey, DashXTransport transport) {
+        return new DashXConfig.Builder()
+            .publicKey(publicKey)
+            .privateKey("secret")
+            .targetEnvironment("test")
+            .transport(transport)
+            .build();
+    }
 }
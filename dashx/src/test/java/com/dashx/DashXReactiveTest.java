@@ -0,0 +1,286 @@
+package com.dashx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.dashx.exception.DashXConfigurationException;
+import com.dashx.exception.DashXGraphQLException;
+import com.dashx.exception.DashXValidationException;
+import com.dashx.graphql.generated.types.Account;
+import com.dashx.graphql.generated.types.Asset;
+import com.dashx.graphql.generated.types.IdentifyAccountInput;
+import com.dashx.graphql.generated.types.Issue;
+import com.dashx.graphql.generated.types.UpsertIssueInput;
+import com.dashx.graphql.utils.BulkResult;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class DashXReactiveTest {
+
+    @AfterEach
+    void tearDown() {
+        DashX.resetInstances();
+    }
+
+    private static DashX configured(String name, String baseUrl) {
+        DashX dashx = DashX.getInstance(name);
+        dashx.configure(
+            new DashXConfig.Builder()
+                .baseUrl(baseUrl)
+                .publicKey("test-public-key")
+                .privateKey("test-private-key")
+                .targetEnvironment("test")
+                .build()
+        );
+        return dashx;
+    }
+
+    @Test
+    void testValidationErrorsAreSignalledAsErrors() {
+        DashXReactive reactive = configured(
+            "reactive-validation",
+            "http://127.0.0.1:1/graphql"
+        ).reactive();
+
+        StepVerifier.create(reactive.track(""))
+            .expectError(DashXValidationException.class)
+            .verify();
+        StepVerifier.create(reactive.getAsset(null))
+            .expectError(DashXValidationException.class)
+            .verify();
+        StepVerifier.create(reactive.streamAssets(null, null, 0, null))
+            .expectError(DashXValidationException.class)
+            .verify();
+    }
+
+    @Test
+    void testUnconfiguredInstanceThrowsImmediately() {
+        DashXReactive reactive = DashX.getInstance("reactive-unconfigured").reactive();
+
+        assertThrows(DashXConfigurationException.class, () -> reactive.getAsset("a1"));
+    }
+
+    @Test
+    void testPublishersAreColdAndUpdateIdentity() throws Exception {
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                body.contains("GetAsset")
+                    ? StubGraphQLServer.Response.ok(
+                        "{\"data\":{\"asset\":{\"id\":\"a1\"}}}"
+                    )
+                    : StubGraphQLServer.Response.ok(
+                        "{\"data\":{\"identifyAccount\":{\"uid\":\"u1\",\"anonymousUid\":null}}}"
+                    )
+            )
+        ) {
+            DashX dashx = configured("reactive-cold", server.url().toString());
+
+            Mono<Asset> asset = dashx.reactive().getAsset("a1");
+            assertTrue(server.requests().isEmpty());
+
+            StepVerifier.create(asset)
+                .assertNext(result -> assertEquals("a1", result.getId()))
+                .verifyComplete();
+            assertEquals(1, server.requests().size());
+
+            StepVerifier.create(dashx.reactive().identify(Map.of("uid", "u1")))
+                .assertNext(account -> assertEquals("u1", account.getUid()))
+                .verifyComplete();
+            assertEquals("u1", dashx.getAccountUid());
+        }
+    }
+
+    @Test
+    void testIdentifyAllReportsFailuresPerAccount() throws Exception {
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                body.contains("u3")
+                    ? new StubGraphQLServer.Response(500, "unavailable")
+                    // One invalid account nulls the data of its whole batch
+                    : body.contains("input1") || body.contains("u2")
+                        ? StubGraphQLServer.Response.ok(
+                            "{\"data\":null," +
+                                "\"errors\":[{\"message\":\"Invalid\",\"path\":[\"op1\"]}]}"
+                        )
+                        : StubGraphQLServer.Response.ok(
+                            "{\"data\":{\"op0\":{\"uid\":\"u1\"}}}"
+                        )
+            )
+        ) {
+            DashX dashx = configured("reactive-bulk", server.url().toString());
+            List<IdentifyAccountInput> inputs = List.of(
+                IdentifyAccountInput.newBuilder().uid("u1").build(),
+                IdentifyAccountInput.newBuilder().uid("u2").build(),
+                IdentifyAccountInput.newBuilder().uid("u3").build()
+            );
+
+            List<BulkResult<IdentifyAccountInput, Account>> results = dashx
+                .reactive()
+                .identifyAll(Flux.fromIterable(inputs), 2, 1)
+                .collectList()
+                .block();
+
+            assertEquals(3, results.size());
+            // The rejected batch, the account not at fault on its own, then the failing batch
+            assertEquals(3, server.requests().size());
+            assertTrue(server.requests().get(0).contains("IdentifyAccounts"));
+            assertEquals("u1", results.get(0).getValue().getUid());
+            assertInstanceOf(DashXGraphQLException.class, results.get(1).getError());
+            assertEquals("u2", results.get(1).getInput().getUid());
+            assertFalse(results.get(2).isSuccess());
+            assertEquals(2, results.get(2).getIndex());
+            assertNull(dashx.getAccountUid());
+        }
+    }
+
+    @Test
+    void testIdentifyAllRejectsOversizedBatches() {
+        DashXReactive reactive = configured(
+            "reactive-bulk-validation",
+            "http://127.0.0.1:1/graphql"
+        ).reactive();
+
+        StepVerifier.create(
+            reactive.identifyAll(Flux.empty(), 101, 1)
+        )
+            .expectError(DashXValidationException.class)
+            .verify();
+    }
+
+    private static UpsertIssueInput issue(String idempotencyKey, String title) {
+        return UpsertIssueInput.newBuilder()
+            .idempotencyKey(idempotencyKey)
+            .title(title)
+            .properties(Map.of())
+            .build();
+    }
+
+    @Test
+    void testUpsertIssuesCoalescesInputsSharingAnIdempotencyKey() throws Exception {
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                StubGraphQLServer.Response.ok(
+                    "{\"data\":{\"op0\":{\"id\":\"i1\"},\"op1\":{\"id\":\"i2\"}}}"
+                )
+            )
+        ) {
+            DashX dashx = configured("reactive-upsert", server.url().toString());
+
+            List<BulkResult<UpsertIssueInput, Issue>> results = dashx
+                .reactive()
+                .upsertIssues(
+                    Flux.just(
+                        issue("k1", "first-title"),
+                        issue(null, "unkeyed-title"),
+                        issue("k1", "second-title")
+                    ),
+                    Duration.ofSeconds(5),
+                    10,
+                    2
+                )
+                .collectList()
+                .block();
+
+            assertEquals(1, server.requests().size());
+            String request = server.requests().get(0);
+            assertTrue(request.contains("UpsertIssues"));
+            assertFalse(request.contains("first-title"));
+            assertTrue(request.contains("second-title"));
+            assertEquals(2, results.size());
+            assertEquals(2, results.get(0).getIndex());
+            assertEquals("i1", results.get(0).getValue().getId());
+            assertEquals("unkeyed-title", results.get(1).getInput().getTitle());
+            assertEquals("i2", results.get(1).getValue().getId());
+        }
+    }
+
+    @Test
+    void testUpsertIssuesResendsTheIssuesNotAtFault() throws Exception {
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                // One invalid issue nulls the data of its whole batch
+                body.contains("input1") || body.contains("bad-title")
+                    ? StubGraphQLServer.Response.ok(
+                        "{\"data\":null," +
+                            "\"errors\":[{\"message\":\"Invalid issue\",\"path\":[\"op1\"]}]}"
+                    )
+                    : StubGraphQLServer.Response.ok("{\"data\":{\"op0\":{\"id\":\"i1\"}}}")
+            )
+        ) {
+            DashX dashx = configured("reactive-upsert-rejected", server.url().toString());
+
+            List<BulkResult<UpsertIssueInput, Issue>> results = dashx
+                .reactive()
+                .upsertIssues(
+                    Flux.just(issue("k1", "good-title"), issue("k2", "bad-title")),
+                    Duration.ofSeconds(5),
+                    10,
+                    2
+                )
+                .collectList()
+                .block();
+
+            assertEquals(2, server.requests().size());
+            assertEquals(2, results.size());
+            assertEquals("i1", results.get(0).getValue().getId());
+            assertInstanceOf(DashXGraphQLException.class, results.get(1).getError());
+            assertEquals("bad-title", results.get(1).getInput().getTitle());
+        }
+    }
+
+    @Test
+    void testSessionsTrackForTheirOwnUserWithoutChangingIdentity() throws Exception {
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                body.contains("TrackEvent")
+                    ? StubGraphQLServer.Response.ok(
+                        "{\"data\":{\"trackEvent\":{\"success\":true}}}"
+                    )
+                    : StubGraphQLServer.Response.ok(
+                        "{\"data\":{\"identifyAccount\":{\"uid\":\"u2\",\"anonymousUid\":null}}}"
+                    )
+            )
+        ) {
+            DashX dashx = configured("reactive-session", server.url().toString());
+            DashXSession first = dashx.session("u1");
+            DashXSession second = dashx.session().withAnonymousUid("anon-2");
+
+            CompletableFuture.allOf(first.track("Opened"), second.track("Opened")).join();
+            Account account = second.identify(Map.of("uid", "u2")).join();
+
+            assertEquals("u2", account.getUid());
+            assertNull(second.getUid());
+            assertNull(dashx.getAccountUid());
+            assertTrue(server.requests().stream().anyMatch(body -> body.contains("\"u1\"")));
+            assertTrue(server.requests().stream().anyMatch(body -> body.contains("\"anon-2\"")));
+            assertThrows(DashXValidationException.class, () -> first.withTimeout(Duration.ZERO));
+        }
+    }
+
+    @Test
+    void testBlockingReturnsResultsAndThrowsErrorsUnwrapped() throws Exception {
+        try (
+            StubGraphQLServer server = new StubGraphQLServer(body ->
+                body.contains("\"a1\"")
+                    ? StubGraphQLServer.Response.ok(
+                        "{\"data\":{\"asset\":{\"id\":\"a1\"}}}"
+                    )
+                    : StubGraphQLServer.Response.ok(
+                        "{\"errors\":[{\"message\":\"Not found\"}]}"
+                    )
+            )
+        ) {
+            DashXBlocking blocking = configured("blocking", server.url().toString()).blocking();
+
+            assertEquals("a1", blocking.getAsset("a1").getId());
+            assertThrows(DashXGraphQLException.class, () -> blocking.getAsset("a2"));
+            assertThrows(DashXValidationException.class, () -> blocking.track(""));
+        }
+    }
+}
@@ -45,6 +45,23 @@ class DashXValidationTest {
         });
     }
 
+    @Test
+    void testEmptyPrivateKeyFailsOnlyWhenSigningIdentityTokens() {
+        DashX instance = DashX.getInstance("test-empty-private-key");
+
+        instance.configure(
+            new DashXConfig.Builder()
+                .publicKey("test-public-key")
+                .privateKey("")
+                .targetEnvironment("test")
+                .build()
+        );
+
+        assertThrows(DashXConfigurationException.class, () -> {
+            instance.generateIdentityToken("u1");
+        });
+    }
+
     @Test
     void testUnconfiguredClientThrowsException() {
         DashX unconfigured = DashX.getInstance("test-unconfigured");
@@ -199,6 +216,20 @@ class DashXValidationTest {
         assertTrue(exception.getCause() instanceof DashXValidationException);
     }
 
+    @Test
+    void testSearchRecordsWithNullTypeThrowsException() {
+        CompletableFuture<?> future = dashx.searchRecords("posts", null, null);
+
+        ExecutionException exception = assertThrows(
+            ExecutionException.class,
+            () -> {
+                future.get();
+            }
+        );
+
+        assertTrue(exception.getCause() instanceof DashXValidationException);
+    }
+
     @Test
     void testIdentifyWithValidOptionsDoesNotThrow() {
         Map<String, Object> options = new HashMap<>();
@@ -0,0 +1,73 @@
+package com.dashx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.dashx.exception.DashXConfigurationException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+
+class IdentityTokenSignerTest {
+
+    private static final String PRIVATE_KEY = "test-private-key-with-enough-bytes-for-hs256";
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_123L);
+
+    private Claims parse(String token) {
+        SecretKey key = new SecretKeySpec(PRIVATE_KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        return Jwts.parser()
+            .verifyWith(key)
+            .clock(() -> new java.util.Date(clock.get()))
+            .build()
+            .parseSignedClaims(token)
+            .getPayload();
+    }
+
+    @Test
+    void testTokensVerifyWithJwtLibrary() {
+        IdentityTokenSigner signer = new IdentityTokenSigner(PRIVATE_KEY, null, clock::get);
+
+        Claims claims = parse(signer.sign("user-\"1\"é", "visitor", 3600));
+
+        assertEquals("user-\"1\"é", claims.get("uid", String.class));
+        assertEquals("visitor", claims.get("kind", String.class));
+        assertEquals(1_700_000_000L, claims.getIssuedAt().getTime() / 1000);
+        assertEquals(1_700_003_600L, claims.getExpiration().getTime() / 1000);
+    }
+
+    @Test
+    void testNullKindIsOmitted() {
+        IdentityTokenSigner signer = new IdentityTokenSigner(PRIVATE_KEY, null, clock::get);
+
+        Claims claims = parse(signer.sign("user-1", null, 3600));
+
+        assertFalse(claims.containsKey("kind"));
+        assertEquals("user-1", claims.get("uid", String.class));
+    }
+
+    @Test
+    void testCachedTokenIsRefreshedAfterMostOfItsLifetime() {
+        IdentityTokenSigner signer = new IdentityTokenSigner(PRIVATE_KEY, 10, clock::get);
+
+        String first = signer.sign("user-1", null, 100);
+        clock.addAndGet(79_000);
+        assertSame(first, signer.sign("user-1", null, 100));
+        assertNotEquals(first, signer.sign("user-1", "visitor", 100));
+
+        clock.addAndGet(1_000);
+        String refreshed = signer.sign("user-1", null, 100);
+        assertNotEquals(first, refreshed);
+        assertSame(refreshed, signer.sign("user-1", null, 100));
+    }
+
+    @Test
+    void testShortKeysAreRejected() {
+        IdentityTokenSigner signer = new IdentityTokenSigner("secret", null, clock::get);
+
+        assertThrows(DashXConfigurationException.class, () -> signer.sign("user-1", null, 3600));
+    }
+}
@@ -0,0 +1,82 @@
+package com.dashx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.dashx.exception.DashXInvalidTokenException;
+import io.jsonwebtoken.Jwts;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.Test;
+
+class IdentityTokenVerifierTest {
+
+    private static final String PRIVATE_KEY = "test-private-key-with-enough-bytes-for-hs256";
+
+    private final AtomicLong clock = new AtomicLong(1_700_000_000_000L);
+    private final IdentityTokenSigner signer = new IdentityTokenSigner(PRIVATE_KEY, null, clock::get);
+
+    @Test
+    void testVerifiesSignedTokens() {
+        IdentityTokenVerifier verifier = new IdentityTokenVerifier(signer, null, clock::get);
+
+        IdentityTokenClaims claims = verifier.verify(signer.sign("user-1", "USER", 3600));
+
+        assertEquals("user-1", claims.getUid());
+        assertEquals("USER", claims.getKind());
+        assertEquals(Instant.ofEpochSecond(1_700_000_000L), claims.getIssuedAt());
+        assertEquals(Instant.ofEpochSecond(1_700_003_600L), claims.getExpiresAt());
+    }
+
+    @Test
+    void testVerifiesTokensFromJwtLibraries() {
+        IdentityTokenVerifier verifier = new IdentityTokenVerifier(signer, null, clock::get);
+        String token = Jwts.builder()
+            .claim("uid", "user-1")
+            .expiration(new Date(clock.get() + 60_000))
+            .signWith(new SecretKeySpec(PRIVATE_KEY.getBytes(StandardCharsets.UTF_8), "HmacSHA256"),
+                Jwts.SIG.HS256)
+            .compact();
+
+        IdentityTokenClaims claims = verifier.verify(token);
+
+        assertEquals("user-1", claims.getUid());
+        assertNull(claims.getKind());
+        assertNull(claims.getIssuedAt());
+    }
+
+    @Test
+    void testRejectsTokensSignedWithAnotherKey() {
+        IdentityTokenVerifier verifier = new IdentityTokenVerifier(signer, null, clock::get);
+        IdentityTokenSigner other = new IdentityTokenSigner(PRIVATE_KEY + "-other", null, clock::get);
+
+        assertThrows(DashXInvalidTokenException.class,
+            () -> verifier.verify(other.sign("user-1", "USER", 3600)));
+    }
+
+    @Test
+    void testRejectsTamperedClaims() {
+        IdentityTokenVerifier verifier = new IdentityTokenVerifier(signer, null, clock::get);
+        String[] parts = signer.sign("user-1", "USER", 3600).split("\\.");
+        String forged = signer.sign("admin", "USER", 3600).split("\\.")[1];
+
+        assertThrows(DashXInvalidTokenException.class,
+            () -> verifier.verify(parts[0] + "." + forged + "." + parts[2]));
+        assertThrows(DashXInvalidTokenException.class, () -> verifier.verify("not-a-token"));
+        assertThrows(DashXInvalidTokenException.class, () -> verifier.verify("a.b!.c"));
+    }
+
+    @Test
+    void testCachedTokensStillExpire() {
+        IdentityTokenVerifier verifier = new IdentityTokenVerifier(signer, 10, clock::get);
+        String token = signer.sign("user-1", "USER", 60);
+
+        IdentityTokenClaims claims = verifier.verify(token);
+        assertSame(claims, verifier.verify(token));
+
+        clock.addAndGet(60_000);
+        assertThrows(DashXInvalidTokenException.class, () -> verifier.verify(token));
+    }
+}
@@ -0,0 +1,51 @@
+package com.dashx;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class RetryPolicyTest {
+
+    private final RetryPolicy policy = new RetryPolicy(
+        5,
+        Duration.ofMillis(100),
+        Duration.ofSeconds(1),
+        false
+    );
+
+    @Test
+    void testBackoffGrowsExponentiallyWithJitter() {
+        for (int i = 0; i < 100; i++) {
+            Duration first = policy.backoff(0);
+            Duration third = policy.backoff(2);
+
+            assertTrue(first.toMillis() >= 50 && first.toMillis() <= 100);
+            assertTrue(third.toMillis() >= 200 && third.toMillis() <= 400);
+        }
+    }
+
+    @Test
+    void testBackoffIsCappedAtMaxBackoff() {
+        assertTrue(policy.backoff(10).toMillis() <= 1000);
+        assertTrue(policy.backoff(1000).toMillis() <= 1000);
+        assertTrue(policy.backoff(1000).toMillis() >= 500);
+    }
+
+    @Test
+    void testRetryBudgetLimitsConcurrentRetries() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+
+        for (int i = 0; i < 4; i++) {
+            budget.requestStarted();
+        }
+        assertTrue(budget.tryAcquireRetry());
+        assertFalse(budget.tryAcquireRetry());
+
+        budget.releaseRetry();
+        assertTrue(budget.tryAcquireRetry());
+    }
+}
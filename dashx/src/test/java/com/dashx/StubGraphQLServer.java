@@ -0,0 +1,104 @@
+package com.dashx;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Minimal in-process HTTP server standing in for the DashX GraphQL API in tests.
+ * Records every request body, decompressing gzip-encoded ones, along with the public key it
+ * was sent with, and answers with whatever the handler returns.
+ */
+class StubGraphQLServer implements AutoCloseable {
+
+    /** A canned HTTP response. */
+    record Response(int status, String body) {
+        static Response ok(String body) {
+            return new Response(200, body);
+        }
+    }
+
+    private final HttpServer server;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<String> contentEncodings = new CopyOnWriteArrayList<>();
+    private final List<String> publicKeys = new CopyOnWriteArrayList<>();
+    private volatile boolean gzipResponses;
+
+    StubGraphQLServer(Function<String, Response> handler) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/graphql", exchange -> {
+            String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+            contentEncodings.add(encoding != null ? encoding : "identity");
+            publicKeys.add(String.valueOf(exchange.getRequestHeaders().getFirst("X-Public-Key")));
+            String body;
+            try (
+                InputStream in = "gzip".equals(encoding)
+                    ? new GZIPInputStream(exchange.getRequestBody())
+                    : exchange.getRequestBody()
+            ) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+            requests.add(body);
+
+            Response response = handler.apply(body);
+            byte[] bytes = response.body().getBytes(StandardCharsets.UTF_8);
+            String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (gzipResponses && accepted != null && accepted.contains("gzip")) {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                    gzip.write(bytes);
+                }
+                bytes = compressed.toByteArray();
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        this.server.start();
+    }
+
+    URL url() throws MalformedURLException {
+        return new URL(
+            "http://127.0.0.1:" + server.getAddress().getPort() + "/graphql"
+        );
+    }
+
+    List<String> requests() {
+        return requests;
+    }
+
+    /** The Content-Encoding of every request, {@code identity} when none was set. */
+    List<String> contentEncodings() {
+        return contentEncodings;
+    }
+
+    /** The X-Public-Key header of every request, {@code null} when none was set. */
+    List<String> publicKeys() {
+        return publicKeys;
+    }
+
+    /** Compresses responses to requests that accept gzip. */
+    StubGraphQLServer gzipResponses() {
+        this.gzipResponses = true;
+        return this;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
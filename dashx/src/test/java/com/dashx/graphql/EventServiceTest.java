@@ -0,0 +1,409 @@
+package com.dashx.graphql;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import com.dashx.DashXConfig;
+import com.dashx.DashXGraphQLClient;
+import com.dashx.exception.DashXGraphQLException;
+import com.dashx.graphql.generated.types.TrackEventInput;
+import com.dashx.graphql.generated.types.TrackEventResponse;
+import com.netflix.graphql.dgs.client.GraphQLResponse;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+@ExtendWith(MockitoExtension.class)
+class EventServiceTest {
+
+    @Mock
+    private DashXGraphQLClient mockClient;
+
+    private static DashXConfig batchingConfig(int batchSize, int linger) {
+        return new DashXConfig.Builder()
+            .publicKey("key")
+            .privateKey("secret")
+            .targetEnvironment("test")
+            .trackBatchSize(batchSize)
+            .trackBatchLinger(linger)
+            .build();
+    }
+
+    private static TrackEventInput event(String name) {
+        return TrackEventInput.newBuilder().event(name).accountUid("user123").build();
+    }
+
+    @Test
+    void testFullBatchIsSentAsSingleAliasedMutation() throws Exception {
+        when(mockClient.executeRaw(any(OperationDocument.class), anyMap())).thenReturn(
+            Mono.just(new GraphQLResponse(
+                "{\"data\":{\"op0\":{\"success\":true},\"op1\":{\"success\":true},\"op2\":{\"success\":false}}}"
+            ))
+        );
+
+        EventService service = new EventService(mockClient, batchingConfig(3, 60000));
+
+        CompletableFuture<TrackEventResponse> first = service.trackEvent(event("a")).toFuture();
+        CompletableFuture<TrackEventResponse> second = service.trackEvent(event("b")).toFuture();
+        CompletableFuture<TrackEventResponse> third = service.trackEvent(event("c")).toFuture();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).getSuccess());
+        assertTrue(second.get(5, TimeUnit.SECONDS).getSuccess());
+        assertFalse(third.get(5, TimeUnit.SECONDS).getSuccess());
+
+        verify(mockClient, times(1)).executeRaw(
+            argThat((OperationDocument document) ->
+                document.getQuery().contains("op2: trackEvent(input: $input2)")
+            ),
+            anyMap()
+        );
+        verify(mockClient, never()).execute(any(OperationDocument.class), any());
+
+        service.close();
+    }
+
+    @Test
+    void testPartialBatchIsSentAfterLinger() throws Exception {
+        when(mockClient.executeRaw(any(OperationDocument.class), anyMap())).thenReturn(
+            Mono.just(new GraphQLResponse("{\"data\":{\"op0\":{\"success\":true}}}"))
+        );
+
+        EventService service = new EventService(mockClient, batchingConfig(100, 10));
+
+        TrackEventResponse response = service
+            .trackEvent(event("a"))
+            .toFuture()
+            .get(5, TimeUnit.SECONDS);
+
+        assertTrue(response.getSuccess());
+        service.close();
+    }
+
+    @Test
+    void testEventsNotAtFaultAreResentAfterPartialRejection() throws Exception {
+        // Root fields are non-null, so one invalid event nulls the data of the whole batch
+        String rejected =
+            "{\"data\":null,\"errors\":[{\"message\":\"Invalid event\",\"path\":[\"op1\"]}]}";
+        when(mockClient.executeRaw(any(OperationDocument.class), anyMap())).thenAnswer(invocation -> {
+            Map<String, Object> variables = invocation.getArgument(1);
+            if (variables.size() > 1) {
+                return Mono.just(new GraphQLResponse(rejected));
+            }
+            return Mono.just(new GraphQLResponse("{\"data\":{\"op0\":{\"success\":true}}}"));
+        });
+
+        EventService service = new EventService(mockClient, batchingConfig(2, 60000));
+
+        CompletableFuture<TrackEventResponse> first = service.trackEvent(event("a")).toFuture();
+        CompletableFuture<TrackEventResponse> second = service.trackEvent(event("b")).toFuture();
+
+        assertTrue(first.get(5, TimeUnit.SECONDS).getSuccess());
+
+        ExecutionException exception = assertThrows(
+            ExecutionException.class,
+            () -> second.get(5, TimeUnit.SECONDS)
+        );
+        assertTrue(exception.getCause() instanceof DashXGraphQLException);
+        assertTrue(exception.getCause().getMessage().contains("Invalid event"));
+        // The batch, then the event that was not at fault
+        verify(mockClient, times(2)).executeRaw(any(OperationDocument.class), anyMap());
+
+        service.close();
+    }
+
+    @Test
+    void testBatchRejectedAsAWholeIsNotResent() throws Exception {
+        when(mockClient.executeRaw(any(OperationDocument.class), anyMap())).thenReturn(
+            Mono.just(new GraphQLResponse(
+                "{\"data\":null,\"errors\":[{\"message\":\"Unauthorized\"}]}"
+            ))
+        );
+
+        EventService service = new EventService(mockClient, batchingConfig(2, 60000));
+
+        CompletableFuture<TrackEventResponse> first = service.trackEvent(event("a")).toFuture();
+        CompletableFuture<TrackEventResponse> second = service.trackEvent(event("b")).toFuture();
+
+        for (CompletableFuture<TrackEventResponse> future : List.of(first, second)) {
+            ExecutionException exception = assertThrows(
+                ExecutionException.class,
+                () -> future.get(5, TimeUnit.SECONDS)
+            );
+            assertTrue(exception.getCause().getMessage().contains("Unauthorized"));
+        }
+        verify(mockClient, times(1)).executeRaw(any(OperationDocument.class), anyMap());
+
+        service.close();
+    }
+
+    @Test
+    void testCloseFlushesQueuedEvents() throws Exception {
+        when(mockClient.executeRaw(any(OperationDocument.class), anyMap())).thenReturn(
+            Mono.just(new GraphQLResponse("{\"data\":{\"op0\":{\"success\":true}}}"))
+        );
+
+        EventService service = new EventService(mockClient, batchingConfig(100, 60000));
+        CompletableFuture<TrackEventResponse> future = service.trackEvent(event("a")).toFuture();
+
+        service.close();
+
+        assertTrue(future.get(5, TimeUnit.SECONDS).getSuccess());
+    }
+
+    @Test
+    void testWithoutBatchingEachEventIsSentSeparately() {
+        when(mockClient.execute(any(OperationDocument.class), any())).thenReturn(
+            Mono.just(new GraphQLResponse("{\"data\":{\"trackEvent\":{\"success\":true}}}"))
+        );
+
+        EventService service = new EventService(mockClient);
+
+        assertTrue(service.trackEvent(event("a")).block().getSuccess());
+        verify(mockClient, never()).executeRaw(any(OperationDocument.class), any());
+    }
+
+    private static DashXConfig outboxConfig(Path directory, DashXConfig.OutboxMode mode) {
+        return new DashXConfig.Builder()
+            .publicKey("key")
+            .privateKey("secret")
+            .targetEnvironment("test")
+            .trackOutboxDirectory(directory.toString())
+            .trackOutboxMode(mode)
+            .build();
+    }
+
+    private static Mono<GraphQLResponse> delivered() {
+        return Mono.just(new GraphQLResponse("{\"data\":{\"op0\":{\"success\":true}}}"));
+    }
+
+    private static WebClientRequestException unreachable() {
+        return new WebClientRequestException(
+            new ConnectException("Connection refused"),
+            HttpMethod.POST,
+            URI.create("http://localhost/graphql"),
+            HttpHeaders.EMPTY
+        );
+    }
+
+    /**
+     * Answers batches like the API: an event named "bad" nulls the data of its whole batch, with
+     * an error naming its alias.
+     */
+    private static Mono<GraphQLResponse> answer(Map<String, Object> variables) {
+        for (int i = 0; i < variables.size(); i++) {
+            if ("bad".equals(((TrackEventInput) variables.get("input" + i)).getEvent())) {
+                return Mono.just(new GraphQLResponse(
+                    "{\"data\":null,\"errors\":[{\"message\":\"Invalid event\",\"path\":[\"op" +
+                    i +
+                    "\"]}]}"
+                ));
+            }
+        }
+
+        StringJoiner data = new StringJoiner(",", "{\"data\":{", "}}");
+        for (int i = 0; i < variables.size(); i++) {
+            data.add("\"op" + i + "\":{\"success\":true}");
+        }
+        return Mono.just(new GraphQLResponse(data.toString()));
+    }
+
+    private static TrackEventOutbox outbox(DashXGraphQLClient client, Path directory) {
+        return new TrackEventOutbox(client, "{ success }", directory, 64L * 1024 * 1024);
+    }
+
+    private static void awaitDrained(TrackEventOutbox outbox) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (outbox.hasPending() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse(outbox.hasPending());
+    }
+
+    @Test
+    void testUndeliverableEventIsStoredAndDeliveredLater(@TempDir Path directory) {
+        when(mockClient.execute(any(OperationDocument.class), anyMap()))
+            .thenReturn(Mono.error(unreachable()));
+        when(mockClient.executeRaw(any(OperationDocument.class), anyMap())).thenReturn(delivered());
+
+        EventService service = new EventService(
+            mockClient,
+            outboxConfig(directory, DashXConfig.OutboxMode.ON_FAILURE)
+        );
+
+        assertTrue(service.trackEvent(event("signup")).block().getSuccess());
+        verify(mockClient, timeout(5000)).executeRaw(
+            argThat(document -> "TrackEvents".equals(document.getOperationName())),
+            argThat(variables -> {
+                TrackEventInput input = (TrackEventInput) variables.get("input0");
+                // Stored events keep the time they were tracked at
+                return "signup".equals(input.getEvent()) && input.getTimestamp() != null;
+            })
+        );
+        service.close();
+    }
+
+    @Test
+    void testRejectedEventIsNotStored(@TempDir Path directory) {
+        when(mockClient.execute(any(OperationDocument.class), anyMap()))
+            .thenReturn(Mono.error(new DashXGraphQLException(List.of())));
+
+        EventService service = new EventService(
+            mockClient,
+            outboxConfig(directory, DashXConfig.OutboxMode.ON_FAILURE)
+        );
+
+        assertThrows(DashXGraphQLException.class, () -> service.trackEvent(event("signup")).block());
+        service.close();
+        verify(mockClient, never()).executeRaw(any(OperationDocument.class), anyMap());
+    }
+
+    @Test
+    void testClientErrorIsNotStored(@TempDir Path directory) {
+        when(mockClient.execute(any(OperationDocument.class), anyMap())).thenReturn(
+            Mono.error(
+                WebClientResponseException.create(400, "Bad Request", HttpHeaders.EMPTY, new byte[0], null)
+            )
+        );
+
+        EventService service = new EventService(
+            mockClient,
+            outboxConfig(directory, DashXConfig.OutboxMode.ON_FAILURE)
+        );
+
+        assertThrows(
+            WebClientResponseException.BadRequest.class,
+            () -> service.trackEvent(event("signup")).block()
+        );
+        service.close();
+        verify(mockClient, never()).executeRaw(any(OperationDocument.class), anyMap());
+    }
+
+    @Test
+    void testRejectedStoredEventsAreDroppedAndTheOthersResent(@TempDir Path directory)
+        throws Exception {
+        DashXGraphQLClient offlineClient = mock(DashXGraphQLClient.class);
+        lenient().when(offlineClient.executeRaw(any(OperationDocument.class), anyMap()))
+            .thenReturn(Mono.error(unreachable()));
+        TrackEventOutbox offline = outbox(offlineClient, directory);
+        for (String name : List.of("a", "bad", "c", "d")) {
+            offline.store(event(name)).block();
+        }
+        offline.close();
+
+        when(mockClient.executeRaw(any(OperationDocument.class), anyMap()))
+            .thenAnswer(invocation -> answer(invocation.getArgument(1)));
+        TrackEventOutbox outbox = outbox(mockClient, directory);
+
+        awaitDrained(outbox);
+        // [a, bad, c, d], then [a, c, d]
+        verify(mockClient, times(2)).executeRaw(any(OperationDocument.class), anyMap());
+        verify(mockClient).executeRaw(
+            any(OperationDocument.class),
+            argThat(variables -> variables.size() == 3 &&
+                "c".equals(((TrackEventInput) variables.get("input1")).getEvent())
+            )
+        );
+        outbox.close();
+    }
+
+    @Test
+    void testStoredBatchFailingWithClientErrorIsSplitAndDropped(@TempDir Path directory)
+        throws Exception {
+        DashXGraphQLClient offlineClient = mock(DashXGraphQLClient.class);
+        lenient().when(offlineClient.executeRaw(any(OperationDocument.class), anyMap()))
+            .thenReturn(Mono.error(unreachable()));
+        TrackEventOutbox offline = outbox(offlineClient, directory);
+        for (String name : List.of("a", "bad", "c")) {
+            offline.store(event(name)).block();
+        }
+        offline.close();
+
+        when(mockClient.executeRaw(any(OperationDocument.class), anyMap())).thenAnswer(invocation -> {
+            Map<String, Object> variables = invocation.getArgument(1);
+            boolean bad = variables
+                .values()
+                .stream()
+                .anyMatch(input -> "bad".equals(((TrackEventInput) input).getEvent()));
+            return bad
+                ? Mono.error(
+                    WebClientResponseException.create(400, "Bad Request", HttpHeaders.EMPTY, new byte[0], null)
+                )
+                : answer(variables);
+        });
+        TrackEventOutbox outbox = outbox(mockClient, directory);
+
+        awaitDrained(outbox);
+        outbox.store(event("after")).block();
+        awaitDrained(outbox);
+
+        verify(mockClient).executeRaw(
+            any(OperationDocument.class),
+            argThat(variables -> "after".equals(((TrackEventInput) variables.get("input0")).getEvent()))
+        );
+        outbox.close();
+    }
+
+    @Test
+    void testPoisonEventDoesNotBlockLaterEvents(@TempDir Path directory) throws Exception {
+        when(mockClient.executeRaw(any(OperationDocument.class), anyMap()))
+            .thenAnswer(invocation -> answer(invocation.getArgument(1)));
+        TrackEventOutbox outbox = outbox(mockClient, directory);
+
+        outbox.store(event("bad")).block();
+        awaitDrained(outbox);
+        outbox.store(event("after")).block();
+        awaitDrained(outbox);
+
+        verify(mockClient).executeRaw(
+            any(OperationDocument.class),
+            argThat(variables -> "after".equals(((TrackEventInput) variables.get("input0")).getEvent()))
+        );
+        outbox.close();
+    }
+
+    @Test
+    void testWriteAheadEventsSurviveRestart(@TempDir Path directory) {
+        lenient().when(mockClient.executeRaw(any(OperationDocument.class), anyMap()))
+            .thenReturn(Mono.error(unreachable()));
+
+        EventService service = new EventService(
+            mockClient,
+            outboxConfig(directory, DashXConfig.OutboxMode.WRITE_AHEAD)
+        );
+        assertTrue(service.trackEvent(event("signup")).block().getSuccess());
+        service.close();
+        verify(mockClient, never()).execute(any(OperationDocument.class), anyMap());
+
+        DashXGraphQLClient restartedClient = mock(DashXGraphQLClient.class);
+        when(restartedClient.executeRaw(any(OperationDocument.class), anyMap())).thenReturn(delivered());
+
+        EventService restarted = new EventService(
+            restartedClient,
+            outboxConfig(directory, DashXConfig.OutboxMode.WRITE_AHEAD)
+        );
+        verify(restartedClient, timeout(5000)).executeRaw(
+            any(OperationDocument.class),
+            argThat(variables -> "signup".equals(((TrackEventInput) variables.get("input0")).getEvent()))
+        );
+        restarted.close();
+    }
+}
@@ -0,0 +1,102 @@
+package com.dashx.graphql;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+import com.dashx.DashXGraphQLClient;
+import com.dashx.graphql.generated.types.Issue;
+import com.dashx.graphql.generated.types.UpsertIssueInput;
+import com.dashx.graphql.utils.BulkResult;
+import com.netflix.graphql.dgs.client.GraphQLResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+class IssueServiceTest {
+
+    @Mock
+    private DashXGraphQLClient mockClient;
+
+    private static UpsertIssueInput issue(String idempotencyKey, String title) {
+        return UpsertIssueInput.newBuilder()
+            .idempotencyKey(idempotencyKey)
+            .title(title)
+            .properties(Map.of())
+            .build();
+    }
+
+    private static GraphQLResponse upserted(String id) {
+        return new GraphQLResponse("{\"data\":{\"op0\":{\"id\":\"" + id + "\"}}}");
+    }
+
+    @Test
+    void testBatchesWithDistinctKeysAreInFlightAtOnce() throws Exception {
+        Sinks.One<GraphQLResponse> first = Sinks.one();
+        when(mockClient.executeRaw(any(OperationDocument.class), anyMap()))
+            .thenReturn(first.asMono(), Mono.just(upserted("i2")));
+
+        IssueService service = new IssueService(mockClient);
+
+        CompletableFuture<List<BulkResult<UpsertIssueInput, Issue>>> results = service
+            .upsertIssues(
+                Flux.just(issue("k1", "first"), issue("k2", "second")),
+                Duration.ofSeconds(5),
+                1,
+                2
+            )
+            .collectList()
+            .toFuture();
+
+        // The second batch does not wait for the first, as they write to different keys
+        verify(mockClient, timeout(5000).times(2)).executeRaw(any(OperationDocument.class), anyMap());
+
+        first.tryEmitValue(upserted("i1"));
+        List<BulkResult<UpsertIssueInput, Issue>> sent = results.get(5, TimeUnit.SECONDS);
+
+        assertEquals("i1", sent.get(0).getValue().getId());
+        assertEquals("i2", sent.get(1).getValue().getId());
+    }
+
+    @Test
+    void testBatchWaitsForEarlierBatchWithTheSameKey() throws Exception {
+        Sinks.One<GraphQLResponse> first = Sinks.one();
+        when(mockClient.executeRaw(any(OperationDocument.class), anyMap()))
+            .thenReturn(first.asMono(), Mono.just(upserted("i2")));
+        Sinks.Many<UpsertIssueInput> inputs = Sinks.many().unicast().onBackpressureBuffer();
+
+        IssueService service = new IssueService(mockClient);
+
+        CompletableFuture<List<BulkResult<UpsertIssueInput, Issue>>> results = service
+            .upsertIssues(inputs.asFlux(), Duration.ofMillis(50), 10, 2)
+            .collectList()
+            .toFuture();
+
+        inputs.tryEmitNext(issue("k1", "first"));
+        verify(mockClient, timeout(5000)).executeRaw(any(OperationDocument.class), anyMap());
+
+        // A later window writing to the same key waits, although concurrency would allow it
+        inputs.tryEmitNext(issue("k1", "second"));
+        verify(mockClient, after(300).times(1)).executeRaw(any(OperationDocument.class), anyMap());
+
+        first.tryEmitValue(upserted("i1"));
+        inputs.tryEmitComplete();
+        List<BulkResult<UpsertIssueInput, Issue>> sent = results.get(5, TimeUnit.SECONDS);
+
+        verify(mockClient, times(2)).executeRaw(any(OperationDocument.class), anyMap());
+        assertEquals("i1", sent.get(0).getValue().getId());
+        assertEquals("second", sent.get(1).getInput().getTitle());
+        assertEquals("i2", sent.get(1).getValue().getId());
+    }
+}
@@ -0,0 +1,100 @@
+package com.dashx.graphql;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+class OperationDocumentTest {
+
+    @Test
+    void testQueryIsNormalizedToSingleLine() {
+        OperationDocument document = OperationDocument.query(
+            "GetAsset",
+            """
+            query GetAsset($id: String!) {
+                asset(id: $id) {
+                    id
+                    url
+                }
+            }
+            """
+        );
+
+        assertEquals(
+            "query GetAsset($id: String!) { asset(id: $id) { id url } }",
+            document.getQuery()
+        );
+        assertTrue(document.isQuery());
+        assertEquals("GetAsset", document.getOperationName());
+    }
+
+    @Test
+    void testSha256HashOfNormalizedQuery() {
+        OperationDocument document = OperationDocument.query("Ping", "query Ping { ping }");
+
+        assertEquals(
+            "9fe0e5f4706908a4a057c260770dd0170bd8dd80005f190c4079da2d5f6768ef",
+            document.getSha256Hash()
+        );
+        assertEquals(
+            document.getSha256Hash(),
+            OperationDocument.query("Ping", "query   Ping {\n ping\n}").getSha256Hash()
+        );
+    }
+
+    @Test
+    void testRequestBodyPrefixIsEscapedJson() {
+        OperationDocument document = OperationDocument.mutation(
+            "Track",
+            "mutation Track { track(name: \"a\") }"
+        );
+
+        ByteBuffer prefix = document.getRequestBodyPrefix();
+        byte[] bytes = new byte[prefix.remaining()];
+        prefix.get(bytes);
+
+        assertFalse(document.isQuery());
+        assertEquals(
+            "{\"operationName\":\"Track\",\"query\":\"mutation Track { track(name: \\\"a\\\") }\",\"variables\":",
+            new String(bytes, StandardCharsets.UTF_8)
+        );
+        assertTrue(document.getRequestBodyPrefix().isReadOnly());
+    }
+
+    @Test
+    void testParsedDocumentIsSentAsWritten() {
+        String query = """
+            query Search($q: String = "a  b") { # two spaces
+                search(q: $q, note: \"""
+                  kept
+                \""") { id }
+            }
+            """;
+
+        OperationDocument document = OperationDocument.parse(query);
+
+        assertEquals(query.strip(), document.getQuery());
+        assertEquals("Search", document.getOperationName());
+        assertTrue(document.isQuery());
+    }
+
+    @Test
+    void testParseClassifiesTheFirstOperationDefinition() {
+        OperationDocument mutation = OperationDocument.parse(
+            "# Tracks an event\nfragment F on Event { id }\nmutation Track { track { ...F } }"
+        );
+        assertEquals("mutation", mutation.getOperationType());
+        assertEquals("Track", mutation.getOperationName());
+        assertFalse(mutation.isIdempotent());
+
+        OperationDocument shorthand = OperationDocument.parse("{ ping }");
+        assertTrue(shorthand.isQuery());
+        assertNull(shorthand.getOperationName());
+
+        OperationDocument unknown = OperationDocument.parse("extend type Query { ping: String }");
+        assertFalse(unknown.isQuery());
+        assertFalse(unknown.isIdempotent());
+    }
+}
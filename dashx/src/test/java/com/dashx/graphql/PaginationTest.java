@@ -0,0 +1,97 @@
+package com.dashx.graphql;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.dashx.exception.DashXValidationException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class PaginationTest {
+
+    private static List<Integer> page(int page, int pageSize, int total) {
+        return IntStream.range(page * pageSize, Math.min(total, (page + 1) * pageSize))
+            .boxed()
+            .toList();
+    }
+
+    @Test
+    void testStreamsAllPagesAndStopsAfterShortPage() {
+        List<Integer> requestedPages = new CopyOnWriteArrayList<>();
+
+        StepVerifier.create(
+            Pagination.stream(
+                page -> {
+                    requestedPages.add(page);
+                    return Mono.just(page(page, 3, 7));
+                },
+                Pagination.FIRST_PAGE,
+                3
+            )
+        )
+            .expectNext(0, 1, 2, 3, 4, 5, 6)
+            .verifyComplete();
+
+        assertEquals(0, requestedPages.get(0));
+        assertTrue(requestedPages.containsAll(List.of(0, 1, 2)));
+    }
+
+    @Test
+    void testEmptyLastPageCompletes() {
+        StepVerifier.create(
+            Pagination.stream(page -> Mono.just(page(page, 2, 4)), 0, 2)
+        )
+            .expectNext(0, 1, 2, 3)
+            .verifyComplete();
+    }
+
+    @Test
+    void testPagesAreFetchedAheadOnlyBoundedly() {
+        List<Integer> requestedPages = new CopyOnWriteArrayList<>();
+
+        StepVerifier.create(
+            Pagination.stream(
+                page -> {
+                    requestedPages.add(page);
+                    return Mono.just(page(page, 2, 100));
+                },
+                0,
+                2
+            ),
+            1
+        )
+            .expectNext(0)
+            .thenCancel()
+            .verify();
+
+        // The page being consumed plus at most two fetched ahead of it
+        assertTrue(requestedPages.size() <= 3, "requested " + requestedPages);
+    }
+
+    @Test
+    void testErrorsArePropagated() {
+        StepVerifier.create(
+            Pagination.<Integer>stream(
+                page -> page == 0
+                    ? Mono.just(List.of(1, 2))
+                    : Mono.error(new IllegalStateException("boom")),
+                0,
+                2
+            )
+        )
+            .expectNext(1, 2)
+            .expectErrorMessage("boom")
+            .verify();
+    }
+
+    @Test
+    void testNonPositivePageSizeThrowsException() {
+        assertThrows(
+            DashXValidationException.class,
+            () -> Pagination.stream(page -> Mono.just(List.of()), 0, 0)
+        );
+    }
+}
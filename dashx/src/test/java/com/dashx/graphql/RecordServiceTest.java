@@ -0,0 +1,151 @@
+package com.dashx.graphql;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import com.dashx.DashXGraphQLClient;
+import com.dashx.exception.DashXGraphQLException;
+import com.dashx.graphql.generated.types.SearchRecordsInput;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class RecordServiceTest {
+
+    record Post(String id, String title, List<String> tags) {}
+
+    @Mock
+    private DashXGraphQLClient mockClient;
+
+    private static Mono<byte[]> body(String json) {
+        return Mono.just(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, ?> page(int page) {
+        // Matchers also see the null arguments of stubbing calls
+        return argThat((Map<String, ?> variables) ->
+            variables != null &&
+            variables.get("input") instanceof SearchRecordsInput input &&
+            input.getPage() != null &&
+            input.getPage() == page
+        );
+    }
+
+    @Test
+    void testSearchRecordsDecodesEveryRecord() {
+        when(mockClient.executeForBody(any(OperationDocument.class), anyMap())).thenReturn(
+            body(
+                "{\"data\":{\"searchRecords\":[{\"id\":\"1\",\"tags\":[\"a\"]},{\"id\":\"2\",\"nested\":{\"x\":1}}]}}"
+            )
+        );
+
+        RecordService service = new RecordService(mockClient);
+        List<Map<String, Object>> records = service
+            .searchRecords(SearchRecordsInput.newBuilder().resource("posts").build())
+            .block();
+
+        assertEquals(2, records.size());
+        assertEquals("1", records.get(0).get("id"));
+        assertEquals(List.of("a"), records.get(0).get("tags"));
+        assertEquals(Map.of("x", 1), records.get(1).get("nested"));
+    }
+
+    @Test
+    void testStreamRecordsWalksPagesUntilPartialPage() {
+        when(mockClient.executeForBody(any(OperationDocument.class), page(2))).thenReturn(
+            body("{\"data\":{\"searchRecords\":[{\"id\":\"1\"},{\"id\":\"2\"}]}}")
+        );
+        when(mockClient.executeForBody(any(OperationDocument.class), page(3))).thenReturn(
+            body("{\"data\":{\"searchRecords\":[{\"id\":\"3\"}]}}")
+        );
+
+        RecordService service = new RecordService(mockClient);
+        SearchRecordsInput input = SearchRecordsInput.newBuilder()
+            .resource("posts")
+            .limit(2)
+            .page(2)
+            .build();
+
+        StepVerifier.create(service.streamRecords(input).map(record -> record.get("id")))
+            .expectNext("1", "2", "3")
+            .verifyComplete();
+
+        verify(mockClient, times(2)).executeForBody(any(OperationDocument.class), anyMap());
+    }
+
+    @Test
+    void testStreamRecordsStopsOnEmptyPage() {
+        when(mockClient.executeForBody(any(OperationDocument.class), page(0))).thenReturn(
+            body("{\"data\":{\"searchRecords\":[]}}")
+        );
+
+        RecordService service = new RecordService(mockClient);
+
+        StepVerifier.create(service.streamRecords(
+                SearchRecordsInput.newBuilder().resource("posts").build()
+            ))
+            .verifyComplete();
+    }
+
+    @Test
+    void testGraphQLErrorsFailTheStream() {
+        when(mockClient.executeForBody(any(OperationDocument.class), anyMap())).thenReturn(
+            body(
+                "{\"data\":null,\"errors\":[{\"message\":\"Unknown resource\",\"path\":[\"searchRecords\"]}]}"
+            )
+        );
+
+        RecordService service = new RecordService(mockClient);
+
+        StepVerifier.create(service.streamRecords(
+                SearchRecordsInput.newBuilder().resource("missing").build()
+            ))
+            .expectErrorSatisfies(error -> {
+                assertInstanceOf(DashXGraphQLException.class, error);
+                assertTrue(error.getMessage().contains("Unknown resource"));
+            })
+            .verify();
+    }
+
+    @Test
+    void testSearchRecordsBindsDirectlyIntoType() {
+        when(mockClient.executeForBody(any(OperationDocument.class), anyMap())).thenReturn(
+            body(
+                "{\"data\":{\"searchRecords\":[{\"id\":\"1\",\"title\":\"Hello\",\"tags\":[\"a\",\"b\"],\"unmapped\":{\"x\":1}}]}}"
+            )
+        );
+
+        RecordService service = new RecordService(mockClient);
+        List<Post> posts = service
+            .searchRecords(SearchRecordsInput.newBuilder().resource("posts").build(), Post.class)
+            .block();
+
+        assertEquals(List.of(new Post("1", "Hello", List.of("a", "b"))), posts);
+    }
+
+    @Test
+    void testStreamRecordsBindsDirectlyIntoType() {
+        when(mockClient.executeForBody(any(OperationDocument.class), anyMap())).thenReturn(
+            body("{\"data\":{\"searchRecords\":[{\"id\":\"1\",\"title\":\"Hello\"}]}}")
+        );
+
+        RecordService service = new RecordService(mockClient);
+
+        StepVerifier.create(service.streamRecords(
+                SearchRecordsInput.newBuilder().resource("posts").limit(10).build(),
+                Post.class
+            ))
+            .expectNext(new Post("1", "Hello", null))
+            .verifyComplete();
+    }
+}
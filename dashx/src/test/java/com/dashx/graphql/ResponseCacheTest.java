@@ -0,0 +1,87 @@
+package com.dashx.graphql;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class ResponseCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Mono<String> load(String value) {
+        return Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return value;
+        });
+    }
+
+    @Test
+    void testHitIsServedWithoutLoading() {
+        ResponseCache<String, String> cache = new ResponseCache<>(10, Duration.ofSeconds(1), clock::get);
+
+        assertEquals("a", cache.get("k", () -> load("a")).block());
+        assertEquals("a", cache.get("k", () -> load("b")).block());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testEntryExpiresAfterTtl() {
+        ResponseCache<String, String> cache = new ResponseCache<>(10, Duration.ofSeconds(1), clock::get);
+
+        cache.get("k", () -> load("a")).block();
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertEquals("b", cache.get("k", () -> load("b")).block());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        ResponseCache<String, String> cache = new ResponseCache<>(2, Duration.ofMinutes(1), clock::get);
+
+        cache.get("a", () -> load("a")).block();
+        cache.get("b", () -> load("b")).block();
+        cache.get("a", () -> load("a")).block();
+        cache.get("c", () -> load("c")).block();
+
+        assertEquals(2, cache.size());
+        assertEquals(3, loads.get());
+        cache.get("a", () -> load("a")).block();
+        assertEquals(3, loads.get());
+        cache.get("b", () -> load("b")).block();
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneLoad() {
+        ResponseCache<String, String> cache = new ResponseCache<>(10, Duration.ofMinutes(1), clock::get);
+        Sinks.One<String> response = Sinks.one();
+        AtomicInteger subscriptions = new AtomicInteger();
+        Mono<String> request = response.asMono().doOnSubscribe(s -> subscriptions.incrementAndGet());
+
+        var first = cache.get("k", () -> request).toFuture();
+        var second = cache.get("k", () -> request).toFuture();
+        response.tryEmitValue("a");
+
+        assertEquals("a", first.join());
+        assertEquals("a", second.join());
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    void testFailuresAreNotCached() {
+        ResponseCache<String, String> cache = new ResponseCache<>(10, Duration.ofMinutes(1), clock::get);
+
+        assertThrows(IllegalStateException.class,
+            () -> cache.get("k", () -> Mono.<String>error(new IllegalStateException())).block());
+
+        assertEquals("a", cache.get("k", () -> load("a")).block());
+        assertEquals(1, cache.size());
+    }
+}
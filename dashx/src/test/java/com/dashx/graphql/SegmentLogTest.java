@@ -0,0 +1,128 @@
+package com.dashx.graphql;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SegmentLogTest {
+
+    @TempDir
+    Path directory;
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> strings(SegmentLog.Batch batch) {
+        return batch.records().stream().map(r -> new String(r, StandardCharsets.UTF_8)).toList();
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(".seg")).count();
+        }
+    }
+
+    @Test
+    void testRecordsAreReadInOrderUntilAcknowledged() throws IOException {
+        SegmentLog log = new SegmentLog(directory, 1024, 4);
+        log.append(bytes("a"));
+        log.append(bytes("b"));
+        log.append(bytes("c"));
+
+        SegmentLog.Batch first = log.read(2);
+        assertEquals(List.of("a", "b"), strings(first));
+        // Reading does not move the cursor
+        assertEquals(List.of("a", "b"), strings(log.read(2)));
+
+        log.acknowledge(first);
+        assertEquals(List.of("c"), strings(log.read(2)));
+        assertFalse(log.isEmpty());
+
+        log.acknowledge(log.read(2));
+        assertTrue(log.isEmpty());
+        assertTrue(log.read(2).isEmpty());
+    }
+
+    @Test
+    void testRecordsSpanSegmentsAndCompletedSegmentsAreDeleted() throws IOException {
+        // Room for two 8-byte records per segment
+        SegmentLog log = new SegmentLog(directory, 32, 10);
+        for (int i = 0; i < 5; i++) {
+            log.append(bytes("record" + i));
+        }
+        assertEquals(3, segmentCount());
+
+        SegmentLog.Batch batch = log.read(10);
+        assertEquals(List.of("record0", "record1", "record2", "record3", "record4"), strings(batch));
+
+        log.acknowledge(batch);
+        assertEquals(1, segmentCount());
+        assertTrue(log.isEmpty());
+    }
+
+    @Test
+    void testPendingRecordsAndCursorSurviveReopening() throws IOException {
+        SegmentLog log = new SegmentLog(directory, 1024, 4);
+        log.append(bytes("a"));
+        log.append(bytes("b"));
+        log.acknowledge(log.read(1));
+        log.close();
+
+        SegmentLog reopened = new SegmentLog(directory, 1024, 4);
+        assertEquals(List.of("b"), strings(reopened.read(10)));
+
+        reopened.append(bytes("c"));
+        assertEquals(List.of("b", "c"), strings(reopened.read(10)));
+    }
+
+    @Test
+    void testTornRecordIsDiscardedOnRecovery() throws IOException {
+        SegmentLog log = new SegmentLog(directory, 1024, 4);
+        log.append(bytes("a"));
+        log.close();
+
+        // A record whose length was written but whose payload and checksum were not
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.toString().endsWith(".seg")).findFirst().orElseThrow();
+        }
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(4).putInt(0, 5), 9);
+        }
+
+        SegmentLog reopened = new SegmentLog(directory, 1024, 4);
+        assertEquals(List.of("a"), strings(reopened.read(10)));
+
+        reopened.append(bytes("b"));
+        assertEquals(List.of("a", "b"), strings(reopened.read(10)));
+    }
+
+    @Test
+    void testOldestSegmentIsEvictedWhenFull() throws IOException {
+        SegmentLog log = new SegmentLog(directory, 32, 2);
+        for (int i = 0; i < 6; i++) {
+            log.append(bytes("record" + i));
+        }
+
+        assertEquals(2, segmentCount());
+        assertEquals(List.of("record2", "record3", "record4", "record5"), strings(log.read(10)));
+    }
+
+    @Test
+    void testOversizedRecordIsRejected() throws IOException {
+        SegmentLog log = new SegmentLog(directory, 32, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> log.append(new byte[32]));
+    }
+}
@@ -0,0 +1,62 @@
+package com.dashx.graphql.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.dashx.exception.DashXValidationException;
+import com.dashx.graphql.generated.types.Asset;
+import com.dashx.graphql.generated.types.Issue;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ProjectionTest {
+
+    @Test
+    void testSelectionSetKeepsFieldOrder() {
+        Projection projection = Projection.of(Asset.class, "url", "id");
+
+        assertEquals("{ url id }", projection.toSelectionSet());
+        assertEquals(List.of("url", "id"), projection.getFields());
+        assertEquals(Asset.class, projection.getType());
+    }
+
+    @Test
+    void testDuplicateFieldsAreSelectedOnce() {
+        Projection projection = Projection.of(Asset.class, "id", "url", "id");
+
+        assertEquals("{ id url }", projection.toSelectionSet());
+    }
+
+    @Test
+    void testUnknownFieldThrowsException() {
+        DashXValidationException exception = assertThrows(
+            DashXValidationException.class,
+            () -> Projection.of(Asset.class, "id", "title")
+        );
+
+        assertTrue(exception.getMessage().contains("title"));
+    }
+
+    @Test
+    void testEmptyProjectionThrowsException() {
+        assertThrows(
+            DashXValidationException.class,
+            () -> Projection.of(Asset.class)
+        );
+    }
+
+    @Test
+    void testEqualityDependsOnTypeAndFields() {
+        assertEquals(
+            Projection.of(Issue.class, "id", "title"),
+            Projection.of(Issue.class, "id", "title")
+        );
+        assertEquals(
+            Projection.of(Issue.class, "id").hashCode(),
+            Projection.of(Issue.class, "id").hashCode()
+        );
+        assertNotEquals(
+            Projection.of(Issue.class, "id"),
+            Projection.of(Asset.class, "id")
+        );
+    }
+}
@@ -0,0 +1,78 @@
+package com.dashx.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.ConnectException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class MicrometerDashXMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final MicrometerDashXMetrics metrics = new MicrometerDashXMetrics(registry);
+
+    @Test
+    void testOperationsAreTimedPerOutcome() {
+        metrics.recordOperation("TrackEvent", DashXMetrics.Outcome.SUCCESS, Duration.ofMillis(5), 120, 80, null);
+        metrics.recordOperation("TrackEvent", DashXMetrics.Outcome.SUCCESS, Duration.ofMillis(7), 130, 80, null);
+        metrics.recordOperation("TrackEvent", DashXMetrics.Outcome.GRAPHQL_ERROR, Duration.ofMillis(3), 100, 60, null);
+
+        assertEquals(2, registry.get("dashx.client.requests")
+            .tags("operation", "TrackEvent", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("dashx.client.requests")
+            .tags("operation", "TrackEvent", "outcome", "graphql_error").timer().count());
+        assertEquals(350, registry.get("dashx.client.request.size")
+            .tag("operation", "TrackEvent").summary().totalAmount());
+        assertEquals(1, registry.get("dashx.client.errors")
+            .tags("operation", "TrackEvent", "type", "graphql").counter().count());
+    }
+
+    @Test
+    void testTransportErrorsAreCountedByException() {
+        metrics.recordOperation(
+            "SearchRecords",
+            DashXMetrics.Outcome.TRANSPORT_ERROR,
+            Duration.ofMillis(1),
+            90,
+            0,
+            new ConnectException("refused")
+        );
+
+        assertEquals(1, registry.get("dashx.client.errors")
+            .tags("operation", "SearchRecords", "type", "transport", "exception", "ConnectException")
+            .counter().count());
+        assertEquals(0, registry.get("dashx.client.response.size")
+            .tag("operation", "SearchRecords").summary().count());
+    }
+
+    @Test
+    void testRequestCompressionRatioIsRecorded() {
+        metrics.recordRequestCompression("CreateBroadcast", 1000, 250);
+        metrics.recordRequestCompression("CreateBroadcast", 1000, 150);
+
+        var ratio = registry.get("dashx.client.request.compression.ratio")
+            .tag("operation", "CreateBroadcast").summary();
+        assertEquals(2, ratio.count());
+        assertEquals(0.2, ratio.mean(), 1e-9);
+    }
+
+    @Test
+    void testConnectionPoolGaugesReadLiveStats() {
+        int[] acquired = { 1 };
+        metrics.bindConnectionPool("dashx-pool", "api.dashx.com:443", new DashXMetrics.ConnectionPoolStats() {
+            public int acquired() { return acquired[0]; }
+            public int idle() { return 2; }
+            public int pending() { return 0; }
+            public int allocated() { return acquired[0] + 2; }
+            public int maxAllocated() { return 500; }
+        });
+
+        acquired[0] = 4;
+
+        assertEquals(4, registry.get("dashx.client.pool.acquired")
+            .tags("pool", "dashx-pool", "remote.address", "api.dashx.com:443").gauge().value());
+        assertEquals(6, registry.get("dashx.client.pool.allocated").gauge().value());
+        assertEquals(500, registry.get("dashx.client.pool.max.allocated").gauge().value());
+    }
+}
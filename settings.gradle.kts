@@ -7,5 +7,6 @@ rootProject.name = "dashx-root"
 include(
     "dashx",
     "dashx-spring-boot-starter",
-    "dashx-demo-spring-boot"
+    "dashx-demo-spring-boot",
+    "dashx-benchmarks"
 )